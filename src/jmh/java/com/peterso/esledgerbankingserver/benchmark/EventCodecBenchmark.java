@@ -0,0 +1,141 @@
+package com.peterso.esledgerbankingserver.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.repository.journal.CompactEventCodec;
+import com.peterso.esledgerbankingserver.repository.journal.TransactionEventSerializer;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of encoding and decoding a batch of events with Jackson JSON, the journal's
+ * {@link TransactionEventSerializer} and the {@link CompactEventCodec}, plus folding the amounts
+ * of a compact frame with its cursor without materializing the events.
+ * The encoded size of each format is printed once per trial in bytes per event.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventCodecBenchmark {
+
+  private static final int BATCH_SIZE = 1000;
+  private static final TypeReference<List<TransactionEvent>> EVENT_LIST = new TypeReference<>() {
+  };
+
+  @Param({"json", "journal", "compact"})
+  public String format;
+
+  // number of distinct users in a batch
+  @Param({"1", "1000"})
+  public int users;
+
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .addMixIn(TransactionEvent.class, TransactionEventMixin.class);
+  private final TransactionEventSerializer serializer = new TransactionEventSerializer();
+  private final CompactEventCodec codec = new CompactEventCodec();
+  private final ByteBuffer buffer = ByteBuffer.allocate(1024 * 1024);
+  private List<TransactionEvent> events;
+  private byte[] encoded;
+  private byte[] compactFrame;
+
+  // Lets Jackson read events back through the constructor used for persisted events.
+  abstract static class TransactionEventMixin {
+
+    @JsonCreator
+    TransactionEventMixin(@JsonProperty("id") UUID id,
+        @JsonProperty("createdTime") String createdTime, @JsonProperty("userId") String userId,
+        @JsonProperty("messageId") String messageId,
+        @JsonProperty("transactionType") TransactionTypeEnum transactionType,
+        @JsonProperty("amount") long amount, @JsonProperty("currency") String currency,
+        @JsonProperty("response") ResponseCodeEnum response) {
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    events = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      events.add(TransactionEvent.builder()
+          .userId("user-" + (i % users))
+          .messageId(UUID.randomUUID().toString())
+          .transactionType(i % 2 == 0 ? TransactionTypeEnum.LOAD
+              : TransactionTypeEnum.AUTHORIZATION)
+          .amount(100 + i)
+          .currency("USD")
+          .response(ResponseCodeEnum.APPROVED)
+          .build());
+    }
+    encoded = encode();
+    compactFrame = codec.encode(events);
+    System.out.printf("%n%s with %d users: %.1f bytes per event%n", format, users,
+        (double) encoded.length / BATCH_SIZE);
+  }
+
+  @Benchmark
+  public byte[] encode() throws IOException {
+    return switch (format) {
+      case "json" -> objectMapper.writeValueAsBytes(events);
+      case "journal" -> {
+        buffer.clear();
+        events.forEach(event -> serializer.write(event, buffer));
+        yield Arrays.copyOf(buffer.array(), buffer.position());
+      }
+      case "compact" -> codec.encode(events);
+      default -> throw new IllegalArgumentException("Unknown format " + format);
+    };
+  }
+
+  @Benchmark
+  public List<TransactionEvent> decode() throws IOException {
+    return switch (format) {
+      case "json" -> objectMapper.readValue(encoded, EVENT_LIST);
+      case "journal" -> {
+        ByteBuffer input = ByteBuffer.wrap(encoded);
+        List<TransactionEvent> decoded = new ArrayList<>(BATCH_SIZE);
+        while (input.hasRemaining()) {
+          decoded.add(serializer.read(input));
+        }
+        yield decoded;
+      }
+      case "compact" -> codec.decode(encoded);
+      default -> throw new IllegalArgumentException("Unknown format " + format);
+    };
+  }
+
+  // Sums the amounts as a projection would, reading the compact frame in place whatever the
+  // format parameter.
+  @Benchmark
+  public long foldCompact() {
+    CompactEventCodec.Cursor cursor = codec.cursor(ByteBuffer.wrap(compactFrame));
+    long sum = 0;
+    while (cursor.next()) {
+      sum += cursor.amount();
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,99 @@
+package com.peterso.esledgerbankingserver.benchmark;
+
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.InMemoryEventStore;
+import com.peterso.esledgerbankingserver.repository.columnar.ColumnarEventStore;
+import com.peterso.esledgerbankingserver.repository.journal.JournalEventStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link EventStore#saveEvent} for every store implementation, run single-threaded
+ * and with every available core appending at once.
+ * The journal variants write to a temporary directory that is deleted after each trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventStoreBenchmark {
+
+  private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  @Param({"memory", "columnar", "journal", "journal-fsync", "journal-group-commit"})
+  public String storeType;
+
+  private EventStore eventStore;
+  private Path directory;
+  private TransactionEvent event;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("event-store-benchmark");
+    eventStore = switch (storeType) {
+      case "memory" -> new InMemoryEventStore();
+      case "columnar" -> new ColumnarEventStore(1 << 20);
+      case "journal" -> new JournalEventStore(directory, SEGMENT_SIZE, false);
+      case "journal-fsync" -> new JournalEventStore(directory, SEGMENT_SIZE, true);
+      case "journal-group-commit" -> new JournalEventStore(directory, SEGMENT_SIZE, true, true,
+          256, Duration.ZERO);
+      default -> throw new IllegalArgumentException("Unknown store type " + storeType);
+    };
+    event = TransactionEvent.builder()
+        .userId("benchmark-user")
+        .messageId("benchmark-message")
+        .transactionType(TransactionTypeEnum.LOAD)
+        .amount(1000)
+        .currency("USD")
+        .response(ResponseCodeEnum.APPROVED)
+        .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    if (eventStore instanceof JournalEventStore journalEventStore) {
+      journalEventStore.close();
+    }
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void saveEvent() {
+    eventStore.saveEvent(event);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void saveEventContended() {
+    eventStore.saveEvent(event);
+  }
+}
@@ -0,0 +1,99 @@
+package com.peterso.esledgerbankingserver.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test of a running service, used to compare the platform-thread and the
+ * virtual-thread execution modes (spring.threads.virtual.enabled).
+ * Keeps a fixed number of connections busy with PUT /load requests spread over a number of users
+ * and prints the throughput and latency percentiles once the duration is over.
+ * Arguments: base url, concurrent connections, duration in seconds, users.
+ * The client needs a file descriptor limit above the number of connections (ulimit -n).
+ */
+public final class HttpLoadTest {
+
+  private static final int MAX_SAMPLES = 1 << 22;
+
+  private HttpLoadTest() {
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+    int connections = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+    int users = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+
+    HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(30))
+        .build();
+    URI uri = URI.create(baseUrl + "/load");
+
+    Semaphore inFlight = new Semaphore(connections);
+    AtomicLong messageIds = new AtomicLong();
+    AtomicLong errors = new AtomicLong();
+    AtomicInteger samples = new AtomicInteger();
+    long[] latencies = new long[MAX_SAMPLES];
+
+    long start = System.nanoTime();
+    long end = start + Duration.ofSeconds(seconds).toNanos();
+    while (System.nanoTime() < end) {
+      inFlight.acquire();
+      long messageId = messageIds.incrementAndGet();
+      HttpRequest request = HttpRequest.newBuilder(uri)
+          .timeout(Duration.ofSeconds(60))
+          .header("Content-Type", "application/json")
+          .PUT(HttpRequest.BodyPublishers.ofString(loadBody(messageId % users, messageId)))
+          .build();
+      long sent = System.nanoTime();
+      client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+          .whenComplete((response, failure) -> {
+            if (failure != null || response.statusCode() != 201) {
+              errors.incrementAndGet();
+            } else {
+              int sample = samples.getAndIncrement();
+              if (sample < MAX_SAMPLES) {
+                latencies[sample] = System.nanoTime() - sent;
+              }
+            }
+            inFlight.release();
+          });
+    }
+
+    // wait for the requests still in flight before measuring
+    inFlight.acquire(connections);
+    double elapsed = (System.nanoTime() - start) / 1e9;
+
+    int count = Math.min(samples.get(), MAX_SAMPLES);
+    long[] sorted = Arrays.copyOf(latencies, count);
+    Arrays.sort(sorted);
+    System.out.printf("connections=%d users=%d duration=%.1fs%n", connections, users, elapsed);
+    System.out.printf("requests=%d errors=%d throughput=%.0f req/s%n",
+        samples.get(), errors.get(), samples.get() / elapsed);
+    System.out.printf("latency ms p50=%.2f p90=%.2f p99=%.2f max=%.2f%n",
+        percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+        percentile(sorted, 1.0));
+  }
+
+  private static String loadBody(long user, long messageId) {
+    return "{\"userId\":\"load-test-" + user + "\",\"messageId\":\"" + messageId + "\","
+        + "\"transactionAmount\":{\"amount\":\"1.00\",\"currency\":\"USD\","
+        + "\"debitOrCredit\":\"CREDIT\"}}";
+  }
+
+  private static double percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+    return sorted[Math.max(0, index)] / 1e6;
+  }
+}
@@ -0,0 +1,69 @@
+package com.peterso.esledgerbankingserver.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peterso.esledgerbankingserver.json.TransactionJsonModule;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmark of reading a {@link LoadRequest} body and writing an {@link AuthorizationResponse}
+ * body with an ObjectMapper configured like Spring Boot's, using databind (reflection over the
+ * Lombok DTOs) or the streaming {@link TransactionJsonModule}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonCodecBenchmark {
+
+  @Param({"databind", "streaming"})
+  public String codec;
+
+  private final byte[] request = ("{\"userId\":\"user-1\",\"messageId\":\"message-1\","
+      + "\"transactionAmount\":{\"amount\":\"1234.50\",\"currency\":\"USD\","
+      + "\"debitOrCredit\":\"CREDIT\"}}").getBytes(StandardCharsets.UTF_8);
+  private final AuthorizationResponse response = AuthorizationResponse.builder()
+      .userId("user-1").messageId("message-1").responseCode(ResponseCodeEnum.APPROVED)
+      .balance(new Amount("1234.50", "USD", DebitCreditEnum.CREDIT)).build();
+  private ObjectMapper mapper;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+    mapper = switch (codec) {
+      case "databind" -> builder.build();
+      case "streaming" -> builder.modulesToInstall(new TransactionJsonModule()).build();
+      default -> throw new IllegalArgumentException("Unknown codec " + codec);
+    };
+  }
+
+  @Benchmark
+  public LoadRequest readRequest() throws Exception {
+    return mapper.readValue(request, LoadRequest.class);
+  }
+
+  @Benchmark
+  public byte[] writeResponse() throws Exception {
+    return mapper.writeValueAsBytes(response);
+  }
+}
@@ -0,0 +1,54 @@
+package com.peterso.esledgerbankingserver.benchmark;
+
+import com.peterso.esledgerbankingserver.time.LedgerClock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of what a new event and /ping take from the clock: an event id and createdTime, and
+ * the formatted server time, with the JDK (UUID.randomUUID, LocalDateTime.now and a
+ * DateTimeFormatter per call as before) or with the {@link LedgerClock}. Run with -t to see the
+ * contention of several threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LedgerClockBenchmark {
+
+  @Param({"jdk", "ledger-clock"})
+  public String clock;
+
+  @Benchmark
+  public Object eventIdAndTime() {
+    return switch (clock) {
+      case "jdk" -> new Object[] {UUID.randomUUID(), LocalDateTime.now().toString()};
+      case "ledger-clock" -> new Object[] {LedgerClock.nextId(), LedgerClock.eventTime()};
+      default -> throw new IllegalArgumentException("Unknown clock " + clock);
+    };
+  }
+
+  @Benchmark
+  public String serverTime() {
+    return switch (clock) {
+      case "jdk" -> LocalDateTime.now()
+          .format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'"));
+      case "ledger-clock" -> LedgerClock.serverTime();
+      default -> throw new IllegalArgumentException("Unknown clock " + clock);
+    };
+  }
+}
@@ -0,0 +1,73 @@
+package com.peterso.esledgerbankingserver.benchmark;
+
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.InMemoryEventStore;
+import com.peterso.esledgerbankingserver.repository.columnar.ColumnarEventStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of rebuilding the {@link BalanceProjection} from a ledger of a million events held
+ * by the heap store and by the off-heap {@link ColumnarEventStore}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectionRebuildBenchmark {
+
+  private static final int EVENTS = 1_000_000;
+  private static final int USERS = 10_000;
+
+  @Param({"memory", "columnar"})
+  public String storeType;
+
+  private EventStore eventStore;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    eventStore = switch (storeType) {
+      case "memory" -> new InMemoryEventStore();
+      case "columnar" -> new ColumnarEventStore(1 << 20);
+      default -> throw new IllegalArgumentException("Unknown store type " + storeType);
+    };
+    List<TransactionEvent> events = new ArrayList<>(EVENTS);
+    for (int i = 0; i < EVENTS; i++) {
+      events.add(TransactionEvent.builder()
+          .userId("user-" + (i % USERS))
+          .messageId(UUID.randomUUID().toString())
+          .transactionType(i % 2 == 0 ? TransactionTypeEnum.LOAD
+              : TransactionTypeEnum.AUTHORIZATION)
+          .amount(100 + i % 100)
+          .currency("USD")
+          .response(ResponseCodeEnum.APPROVED)
+          .build());
+    }
+    eventStore.saveEvents(events);
+  }
+
+  @Benchmark
+  public BalanceProjection rebuild() {
+    return new BalanceProjection(eventStore);
+  }
+}
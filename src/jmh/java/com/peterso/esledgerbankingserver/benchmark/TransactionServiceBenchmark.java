@@ -0,0 +1,198 @@
+package com.peterso.esledgerbankingserver.benchmark;
+
+import com.peterso.esledgerbankingserver.metrics.LedgerMetrics;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.InMemoryEventStore;
+import com.peterso.esledgerbankingserver.service.AccountLocks;
+import com.peterso.esledgerbankingserver.service.IdempotencyCache;
+import com.peterso.esledgerbankingserver.service.TransactionService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the {@link TransactionService} hot paths against ledgers of different sizes and
+ * user counts, run single-threaded and with every available core contending on the service.
+ * The largest ledgers need a bigger heap, e.g. -jvmArgsAppend -Xmx8g.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionServiceBenchmark {
+
+  private static final int REQUESTS = 4096;
+
+  @Param({"1000", "100000", "1000000", "10000000"})
+  public int ledgerSize;
+
+  @Param({"1", "1000", "1000000"})
+  public int users;
+
+  // 0 serves transactions under the account locks, otherwise through the pipeline partitions
+  @Param({"0", "4"})
+  public int partitions;
+
+  // whether the service records its metrics in a Prometheus registry configured like the
+  // application's, with latency histograms
+  @Param({"false", "true"})
+  public boolean metrics;
+
+  private TransactionService transactionService;
+  private String[] userIds;
+  private LoadRequest[] loadRequests;
+  private AuthorizationRequest[] authorizationRequests;
+
+  /**
+   * Cursor over the pre-built requests, one per benchmark thread.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+
+    private int next;
+
+    int next() {
+      next = (next + 1) & (REQUESTS - 1);
+      return next;
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    userIds = new String[Math.min(users, REQUESTS)];
+    for (int i = 0; i < userIds.length; i++) {
+      // spread the benchmarked users over the whole user range
+      userIds[i] = String.valueOf((int) ((long) i * users / userIds.length));
+    }
+
+    EventStore eventStore = new InMemoryEventStore();
+    for (int i = 0; i < ledgerSize; i++) {
+      eventStore.saveEvent(TransactionEvent.builder()
+          .userId(String.valueOf(i % users))
+          .messageId(String.valueOf(i))
+          .transactionType(TransactionTypeEnum.LOAD)
+          .amount(100)
+          .currency("USD")
+          .response(ResponseCodeEnum.APPROVED)
+          .build());
+    }
+    // the requests below are replayed in a loop, so deduplication is disabled to keep measuring
+    // the write path rather than cache hits
+    BalanceProjection balanceProjection = new BalanceProjection(eventStore);
+    transactionService = new TransactionService(eventStore, balanceProjection, new AccountLocks(),
+        new IdempotencyCache(eventStore, balanceProjection, 0, Duration.ZERO),
+        partitions, 1024, metrics ? new LedgerMetrics(prometheusRegistry()) : LedgerMetrics.NOOP);
+
+    loadRequests = new LoadRequest[REQUESTS];
+    authorizationRequests = new AuthorizationRequest[REQUESTS];
+    for (int i = 0; i < REQUESTS; i++) {
+      String userId = userIds[i % userIds.length];
+      loadRequests[i] = LoadRequest.builder()
+          .userId(userId)
+          .messageId("load-" + i)
+          .transactionAmount(Amount.builder()
+              .amount("10.00")
+              .currency("USD")
+              .debitOrCredit(DebitCreditEnum.CREDIT)
+              .build())
+          .build();
+      authorizationRequests[i] = AuthorizationRequest.builder()
+          .userId(userId)
+          .messageId("authorization-" + i)
+          .transactionAmount(Amount.builder()
+              .amount("0.01")
+              .currency("USD")
+              .debitOrCredit(DebitCreditEnum.DEBIT)
+              .build())
+          .build();
+    }
+  }
+
+  private static PrometheusMeterRegistry prometheusRegistry() {
+    PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    registry.config().meterFilter(new MeterFilter() {
+      @Override
+      public DistributionStatisticConfig configure(Meter.Id id,
+          DistributionStatisticConfig config) {
+        return DistributionStatisticConfig.builder()
+            .percentilesHistogram(true)
+            .minimumExpectedValue((double) TimeUnit.MICROSECONDS.toNanos(1))
+            .maximumExpectedValue((double) TimeUnit.SECONDS.toNanos(1))
+            .build()
+            .merge(config);
+      }
+    });
+    return registry;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    transactionService.close();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public LoadResponse handleLoadRequest(Cursor cursor) {
+    return transactionService.handleLoadRequest(loadRequests[cursor.next()]);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public LoadResponse handleLoadRequestContended(Cursor cursor) {
+    return transactionService.handleLoadRequest(loadRequests[cursor.next()]);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public AuthorizationResponse handleAuthorizationRequest(Cursor cursor) {
+    return transactionService.handleAuthorizationRequest(authorizationRequests[cursor.next()]);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public AuthorizationResponse handleAuthorizationRequestContended(Cursor cursor) {
+    return transactionService.handleAuthorizationRequest(authorizationRequests[cursor.next()]);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long getBalance(Cursor cursor) {
+    return transactionService.getBalance(userIds[cursor.next() % userIds.length]);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public long getBalanceContended(Cursor cursor) {
+    return transactionService.getBalance(userIds[cursor.next() % userIds.length]);
+  }
+}
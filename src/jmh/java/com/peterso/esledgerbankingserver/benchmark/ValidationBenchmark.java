@@ -0,0 +1,76 @@
+package com.peterso.esledgerbankingserver.benchmark;
+
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.validation.TransactionRequestValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of validating a valid and an invalid {@link LoadRequest} with Bean Validation
+ * (Hibernate Validator and the constraint annotations) and with the hand-written
+ * {@link TransactionRequestValidator}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+  @Param({"bean-validation", "hand-written"})
+  public String validator;
+
+  private ValidatorFactory validatorFactory;
+  private Validator beanValidator;
+  private final LoadRequest valid = new LoadRequest("user-1", "message-1",
+      new Amount("1234.50", "USD", DebitCreditEnum.CREDIT));
+  private final LoadRequest invalid = new LoadRequest("user-1", "message-1",
+      new Amount("12.345", "USD", DebitCreditEnum.CREDIT));
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    beanValidator = validatorFactory.getValidator();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    validatorFactory.close();
+  }
+
+  @Benchmark
+  public Object validRequest() {
+    return validate(valid);
+  }
+
+  @Benchmark
+  public Object invalidRequest() {
+    return validate(invalid);
+  }
+
+  private Object validate(LoadRequest request) {
+    return switch (validator) {
+      case "bean-validation" -> beanValidator.validate(request);
+      case "hand-written" -> TransactionRequestValidator.violations(request);
+      default -> throw new IllegalArgumentException("Unknown validator " + validator);
+    };
+  }
+}
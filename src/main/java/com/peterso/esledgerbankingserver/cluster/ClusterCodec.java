@@ -0,0 +1,119 @@
+package com.peterso.esledgerbankingserver.cluster;
+
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.AppendRequest;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.AppendResponse;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.PromiseRequest;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.PromiseResponse;
+import com.peterso.esledgerbankingserver.repository.journal.TransactionEventSerializer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Binary encoding of the replication messages exchanged over HTTP.
+ * Fields are written in declaration order, booleans as one byte, and each list of log entries as
+ * its size followed by the epoch and the {@link TransactionEventSerializer} form of every entry.
+ */
+public class ClusterCodec {
+
+  private static final int INITIAL_CAPACITY = 4096;
+
+  private final TransactionEventSerializer serializer = new TransactionEventSerializer();
+
+  public byte[] encode(AppendRequest request) {
+    return encode(buffer -> {
+      buffer.putInt(request.partition());
+      buffer.putLong(request.epoch());
+      buffer.putInt(request.fromIndex());
+      putEntries(buffer, request.entries());
+      buffer.putInt(request.commitIndex());
+    });
+  }
+
+  public AppendRequest decodeAppendRequest(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new AppendRequest(buffer.getInt(), buffer.getLong(), buffer.getInt(),
+        getEntries(buffer), buffer.getInt());
+  }
+
+  public byte[] encode(AppendResponse response) {
+    return encode(buffer -> {
+      buffer.put((byte) (response.success() ? 1 : 0));
+      buffer.putLong(response.epoch());
+      buffer.putLong(response.promisedEpoch());
+      buffer.putInt(response.length());
+      buffer.putInt(response.commitIndex());
+    });
+  }
+
+  public AppendResponse decodeAppendResponse(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new AppendResponse(buffer.get() == 1, buffer.getLong(), buffer.getLong(),
+        buffer.getInt(), buffer.getInt());
+  }
+
+  public byte[] encode(PromiseRequest request) {
+    return encode(buffer -> {
+      buffer.putInt(request.partition());
+      buffer.putLong(request.epoch());
+      buffer.putInt(request.fromIndex());
+    });
+  }
+
+  public PromiseRequest decodePromiseRequest(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new PromiseRequest(buffer.getInt(), buffer.getLong(), buffer.getInt());
+  }
+
+  public byte[] encode(PromiseResponse response) {
+    return encode(buffer -> {
+      buffer.put((byte) (response.granted() ? 1 : 0));
+      buffer.putLong(response.promisedEpoch());
+      buffer.putLong(response.lastEpoch());
+      buffer.putInt(response.length());
+      buffer.putInt(response.commitIndex());
+      buffer.putInt(response.fromIndex());
+      putEntries(buffer, response.entries());
+    });
+  }
+
+  public PromiseResponse decodePromiseResponse(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new PromiseResponse(buffer.get() == 1, buffer.getLong(), buffer.getLong(),
+        buffer.getInt(), buffer.getInt(), buffer.getInt(), getEntries(buffer));
+  }
+
+  // Writes the message into a buffer, doubling it until the message fits.
+  private static byte[] encode(Consumer<ByteBuffer> writer) {
+    int capacity = INITIAL_CAPACITY;
+    while (true) {
+      ByteBuffer buffer = ByteBuffer.allocate(capacity);
+      try {
+        writer.accept(buffer);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+      } catch (BufferOverflowException e) {
+        capacity *= 2;
+      }
+    }
+  }
+
+  private void putEntries(ByteBuffer buffer, List<LogEntry> entries) {
+    buffer.putInt(entries.size());
+    for (LogEntry entry : entries) {
+      buffer.putLong(entry.epoch());
+      serializer.write(entry.event(), buffer);
+    }
+  }
+
+  private List<LogEntry> getEntries(ByteBuffer buffer) {
+    int size = buffer.getInt();
+    List<LogEntry> entries = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      entries.add(new LogEntry(buffer.getLong(), serializer.read(buffer)));
+    }
+    return entries;
+  }
+}
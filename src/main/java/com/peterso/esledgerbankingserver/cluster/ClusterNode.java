@@ -0,0 +1,288 @@
+package com.peterso.esledgerbankingserver.cluster;
+
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.AppendRequest;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.AppendResponse;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.PromiseRequest;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.PromiseResponse;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.model.dto.PartitionStatus;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.service.TransactionService;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * A node of a ledger cluster, holding a {@link PartitionReplica} of each partition assigned to it
+ * by the {@link ClusterTopology}.
+ * Requests can be sent to any node: a node serves the requests of the partitions it leads with
+ * the partition's TransactionService and forwards the others to their leader. When the leader of
+ * a partition cannot be reached, the node asks the next replica of the partition to take over
+ * for the next epoch and retries there.
+ */
+public class ClusterNode implements Closeable {
+
+  private static final int MAX_ATTEMPTS = 8;
+
+  private final String nodeId;
+  private final ClusterTopology topology;
+  private final ClusterTransport transport;
+  private final ExecutorService executor;
+  private final Map<Integer, PartitionReplica> replicas = new TreeMap<>();
+  // newest epoch heard of from the other nodes, by partition
+  private final Map<Integer, Long> epochs = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the node with an empty replica of each of its partitions, whose TransactionServices
+   * use the default settings.
+   * @param nodeId id of this node in the topology
+   * @param topology {@link ClusterTopology}
+   * @param transport {@link ClusterTransport} to the other nodes
+   */
+  public ClusterNode(String nodeId, ClusterTopology topology, ClusterTransport transport) {
+    this(nodeId, topology, transport, TransactionService::new);
+  }
+
+  /**
+   * Creates the node with an empty replica of each of its partitions.
+   * @param nodeId id of this node in the topology
+   * @param topology {@link ClusterTopology}
+   * @param transport {@link ClusterTransport} to the other nodes
+   * @param serviceFactory creates the TransactionService of a partition led by this node over
+   * the partition's committed events
+   */
+  public ClusterNode(String nodeId, ClusterTopology topology, ClusterTransport transport,
+      Function<EventStore, TransactionService> serviceFactory) {
+    if (!topology.nodes().contains(nodeId)) {
+      throw new IllegalArgumentException("Node " + nodeId + " is not part of the cluster");
+    }
+    this.nodeId = nodeId;
+    this.topology = topology;
+    this.transport = transport;
+    this.executor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "ledger-replication");
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (int partition = 0; partition < topology.partitions(); partition++) {
+      if (topology.replicas(partition).contains(nodeId)) {
+        replicas.put(partition,
+            new PartitionReplica(partition, nodeId, topology, transport, executor,
+                serviceFactory));
+      }
+    }
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  /**
+   * Processes a LoadRequest on the leader of its user's partition.
+   * @param request {@link LoadRequest}
+   * @return {@link LoadResponse}, sent once the event is committed
+   */
+  public LoadResponse handleLoadRequest(LoadRequest request) {
+    return route(request.getUserId(), service -> service.handleLoadRequest(request),
+        leader -> transport.forwardLoad(leader, request));
+  }
+
+  /**
+   * Processes an AuthorizationRequest on the leader of its user's partition.
+   * @param request {@link AuthorizationRequest}
+   * @return {@link AuthorizationResponse}, sent once the event is committed
+   */
+  public AuthorizationResponse handleAuthorizationRequest(AuthorizationRequest request) {
+    return route(request.getUserId(), service -> service.handleAuthorizationRequest(request),
+        leader -> transport.forwardAuthorization(leader, request));
+  }
+
+  /**
+   * Returns the balance of the given user from the leader of their partition.
+   * @param userId
+   * @return the balance of the user in minor units
+   */
+  public long getBalance(String userId) {
+    return route(userId, service -> service.getBalance(userId),
+        leader -> transport.forwardBalance(leader, userId));
+  }
+
+  /**
+   * Processes a LoadRequest forwarded by another node.
+   * @param request {@link LoadRequest}
+   * @return {@link LoadResponse}
+   * @throws NotLeaderException if this node does not lead the user's partition
+   */
+  public LoadResponse handleLoadRequestAsLeader(LoadRequest request) {
+    return leaderService(topology.partition(request.getUserId())).handleLoadRequest(request);
+  }
+
+  /**
+   * Processes an AuthorizationRequest forwarded by another node.
+   * @param request {@link AuthorizationRequest}
+   * @return {@link AuthorizationResponse}
+   * @throws NotLeaderException if this node does not lead the user's partition
+   */
+  public AuthorizationResponse handleAuthorizationRequestAsLeader(AuthorizationRequest request) {
+    return leaderService(topology.partition(request.getUserId()))
+        .handleAuthorizationRequest(request);
+  }
+
+  /**
+   * Returns a balance for another node.
+   * @param userId
+   * @return the balance of the user in minor units
+   * @throws NotLeaderException if this node does not lead the user's partition
+   */
+  public long getBalanceAsLeader(String userId) {
+    return leaderService(topology.partition(userId)).getBalance(userId);
+  }
+
+  /**
+   * Handles entries sent by the leader of a partition.
+   * @param request {@link AppendRequest}
+   * @return {@link AppendResponse}
+   */
+  public AppendResponse append(AppendRequest request) {
+    return replica(request.partition()).append(request);
+  }
+
+  /**
+   * Handles the request of a candidate leader of a partition.
+   * @param request {@link PromiseRequest}
+   * @return {@link PromiseResponse}
+   */
+  public PromiseResponse promise(PromiseRequest request) {
+    return replica(request.partition()).promise(request);
+  }
+
+  /**
+   * Makes this node the leader of the given partition for the given epoch.
+   * @param partition index of the partition
+   * @param epoch to lead
+   * @throws NotLeaderException if a newer epoch was promised or no quorum could be reached
+   */
+  public void elect(int partition, long epoch) {
+    PartitionReplica replica = replica(partition);
+    if (!replica.elect(epoch)) {
+      throw new NotLeaderException(partition, replica.promisedEpoch());
+    }
+  }
+
+  /**
+   * Returns whether this node currently leads the given partition.
+   * @param partition index of the partition
+   * @return true if this node serves the partition's requests
+   */
+  public boolean isLeader(int partition) {
+    PartitionReplica replica = replicas.get(partition);
+    return replica != null && replica.status().isLeader();
+  }
+
+  /**
+   * Returns the committed events of one of this node's partitions.
+   * @param partition index of the partition
+   * @return list of {@link TransactionEvent} in log order
+   */
+  public List<TransactionEvent> getCommittedEvents(int partition) {
+    return replica(partition).committedEvents();
+  }
+
+  /**
+   * Returns the state of every partition replica of this node.
+   * @return list of {@link PartitionStatus} ordered by partition
+   */
+  public List<PartitionStatus> getPartitionStatus() {
+    List<PartitionStatus> status = new ArrayList<>(replicas.size());
+    replicas.values().forEach(replica -> status.add(replica.status()));
+    return status;
+  }
+
+  @Override
+  public void close() {
+    replicas.values().forEach(PartitionReplica::close);
+    executor.shutdownNow();
+  }
+
+  // Runs the request on the leader of the user's partition, following newer epochs reported by
+  // the nodes and electing a new leader when the current one cannot be reached.
+  private <T> T route(String userId, Function<TransactionService, T> local,
+      Function<String, T> remote) {
+    int partition = topology.partition(userId);
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      long epoch = epoch(partition);
+      String leader = topology.leader(partition, epoch);
+      try {
+        return leader.equals(nodeId) ? local.apply(leaderService(partition))
+            : remote.apply(leader);
+      } catch (NodeUnavailableException e) {
+        failover(partition, epoch);
+      } catch (NotLeaderException e) {
+        observe(partition, e.getEpoch());
+        if (e.getEpoch() <= epoch) {
+          // the leader of this epoch has lost its quorum or was never elected
+          failover(partition, epoch);
+        }
+      }
+    }
+    throw new IllegalStateException("Partition " + partition + " has no available leader");
+  }
+
+  // Asks the replicas of the next epochs, in order, to take over the partition.
+  private void failover(int partition, long epoch) {
+    for (long next = epoch + 1; next <= epoch + topology.replicas(partition).size(); next++) {
+      String candidate = topology.leader(partition, next);
+      try {
+        if (candidate.equals(nodeId)) {
+          elect(partition, next);
+        } else {
+          transport.elect(candidate, partition, next);
+        }
+        observe(partition, next);
+        return;
+      } catch (NodeUnavailableException e) {
+        // try the replica of the following epoch
+      } catch (NotLeaderException e) {
+        observe(partition, e.getEpoch());
+        return;
+      }
+    }
+  }
+
+  private TransactionService leaderService(int partition) {
+    PartitionReplica replica = replicas.get(partition);
+    if (replica == null) {
+      throw new NotLeaderException(partition, epoch(partition));
+    }
+    return replica.leaderService();
+  }
+
+  private PartitionReplica replica(int partition) {
+    PartitionReplica replica = replicas.get(partition);
+    if (replica == null) {
+      throw new IllegalArgumentException(
+          "Node " + nodeId + " holds no replica of partition " + partition);
+    }
+    return replica;
+  }
+
+  private long epoch(int partition) {
+    long heard = epochs.getOrDefault(partition, 0L);
+    PartitionReplica replica = replicas.get(partition);
+    return replica == null ? heard : Math.max(heard, replica.promisedEpoch());
+  }
+
+  private void observe(int partition, long epoch) {
+    epochs.merge(partition, epoch, Math::max);
+  }
+}
@@ -0,0 +1,86 @@
+package com.peterso.esledgerbankingserver.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Static assignment of the account partitions to the nodes of a cluster.
+ * Users are spread over the partitions by hash of userId. Partition p is replicated on
+ * replicationFactor consecutive nodes starting at node p, and the leader of each epoch of a
+ * partition is its replica at index epoch % replicationFactor, so every node derives the same
+ * leader from an epoch without asking the others.
+ */
+public class ClusterTopology {
+
+  private final List<String> nodes;
+  private final int partitions;
+  private final int replicationFactor;
+
+  /**
+   * Creates the topology.
+   * @param nodes ids of every node of the cluster, in the same order on every node
+   * @param partitions number of account partitions
+   * @param replicationFactor number of replicas of each partition, at most the number of nodes
+   */
+  public ClusterTopology(List<String> nodes, int partitions, int replicationFactor) {
+    if (nodes.isEmpty() || partitions < 1) {
+      throw new IllegalArgumentException("A cluster needs at least one node and one partition");
+    }
+    if (replicationFactor < 1 || replicationFactor > nodes.size()) {
+      throw new IllegalArgumentException(
+          "replicationFactor must be between 1 and the number of nodes");
+    }
+    this.nodes = List.copyOf(nodes);
+    this.partitions = partitions;
+    this.replicationFactor = replicationFactor;
+  }
+
+  public List<String> nodes() {
+    return nodes;
+  }
+
+  public int partitions() {
+    return partitions;
+  }
+
+  /**
+   * Returns the number of replicas that must hold an entry before it is committed.
+   * @return a majority of the replication factor
+   */
+  public int quorum() {
+    return replicationFactor / 2 + 1;
+  }
+
+  /**
+   * Returns the partition owning the given user's account.
+   * @param userId
+   * @return index of the partition
+   */
+  public int partition(String userId) {
+    int hash = userId.hashCode();
+    return Math.floorMod(hash ^ (hash >>> 16), partitions);
+  }
+
+  /**
+   * Returns the nodes holding a replica of the given partition.
+   * @param partition index of the partition
+   * @return list of node ids, the leader of epoch 0 first
+   */
+  public List<String> replicas(int partition) {
+    List<String> replicas = new ArrayList<>(replicationFactor);
+    for (int i = 0; i < replicationFactor; i++) {
+      replicas.add(nodes.get((partition + i) % nodes.size()));
+    }
+    return replicas;
+  }
+
+  /**
+   * Returns the node leading the given partition at the given epoch.
+   * @param partition index of the partition
+   * @param epoch of the partition
+   * @return id of the leader node
+   */
+  public String leader(int partition, long epoch) {
+    return nodes.get((int) ((partition + epoch % replicationFactor) % nodes.size()));
+  }
+}
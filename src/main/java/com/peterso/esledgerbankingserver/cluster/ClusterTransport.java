@@ -0,0 +1,112 @@
+package com.peterso.esledgerbankingserver.cluster;
+
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import java.util.List;
+
+/**
+ * Messages exchanged between the nodes of a ledger cluster, either to replicate the partition logs
+ * or to forward a request to the leader of its partition.
+ * Every call throws {@link NodeUnavailableException} when the other node cannot be reached, and
+ * {@link NotLeaderException} when the other node is not the leader it was taken for.
+ */
+public interface ClusterTransport {
+
+  /**
+   * Sends log entries from the leader of a partition to one of its followers.
+   * @param node id of the follower
+   * @param request {@link AppendRequest}
+   * @return {@link AppendResponse}
+   */
+  AppendResponse append(String node, AppendRequest request);
+
+  /**
+   * Asks a replica of a partition to stop accepting appends from leaders of older epochs.
+   * @param node id of the replica
+   * @param request {@link PromiseRequest}
+   * @return {@link PromiseResponse}
+   */
+  PromiseResponse promise(String node, PromiseRequest request);
+
+  /**
+   * Asks a replica of a partition to become its leader for the given epoch.
+   * @param node id of the replica
+   * @param partition index of the partition
+   * @param epoch to lead
+   */
+  void elect(String node, int partition, long epoch);
+
+  /**
+   * Forwards a load to the leader of its user's partition.
+   * @param node id of the leader
+   * @param request {@link LoadRequest}
+   * @return {@link LoadResponse}
+   */
+  LoadResponse forwardLoad(String node, LoadRequest request);
+
+  /**
+   * Forwards an authorization to the leader of its user's partition.
+   * @param node id of the leader
+   * @param request {@link AuthorizationRequest}
+   * @return {@link AuthorizationResponse}
+   */
+  AuthorizationResponse forwardAuthorization(String node, AuthorizationRequest request);
+
+  /**
+   * Reads a balance from the leader of its user's partition.
+   * @param node id of the leader
+   * @param userId
+   * @return the balance of the user in minor units
+   */
+  long forwardBalance(String node, String userId);
+
+  /**
+   * Entries of a partition log sent by its leader, replacing the follower's log from fromIndex.
+   * @param partition index of the partition
+   * @param epoch of the leader
+   * @param fromIndex log index of the first entry
+   * @param entries list of {@link LogEntry}, empty to only probe the follower or advance its
+   * commit index
+   * @param commitIndex number of entries known to be committed by the leader
+   */
+  record AppendRequest(int partition, long epoch, int fromIndex, List<LogEntry> entries,
+      int commitIndex) {
+  }
+
+  /**
+   * Answer of a follower to an {@link AppendRequest}.
+   * @param success whether the entries were appended
+   * @param epoch of the leader the follower last accepted entries from
+   * @param promisedEpoch lowest epoch the follower still accepts entries from
+   * @param length number of entries in the follower's log
+   * @param commitIndex number of entries known to be committed by the follower
+   */
+  record AppendResponse(boolean success, long epoch, long promisedEpoch, int length,
+      int commitIndex) {
+  }
+
+  /**
+   * Request of a candidate leader for a new epoch.
+   * @param partition index of the partition
+   * @param epoch the candidate wants to lead
+   * @param fromIndex first log index to return, the candidate's commit index
+   */
+  record PromiseRequest(int partition, long epoch, int fromIndex) {
+  }
+
+  /**
+   * Answer of a replica to a {@link PromiseRequest}, holding its log past the committed prefix.
+   * @param granted whether the replica promised the epoch
+   * @param promisedEpoch lowest epoch the replica now accepts entries from
+   * @param lastEpoch epoch of the last entry of the replica's log, -1 if empty
+   * @param length number of entries in the replica's log
+   * @param commitIndex number of entries known to be committed by the replica
+   * @param fromIndex log index of the first returned entry
+   * @param entries list of {@link LogEntry} from fromIndex to the end of the log
+   */
+  record PromiseResponse(boolean granted, long promisedEpoch, long lastEpoch, int length,
+      int commitIndex, int fromIndex, List<LogEntry> entries) {
+  }
+}
@@ -0,0 +1,140 @@
+package com.peterso.esledgerbankingserver.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * {@link ClusterTransport} between nodes running in separate processes, where the id of a node is
+ * its base url. Replication messages are sent as {@link ClusterCodec} binary bodies and forwarded
+ * requests as the same JSON as the public endpoints. A node that is not the leader it was taken
+ * for answers 409 with the partition and the newest epoch it knows of in headers.
+ */
+public class HttpClusterTransport implements ClusterTransport {
+
+  public static final String PARTITION_HEADER = "Ledger-Partition";
+  public static final String EPOCH_HEADER = "Ledger-Epoch";
+  private static final String OCTET_STREAM = "application/octet-stream";
+  private static final String JSON = "application/json";
+
+  private final HttpClient client;
+  private final ObjectMapper objectMapper;
+  private final ClusterCodec codec = new ClusterCodec();
+  private final Duration timeout;
+
+  /**
+   * Creates the transport.
+   * @param objectMapper to read and write the forwarded requests
+   * @param timeout of every call, after which the other node is taken as unavailable
+   */
+  public HttpClusterTransport(ObjectMapper objectMapper, Duration timeout) {
+    this.client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(timeout)
+        .build();
+    this.objectMapper = objectMapper;
+    this.timeout = timeout;
+  }
+
+  @Override
+  public AppendResponse append(String node, AppendRequest request) {
+    return codec.decodeAppendResponse(send(node, HttpRequest.newBuilder(
+            uri(node, "/cluster/partitions/" + request.partition() + "/append"))
+        .header("Content-Type", OCTET_STREAM)
+        .POST(BodyPublishers.ofByteArray(codec.encode(request)))));
+  }
+
+  @Override
+  public PromiseResponse promise(String node, PromiseRequest request) {
+    return codec.decodePromiseResponse(send(node, HttpRequest.newBuilder(
+            uri(node, "/cluster/partitions/" + request.partition() + "/promise"))
+        .header("Content-Type", OCTET_STREAM)
+        .POST(BodyPublishers.ofByteArray(codec.encode(request)))));
+  }
+
+  @Override
+  public void elect(String node, int partition, long epoch) {
+    send(node, HttpRequest.newBuilder(
+            uri(node, "/cluster/partitions/" + partition + "/elect?epoch=" + epoch))
+        .POST(BodyPublishers.noBody()));
+  }
+
+  @Override
+  public LoadResponse forwardLoad(String node, LoadRequest request) {
+    return read(send(node, HttpRequest.newBuilder(uri(node, "/cluster/load"))
+        .header("Content-Type", JSON)
+        .PUT(BodyPublishers.ofByteArray(write(request)))), LoadResponse.class);
+  }
+
+  @Override
+  public AuthorizationResponse forwardAuthorization(String node,
+      AuthorizationRequest request) {
+    return read(send(node, HttpRequest.newBuilder(uri(node, "/cluster/authorization"))
+        .header("Content-Type", JSON)
+        .PUT(BodyPublishers.ofByteArray(write(request)))), AuthorizationResponse.class);
+  }
+
+  @Override
+  public long forwardBalance(String node, String userId) {
+    return read(send(node, HttpRequest.newBuilder(uri(node,
+            "/cluster/balance?userId=" + URLEncoder.encode(userId, StandardCharsets.UTF_8)))
+        .GET()), Long.class);
+  }
+
+  private byte[] send(String node, HttpRequest.Builder request) {
+    HttpResponse<byte[]> response;
+    try {
+      response = client.send(request.timeout(timeout).build(),
+          HttpResponse.BodyHandlers.ofByteArray());
+    } catch (IOException e) {
+      throw new NodeUnavailableException(node, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new NodeUnavailableException(node, e);
+    }
+
+    if (response.statusCode() == 409) {
+      throw new NotLeaderException(
+          Integer.parseInt(response.headers().firstValue(PARTITION_HEADER).orElse("-1")),
+          Long.parseLong(response.headers().firstValue(EPOCH_HEADER).orElse("0")));
+    }
+    if (response.statusCode() / 100 != 2) {
+      throw new IllegalStateException("Node " + node + " answered " + response.statusCode()
+          + ": " + new String(response.body(), StandardCharsets.UTF_8));
+    }
+    return response.body();
+  }
+
+  private static URI uri(String node, String path) {
+    return URI.create(node + path);
+  }
+
+  private byte[] write(Object value) {
+    try {
+      return objectMapper.writeValueAsBytes(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Unable to write the forwarded request", e);
+    }
+  }
+
+  private <T> T read(byte[] body, Class<T> type) {
+    try {
+      return objectMapper.readValue(body, type);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to read the forwarded response", e);
+    }
+  }
+}
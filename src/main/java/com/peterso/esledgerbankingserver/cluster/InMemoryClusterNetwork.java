@@ -0,0 +1,109 @@
+package com.peterso.esledgerbankingserver.cluster;
+
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.AppendRequest;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.AppendResponse;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.PromiseRequest;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.PromiseResponse;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Network between the nodes of a cluster running inside one JVM, where messages are direct calls.
+ * A node can be killed: from then on it can neither send nor receive messages, and a call that
+ * was running on it when it was killed fails as a lost response would.
+ */
+public class InMemoryClusterNetwork {
+
+  private final Map<String, ClusterNode> nodes = new ConcurrentHashMap<>();
+  private final Set<String> killed = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Returns the transport used by the given node to reach the others.
+   * @param nodeId id of the sending node
+   * @return {@link ClusterTransport}
+   */
+  public ClusterTransport transport(String nodeId) {
+    return new Transport(nodeId);
+  }
+
+  /**
+   * Connects the node to the network.
+   * @param node {@link ClusterNode}
+   */
+  public void register(ClusterNode node) {
+    nodes.put(node.getNodeId(), node);
+  }
+
+  /**
+   * Disconnects the node for good, as if its process had crashed.
+   * @param nodeId id of the node
+   */
+  public void kill(String nodeId) {
+    killed.add(nodeId);
+  }
+
+  public boolean isAlive(String nodeId) {
+    return !killed.contains(nodeId);
+  }
+
+  private <T> T call(String from, String to, Function<ClusterNode, T> message) {
+    ClusterNode node = nodes.get(to);
+    if (node == null || killed.contains(from) || killed.contains(to)) {
+      throw new NodeUnavailableException(to, null);
+    }
+    T response = message.apply(node);
+    if (killed.contains(from) || killed.contains(to)) {
+      throw new NodeUnavailableException(to, null);
+    }
+    return response;
+  }
+
+  private final class Transport implements ClusterTransport {
+
+    private final String from;
+
+    private Transport(String from) {
+      this.from = from;
+    }
+
+    @Override
+    public AppendResponse append(String node, AppendRequest request) {
+      return call(from, node, target -> target.append(request));
+    }
+
+    @Override
+    public PromiseResponse promise(String node, PromiseRequest request) {
+      return call(from, node, target -> target.promise(request));
+    }
+
+    @Override
+    public void elect(String node, int partition, long epoch) {
+      call(from, node, target -> {
+        target.elect(partition, epoch);
+        return null;
+      });
+    }
+
+    @Override
+    public LoadResponse forwardLoad(String node, LoadRequest request) {
+      return call(from, node, target -> target.handleLoadRequestAsLeader(request));
+    }
+
+    @Override
+    public AuthorizationResponse forwardAuthorization(String node,
+        AuthorizationRequest request) {
+      return call(from, node, target -> target.handleAuthorizationRequestAsLeader(request));
+    }
+
+    @Override
+    public long forwardBalance(String node, String userId) {
+      return call(from, node, target -> target.getBalanceAsLeader(userId));
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.peterso.esledgerbankingserver.cluster;
+
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+
+/**
+ * An event of a partition log with the epoch of the leader that wrote it.
+ * @param epoch of the leader that appended the entry
+ * @param event {@link TransactionEvent}
+ */
+public record LogEntry(long epoch, TransactionEvent event) {
+}
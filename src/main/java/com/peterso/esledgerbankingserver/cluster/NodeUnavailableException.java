@@ -0,0 +1,11 @@
+package com.peterso.esledgerbankingserver.cluster;
+
+/**
+ * Thrown when a node of the cluster cannot be reached.
+ */
+public class NodeUnavailableException extends RuntimeException {
+
+  public NodeUnavailableException(String node, Throwable cause) {
+    super("Node " + node + " is unavailable", cause);
+  }
+}
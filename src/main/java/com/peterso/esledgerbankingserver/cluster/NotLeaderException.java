@@ -0,0 +1,20 @@
+package com.peterso.esledgerbankingserver.cluster;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a node is asked to lead a partition it does not lead, or loses its leadership while
+ * appending. Holds the newest epoch the node knows of, so the caller can find the current leader.
+ */
+@Getter
+public class NotLeaderException extends RuntimeException {
+
+  private final int partition;
+  private final long epoch;
+
+  public NotLeaderException(int partition, long epoch) {
+    super("Not the leader of partition " + partition + " at epoch " + epoch);
+    this.partition = partition;
+    this.epoch = epoch;
+  }
+}
@@ -0,0 +1,555 @@
+package com.peterso.esledgerbankingserver.cluster;
+
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.AppendRequest;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.AppendResponse;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.PromiseRequest;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.PromiseResponse;
+import com.peterso.esledgerbankingserver.model.dto.PartitionStatus;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.repository.EventPosition;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.InMemoryEventStore;
+import com.peterso.esledgerbankingserver.repository.PendingEvents;
+import com.peterso.esledgerbankingserver.repository.WrongExpectedVersionException;
+import com.peterso.esledgerbankingserver.repository.journal.GroupCommitWriter;
+import com.peterso.esledgerbankingserver.service.TransactionService;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * One node's replica of a partition log, replicated with a leader per epoch in the style of
+ * viewstamped replication.
+ * The leader appends the events of its TransactionService to its log, sends them to the other
+ * replicas and acknowledges them once a quorum of replicas, itself included, holds them; they are
+ * then committed. Concurrent appends are batched into one replication round by a
+ * {@link GroupCommitWriter}; each leadership has its own writer, so appends queued under a
+ * leadership that ended are refused rather than replicated under the next one. The leader counts
+ * the appends waiting to be committed to check conditional appends against them.
+ * A new leader is elected for a higher epoch: it collects promises from a quorum of replicas,
+ * which stop accepting entries from older epochs, adopts the most up-to-date log among them
+ * (highest epoch of the last entry, then longest) and commits it again in its own epoch before
+ * serving requests. Every committed entry is held by a quorum, which intersects the quorum of any
+ * later election, so acknowledged events survive the loss of a minority of the replicas.
+ */
+final class PartitionReplica implements Closeable {
+
+  private static final int APPEND_ATTEMPTS = 3;
+  private static final int MAX_BATCH_SIZE = 256;
+
+  private final int partition;
+  private final List<String> followers;
+  private final int quorum;
+  private final ClusterTransport transport;
+  private final Executor executor;
+  private final Function<EventStore, TransactionService> serviceFactory;
+  private final Lock lock = new ReentrantLock();
+  // serializes the replication rounds and the elections of the partition, never held by a
+  // message handler so two replicas cannot wait on each other
+  private final Lock appendLock = new ReentrantLock();
+  private final List<LogEntry> log = new ArrayList<>();
+  private final InMemoryEventStore committed = new InMemoryEventStore();
+  // events submitted in the current leadership and not committed yet
+  private final PendingEvents pending = new PendingEvents();
+  private final Map<String, Integer> nextIndex = new HashMap<>();
+  private long epoch;
+  private long promisedEpoch;
+  private int commitIndex;
+  private boolean leader;
+  private TransactionService service;
+  private GroupCommitWriter writer;
+  private int leadership;
+
+  /**
+   * Creates an empty replica. The leader of epoch 0 starts leading right away since every log of
+   * a new partition is empty.
+   * @param partition index of the partition
+   * @param nodeId id of the node holding this replica
+   * @param topology {@link ClusterTopology}
+   * @param transport {@link ClusterTransport} to the other replicas
+   * @param executor running the messages sent to the other replicas
+   * @param serviceFactory creates the TransactionService of the partition over its committed
+   * events whenever this replica becomes the leader
+   */
+  PartitionReplica(int partition, String nodeId, ClusterTopology topology,
+      ClusterTransport transport, Executor executor,
+      Function<EventStore, TransactionService> serviceFactory) {
+    this.partition = partition;
+    this.followers = topology.replicas(partition).stream()
+        .filter(replica -> !replica.equals(nodeId))
+        .toList();
+    this.quorum = topology.quorum();
+    this.transport = transport;
+    this.executor = executor;
+    this.serviceFactory = serviceFactory;
+    if (topology.leader(partition, 0).equals(nodeId)) {
+      followers.forEach(follower -> nextIndex.put(follower, 0));
+      leader = true;
+      lead();
+    }
+  }
+
+  /**
+   * Returns the TransactionService of the partition if this replica leads it, waiting for an
+   * election of this replica in progress.
+   * @return {@link TransactionService}
+   * @throws NotLeaderException if this replica does not lead the partition
+   */
+  TransactionService leaderService() {
+    lock.lock();
+    try {
+      if (service != null) {
+        return service;
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    appendLock.lock();
+    appendLock.unlock();
+    lock.lock();
+    try {
+      if (service != null) {
+        return service;
+      }
+      throw new NotLeaderException(partition, promisedEpoch);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Queues the events for the next replication round.
+   * @param events list of {@link TransactionEvent}
+   * @return future completed once the events are committed
+   */
+  CompletableFuture<Void> submit(List<TransactionEvent> events) {
+    lock.lock();
+    try {
+      if (service == null) {
+        return CompletableFuture.failedFuture(new NotLeaderException(partition, promisedEpoch));
+      }
+      return queue(events);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Queues the events of one user for the next replication round if the user's stream, counting
+   * the events of the user still waiting to be committed, is at the expected version.
+   * @param userId of the stream
+   * @param expectedVersion version of the stream the events were decided on
+   * @param events list of {@link TransactionEvent} of the user
+   * @return future completed with the {@link EventPosition} of the first event once the events
+   * are committed, or completed exceptionally with a {@link WrongExpectedVersionException}
+   */
+  CompletableFuture<EventPosition> submit(String userId, int expectedVersion,
+      List<TransactionEvent> events) {
+    lock.lock();
+    try {
+      if (service == null) {
+        return CompletableFuture.failedFuture(new NotLeaderException(partition, promisedEpoch));
+      }
+      int version = committed.getStreamVersion(userId) + pending.count(userId);
+      if (version != expectedVersion) {
+        return CompletableFuture.failedFuture(
+            new WrongExpectedVersionException(userId, expectedVersion, version));
+      }
+      // the pending events are committed in the order they were queued, ahead of these
+      EventPosition position = new EventPosition(committed.getSequence() + pending.size(),
+          version);
+      return queue(events).thenApply(ignored -> position);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Handles entries sent by a leader. Entries from an epoch older than the promised one are
+   * refused. The first entries of a new epoch must start within the committed prefix, which is
+   * the same on every replica, and the log is cut after them; later entries of the same epoch
+   * must follow the log. An entry conflicting with the log replaces it from there.
+   * @param request {@link AppendRequest}
+   * @return {@link AppendResponse}
+   */
+  AppendResponse append(AppendRequest request) {
+    lock.lock();
+    try {
+      if (request.epoch() < promisedEpoch) {
+        return appendResponse(false);
+      }
+      promisedEpoch = request.epoch();
+      boolean newEpoch = request.epoch() != epoch;
+      if (newEpoch) {
+        stepDown();
+      }
+      if (request.fromIndex() > (newEpoch ? commitIndex : log.size())) {
+        return appendResponse(false);
+      }
+
+      int index = request.fromIndex();
+      for (LogEntry entry : request.entries()) {
+        if (index < log.size()) {
+          if (log.get(index).epoch() == entry.epoch()) {
+            index++;
+            continue;
+          }
+          log.subList(index, log.size()).clear();
+        }
+        log.add(entry);
+        index++;
+      }
+      if (newEpoch) {
+        // entries past the leader's log were never committed
+        log.subList(index, log.size()).clear();
+      }
+      epoch = request.epoch();
+      commit(Math.min(request.commitIndex(), index));
+      return appendResponse(true);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Handles the request of a candidate leader, promising its epoch if it is newer than any
+   * promised so far, and returns the log past the committed prefix of the candidate.
+   * @param request {@link PromiseRequest}
+   * @return {@link PromiseResponse}
+   */
+  PromiseResponse promise(PromiseRequest request) {
+    lock.lock();
+    try {
+      if (request.epoch() <= promisedEpoch) {
+        return new PromiseResponse(false, promisedEpoch, lastEpoch(), log.size(), commitIndex,
+            log.size(), List.of());
+      }
+      promisedEpoch = request.epoch();
+      stepDown();
+      int from = Math.min(request.fromIndex(), commitIndex);
+      return new PromiseResponse(true, promisedEpoch, lastEpoch(), log.size(), commitIndex, from,
+          List.copyOf(log.subList(from, log.size())));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Tries to make this replica the leader of the given epoch.
+   * @param newEpoch to lead
+   * @return true if this replica leads the epoch, false if a newer epoch was promised or no
+   * quorum of replicas could be reached
+   */
+  boolean elect(long newEpoch) {
+    appendLock.lock();
+    try {
+      PromiseResponse own;
+      lock.lock();
+      try {
+        if (service != null && epoch == newEpoch) {
+          return true;
+        }
+        own = promise(new PromiseRequest(partition, newEpoch, commitIndex));
+        if (!own.granted()) {
+          return false;
+        }
+      } finally {
+        lock.unlock();
+      }
+
+      List<CompletableFuture<PromiseResponse>> requests = new ArrayList<>(followers.size());
+      for (String follower : followers) {
+        PromiseRequest request = new PromiseRequest(partition, newEpoch, own.fromIndex());
+        requests.add(CompletableFuture.supplyAsync(
+            () -> transport.promise(follower, request), executor));
+      }
+      List<PromiseResponse> granted = new ArrayList<>(List.of(own));
+      Map<String, Integer> commitIndexes = new HashMap<>();
+      for (int i = 0; i < requests.size(); i++) {
+        try {
+          PromiseResponse response = requests.get(i).join();
+          if (response.granted()) {
+            granted.add(response);
+            commitIndexes.put(followers.get(i), response.commitIndex());
+          }
+        } catch (CompletionException e) {
+          // an unreachable replica does not take part in the election
+        }
+      }
+      if (granted.size() < quorum) {
+        return false;
+      }
+
+      int length;
+      lock.lock();
+      try {
+        if (promisedEpoch != newEpoch) {
+          return false;
+        }
+        // every committed entry is in the most up-to-date log of the quorum
+        PromiseResponse best = granted.stream()
+            .max(Comparator.comparingLong(PromiseResponse::lastEpoch)
+                .thenComparingInt(PromiseResponse::length))
+            .orElseThrow();
+        log.subList(best.fromIndex(), log.size()).clear();
+        log.addAll(best.entries());
+        commit(granted.stream().mapToInt(PromiseResponse::commitIndex).max().orElse(0));
+        // the adopted entries are committed again in the new epoch, which also makes this log
+        // the most up-to-date one at the next election
+        for (int i = commitIndex; i < log.size(); i++) {
+          log.set(i, new LogEntry(newEpoch, log.get(i).event()));
+        }
+        epoch = newEpoch;
+        nextIndex.clear();
+        nextIndex.putAll(commitIndexes);
+        leader = true;
+        length = log.size();
+      } finally {
+        lock.unlock();
+      }
+
+      if (!replicated(newEpoch, length)) {
+        lock.lock();
+        try {
+          stepDown();
+        } finally {
+          lock.unlock();
+        }
+        return false;
+      }
+      lock.lock();
+      try {
+        if (!leader || epoch != newEpoch) {
+          return false;
+        }
+        commit(length);
+        lead();
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  /**
+   * Returns the committed events of the partition, in log order.
+   * @return list of {@link TransactionEvent}
+   */
+  List<TransactionEvent> committedEvents() {
+    return committed.getEventStore();
+  }
+
+  long promisedEpoch() {
+    lock.lock();
+    try {
+      return promisedEpoch;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  PartitionStatus status() {
+    lock.lock();
+    try {
+      return PartitionStatus.builder()
+          .partition(partition)
+          .leader(service != null)
+          .epoch(epoch)
+          .length(log.size())
+          .commitIndex(commitIndex)
+          .build();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    GroupCommitWriter closing;
+    lock.lock();
+    try {
+      stepDown();
+      closing = writer;
+      writer = null;
+    } finally {
+      lock.unlock();
+    }
+    if (closing != null) {
+      closing.close();
+    }
+  }
+
+  // Sink of the group commit writer of a leadership: appends a batch to the leader's log and
+  // commits it once a quorum of replicas holds it. A leader that cannot reach a quorum steps down.
+  private void replicate(int batchLeadership, List<TransactionEvent> events) {
+    appendLock.lock();
+    try {
+      long leaderEpoch;
+      int length;
+      lock.lock();
+      try {
+        if (service == null || batchLeadership != leadership) {
+          throw new NotLeaderException(partition, promisedEpoch);
+        }
+        leaderEpoch = epoch;
+        for (TransactionEvent event : events) {
+          log.add(new LogEntry(epoch, event));
+        }
+        length = log.size();
+      } finally {
+        lock.unlock();
+      }
+
+      boolean replicated = replicated(leaderEpoch, length);
+      lock.lock();
+      try {
+        if (!replicated || !leader || epoch != leaderEpoch) {
+          stepDown();
+          throw new NotLeaderException(partition, promisedEpoch);
+        }
+        commit(length);
+        pending.remove(events);
+      } finally {
+        lock.unlock();
+      }
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  // Sends the log to every follower in parallel and returns once a quorum holds the first length
+  // entries, or once that is no longer possible.
+  private boolean replicated(long leaderEpoch, int length) {
+    if (followers.size() + 1 < quorum) {
+      return false;
+    }
+    CompletableFuture<Boolean> result = new CompletableFuture<>();
+    AtomicInteger acknowledged = new AtomicInteger(1);
+    AtomicInteger failed = new AtomicInteger();
+    if (quorum <= 1) {
+      result.complete(true);
+    }
+    for (String follower : followers) {
+      CompletableFuture.supplyAsync(() -> sendTo(follower, leaderEpoch, length), executor)
+          .whenComplete((success, failure) -> {
+            if (failure == null && success) {
+              if (acknowledged.incrementAndGet() >= quorum) {
+                result.complete(true);
+              }
+            } else if (failed.incrementAndGet() > followers.size() + 1 - quorum) {
+              result.complete(false);
+            }
+          });
+    }
+    return result.join();
+  }
+
+  // Sends the follower the log from its next index, moving the index back to what the follower
+  // holds when it refuses the entries.
+  private boolean sendTo(String follower, long leaderEpoch, int length) {
+    for (int attempt = 0; attempt < APPEND_ATTEMPTS; attempt++) {
+      AppendRequest request;
+      lock.lock();
+      try {
+        if (!leader || epoch != leaderEpoch) {
+          return false;
+        }
+        int from = Math.min(nextIndex.getOrDefault(follower, log.size()), log.size());
+        request = new AppendRequest(partition, leaderEpoch, from,
+            List.copyOf(log.subList(from, log.size())), commitIndex);
+      } finally {
+        lock.unlock();
+      }
+
+      AppendResponse response;
+      try {
+        response = transport.append(follower, request);
+      } catch (NodeUnavailableException e) {
+        return false;
+      }
+
+      lock.lock();
+      try {
+        if (response.success()) {
+          int end = request.fromIndex() + request.entries().size();
+          nextIndex.merge(follower, end, Math::max);
+          return end >= length;
+        }
+        if (response.promisedEpoch() > leaderEpoch) {
+          return false;
+        }
+        nextIndex.put(follower, response.epoch() == leaderEpoch ? response.length()
+            : response.commitIndex());
+      } finally {
+        lock.unlock();
+      }
+    }
+    return false;
+  }
+
+  // Must hold the lock. Queues the events on the writer of the current leadership and counts them
+  // as pending; the writer cannot commit them before they are counted, since it needs the lock.
+  private CompletableFuture<Void> queue(List<TransactionEvent> events) {
+    CompletableFuture<Void> replicated = writer.submit(events);
+    pending.add(events);
+    return replicated;
+  }
+
+  // Must hold the lock. Every log entry is committed when a leadership starts, so nothing is
+  // pending.
+  private void lead() {
+    if (writer != null) {
+      // the writer of the previous leadership refuses what it still holds, and cannot be closed
+      // here since it needs the append lock to do so
+      executor.execute(writer::close);
+    }
+    int current = ++leadership;
+    writer = new GroupCommitWriter(events -> replicate(current, events), MAX_BATCH_SIZE,
+        Duration.ZERO);
+    pending.clear();
+    // rebuilds the balances and the recently processed messages from the committed events
+    service = serviceFactory.apply(new ReplicatedEventStore(this, committed));
+  }
+
+  // Must hold the lock. Appends do not go through a stale TransactionService once it is dropped,
+  // and its balances are rebuilt from the committed events at the next election.
+  private void stepDown() {
+    leader = false;
+    service = null;
+  }
+
+  // Must hold the lock. Advances the commit index and saves the newly committed events.
+  private void commit(int index) {
+    commitIndex = Math.max(commitIndex, Math.min(index, log.size()));
+    int applied = (int) committed.getSequence();
+    if (applied < commitIndex) {
+      List<TransactionEvent> events = new ArrayList<>(commitIndex - applied);
+      for (int i = applied; i < commitIndex; i++) {
+        events.add(log.get(i).event());
+      }
+      committed.saveEvents(events);
+    }
+  }
+
+  private long lastEpoch() {
+    return log.isEmpty() ? -1 : log.get(log.size() - 1).epoch();
+  }
+
+  private AppendResponse appendResponse(boolean success) {
+    return new AppendResponse(success, epoch, promisedEpoch, log.size(), commitIndex);
+  }
+}
@@ -0,0 +1,95 @@
+package com.peterso.esledgerbankingserver.cluster;
+
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.repository.EventPosition;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The {@link EventStore} of a partition leader's TransactionService. Appends are replicated to a
+ * quorum of the partition's replicas before they return, and reads only see committed events.
+ * A conditional append is checked by the leader against its committed events and the events
+ * still waiting to be replicated.
+ */
+final class ReplicatedEventStore implements EventStore {
+
+  private final PartitionReplica replica;
+  private final EventStore committed;
+
+  ReplicatedEventStore(PartitionReplica replica, EventStore committed) {
+    this.replica = replica;
+    this.committed = committed;
+  }
+
+  @Override
+  public void saveEvent(TransactionEvent event) {
+    saveEvents(List.of(event));
+  }
+
+  @Override
+  public void saveEvents(List<TransactionEvent> events) {
+    join(replica.submit(events));
+  }
+
+  @Override
+  public EventPosition append(String userId, int expectedVersion, List<TransactionEvent> events) {
+    for (TransactionEvent event : events) {
+      if (!Objects.equals(event.getUserId(), userId)) {
+        throw new IllegalArgumentException("Event of user " + event.getUserId()
+            + " appended to the stream of user " + userId);
+      }
+    }
+    return join(replica.submit(userId, expectedVersion, events));
+  }
+
+  @Override
+  public CompletableFuture<Void> saveEventsAsync(List<TransactionEvent> events) {
+    return replica.submit(events);
+  }
+
+  @Override
+  public List<TransactionEvent> getEventStore() {
+    return committed.getEventStore();
+  }
+
+  @Override
+  public List<TransactionEvent> getEventsSince(long fromSequence) {
+    return committed.getEventsSince(fromSequence);
+  }
+
+  @Override
+  public long getSequence() {
+    return committed.getSequence();
+  }
+
+  @Override
+  public List<TransactionEvent> getEvents(String userId, int fromVersion) {
+    return committed.getEvents(userId, fromVersion);
+  }
+
+  @Override
+  public int getStreamVersion(String userId) {
+    return committed.getStreamVersion(userId);
+  }
+
+  @Override
+  public int getStreamCount() {
+    return committed.getStreamCount();
+  }
+
+  @Override
+  public int getMaxStreamVersion() {
+    return committed.getMaxStreamVersion();
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.peterso.esledgerbankingserver.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peterso.esledgerbankingserver.cluster.ClusterNode;
+import com.peterso.esledgerbankingserver.cluster.ClusterTopology;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport;
+import com.peterso.esledgerbankingserver.cluster.HttpClusterTransport;
+import com.peterso.esledgerbankingserver.metrics.LedgerMetrics;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.service.AccountLocks;
+import com.peterso.esledgerbankingserver.service.IdempotencyCache;
+import com.peterso.esledgerbankingserver.service.TransactionService;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the clustered mode (ledger.cluster.enabled=true), in which this process is one
+ * {@link ClusterNode} of a cluster whose nodes are identified by their base url. The
+ * TransactionService of each partition led by the node records into the application's
+ * {@link LedgerMetrics} and takes its account locks and deduplication from the ledger settings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ledger.cluster.enabled", havingValue = "true")
+public class ClusterConfiguration {
+
+  @Bean
+  public ClusterTopology clusterTopology(@Value("${ledger.cluster.nodes}") List<String> nodes,
+      @Value("${ledger.cluster.partitions:16}") int partitions,
+      @Value("${ledger.cluster.replication-factor:3}") int replicationFactor) {
+    return new ClusterTopology(nodes, partitions, replicationFactor);
+  }
+
+  @Bean
+  public ClusterTransport clusterTransport(ObjectMapper objectMapper,
+      @Value("${ledger.cluster.request-timeout:2s}") Duration requestTimeout) {
+    return new HttpClusterTransport(objectMapper, requestTimeout);
+  }
+
+  @Bean
+  public ClusterNode clusterNode(@Value("${ledger.cluster.node-id}") String nodeId,
+      ClusterTopology clusterTopology, ClusterTransport clusterTransport, LedgerMetrics metrics,
+      @Value("${ledger.account-locks.stripes:1024}") int lockStripes,
+      @Value("${ledger.dedup.max-size:1000000}") int dedupMaxSize,
+      @Value("${ledger.dedup.ttl:24h}") Duration dedupTtl) {
+    return new ClusterNode(nodeId, clusterTopology, clusterTransport, eventStore -> {
+      BalanceProjection balanceProjection = new BalanceProjection(eventStore);
+      return new TransactionService(eventStore, balanceProjection, new AccountLocks(lockStripes),
+          new IdempotencyCache(eventStore, balanceProjection, dedupMaxSize, dedupTtl), 0, 0,
+          metrics);
+    });
+  }
+}
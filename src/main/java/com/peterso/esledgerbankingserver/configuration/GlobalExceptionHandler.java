@@ -4,13 +4,13 @@ import com.peterso.esledgerbankingserver.model.dto.Error;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import org.apache.tomcat.util.buf.StringUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 /**
  * Exception Handler on the global level to customize validation error handling.
@@ -21,9 +21,19 @@ public class GlobalExceptionHandler {
   // Method to handle MethodArgumentNotValidException thrown from jakarta.validations.
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<Error> handleValidationErrors(MethodArgumentNotValidException e) {
+    return validationError(e.getBindingResult().getFieldErrors());
+  }
+
+  // Method to handle WebExchangeBindException, the reactive counterpart of
+  // MethodArgumentNotValidException, so both stacks answer with the same error body.
+  @ExceptionHandler(WebExchangeBindException.class)
+  public ResponseEntity<Error> handleValidationErrors(WebExchangeBindException e) {
+    return validationError(e.getBindingResult().getFieldErrors());
+  }
+
+  private ResponseEntity<Error> validationError(List<FieldError> fieldErrors) {
     // Extracts error messages from the exception.
-    List<String> errors = e.getBindingResult()
-        .getFieldErrors()
+    List<String> errors = fieldErrors
         .stream()
         .map(FieldError::getDefaultMessage).collect(Collectors.toList());
 
@@ -36,6 +46,6 @@ public class GlobalExceptionHandler {
 
   // Utility method to format a list of messages into a single method.
   private String formatMessages(List<String> errors) {
-    return StringUtils.join(errors, ',');
+    return String.join(",", errors);
   }
 }
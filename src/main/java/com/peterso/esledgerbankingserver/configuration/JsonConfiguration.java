@@ -0,0 +1,20 @@
+package com.peterso.esledgerbankingserver.configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.peterso.esledgerbankingserver.json.TransactionJsonModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the application's ObjectMapper, used by the servlet and reactive controllers
+ * and the cluster transport alike: the transaction DTOs are read and written by the
+ * {@link TransactionJsonModule}.
+ */
+@Configuration
+public class JsonConfiguration {
+
+  @Bean
+  public Module transactionJsonModule() {
+    return new TransactionJsonModule();
+  }
+}
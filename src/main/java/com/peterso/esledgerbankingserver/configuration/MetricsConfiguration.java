@@ -0,0 +1,37 @@
+package com.peterso.esledgerbankingserver.configuration;
+
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the ledger metrics published on /actuator/prometheus, next to the HTTP
+ * request timers of Spring Boot: gauges of the {@link EventStore}, read when the endpoint is
+ * scraped. Request validation is timed by {@link ValidationConfiguration}.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+  /**
+   * Gauges of the number of events, the number of user streams and the length of the longest
+   * stream. A gauge per user would publish one series per account, so the distribution of
+   * stream lengths is summarized by these instead.
+   */
+  @Bean
+  public MeterBinder eventStoreMetrics(EventStore eventStore) {
+    return registry -> {
+      Gauge.builder("ledger.store.events", eventStore, EventStore::getSequence)
+          .description("Number of events in the event store")
+          .register(registry);
+      Gauge.builder("ledger.store.streams", eventStore, EventStore::getStreamCount)
+          .description("Number of user streams in the event store")
+          .register(registry);
+      Gauge.builder("ledger.store.stream.length.max", eventStore,
+              EventStore::getMaxStreamVersion)
+          .description("Number of events in the longest user stream")
+          .register(registry);
+    };
+  }
+}
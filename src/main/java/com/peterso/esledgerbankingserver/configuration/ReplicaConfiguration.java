@@ -0,0 +1,25 @@
+package com.peterso.esledgerbankingserver.configuration;
+
+import com.peterso.esledgerbankingserver.replica.EventFeed;
+import com.peterso.esledgerbankingserver.replica.HttpEventFeed;
+import com.peterso.esledgerbankingserver.replica.ReplicaTailer;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the read replica mode (ledger.replica.enabled=true), in which this process
+ * follows the event log of a primary with a {@link ReplicaTailer} and only serves reads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ledger.replica.enabled", havingValue = "true")
+public class ReplicaConfiguration {
+
+  @Bean
+  public EventFeed eventFeed(@Value("${ledger.replica.primary-url}") String primaryUrl,
+      @Value("${ledger.replica.request-timeout:2s}") Duration requestTimeout) {
+    return new HttpEventFeed(primaryUrl, requestTimeout);
+  }
+}
@@ -0,0 +1,37 @@
+package com.peterso.esledgerbankingserver.configuration;
+
+import com.peterso.esledgerbankingserver.metrics.LedgerMetrics;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.service.AccountLocks;
+import com.peterso.esledgerbankingserver.service.IdempotencyCache;
+import com.peterso.esledgerbankingserver.service.TransactionService;
+import com.peterso.esledgerbankingserver.shard.ShardedLedger;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the sharded mode (ledger.shards.enabled=true), in which transactions are
+ * served by a {@link ShardedLedger}. The TransactionService of each shard serves its transactions
+ * through a pipeline of one partition, records into the application's {@link LedgerMetrics} and
+ * takes its deduplication from the ledger settings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ledger.shards.enabled", havingValue = "true")
+public class ShardConfiguration {
+
+  @Bean
+  public ShardedLedger shardedLedger(@Value("${ledger.shards.count:4}") int shards,
+      @Value("${ledger.shards.ring-size:1024}") int ringSize, LedgerMetrics metrics,
+      @Value("${ledger.dedup.max-size:1000000}") int dedupMaxSize,
+      @Value("${ledger.dedup.ttl:24h}") Duration dedupTtl) {
+    return new ShardedLedger(shards, eventStore -> {
+      BalanceProjection balanceProjection = new BalanceProjection(eventStore);
+      return new TransactionService(eventStore, balanceProjection, new AccountLocks(),
+          new IdempotencyCache(eventStore, balanceProjection, dedupMaxSize, dedupTtl), 1,
+          ringSize, metrics);
+    });
+  }
+}
@@ -0,0 +1,69 @@
+package com.peterso.esledgerbankingserver.configuration;
+
+import com.peterso.esledgerbankingserver.metrics.LedgerMetrics;
+import com.peterso.esledgerbankingserver.metrics.TimedValidator;
+import com.peterso.esledgerbankingserver.validation.TransactionRequestValidator;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration of the validator of the @Valid request bodies: transaction requests are checked
+ * by the {@link TransactionRequestValidator}, any other body by Bean Validation, and every
+ * validation is timed in {@link LedgerMetrics}.
+ */
+@Configuration
+public class ValidationConfiguration {
+
+  static org.springframework.validation.Validator requestValidator(Validator validator,
+      LedgerMetrics metrics) {
+    return new TimedValidator(
+        new TransactionRequestValidator(new SpringValidatorAdapter(validator)), metrics);
+  }
+
+  /**
+   * The validator of the servlet controllers.
+   */
+  @Configuration
+  @ConditionalOnWebApplication(type = Type.SERVLET)
+  static class ServletValidationConfiguration implements WebMvcConfigurer {
+
+    private final Validator validator;
+    private final LedgerMetrics metrics;
+
+    ServletValidationConfiguration(Validator validator, LedgerMetrics metrics) {
+      this.validator = validator;
+      this.metrics = metrics;
+    }
+
+    @Override
+    public org.springframework.validation.Validator getValidator() {
+      return requestValidator(validator, metrics);
+    }
+  }
+
+  /**
+   * The validator of the reactive controllers.
+   */
+  @Configuration
+  @ConditionalOnWebApplication(type = Type.REACTIVE)
+  static class ReactiveValidationConfiguration implements WebFluxConfigurer {
+
+    private final Validator validator;
+    private final LedgerMetrics metrics;
+
+    ReactiveValidationConfiguration(Validator validator, LedgerMetrics metrics) {
+      this.validator = validator;
+      this.metrics = metrics;
+    }
+
+    @Override
+    public org.springframework.validation.Validator getValidator() {
+      return requestValidator(validator, metrics);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.peterso.esledgerbankingserver.controller;
+
+import com.peterso.esledgerbankingserver.model.dto.AccountBalance;
+import com.peterso.esledgerbankingserver.model.dto.AccountEvents;
+import com.peterso.esledgerbankingserver.model.dto.Error;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.service.AccountQueryService;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for the account query endpoints, served by the primary and by read replicas.
+ * Contains GET operations: '/accounts/{userId}/balance' and '/accounts/{userId}/events'. Every
+ * response carries the sequence of the ledger's log it reflects.
+ */
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(name = {"ledger.cluster.enabled", "ledger.shards.enabled"},
+    havingValue = "false", matchIfMissing = true)
+public class AccountController {
+
+  private static final int MAX_PAGE_SIZE = 1000;
+
+  @Autowired
+  private AccountQueryService accountQueryService;
+
+  /**
+   * GET operation for '/accounts/{userId}/balance', the current balance of a user.
+   * @param userId of the account
+   * @return either an {@link AccountBalance} or {@link Error}, not found if the user has no
+   * transaction
+   */
+  @GetMapping("/accounts/{userId}/balance")
+  public ResponseEntity<?> balance(@PathVariable String userId) {
+    try {
+      Optional<AccountBalance> balance = accountQueryService.getBalance(userId);
+      if (balance.isEmpty()) {
+        Error error = new Error("No account for user " + userId,
+            Optional.of(HttpStatus.NOT_FOUND.toString()));
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+      }
+      return new ResponseEntity<>(balance.get(), HttpStatus.OK);
+    } catch (Exception e) {
+      Error error = new Error(e.getMessage(),
+          Optional.of(HttpStatus.INTERNAL_SERVER_ERROR.toString()));
+      return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  /**
+   * GET operation for '/accounts/{userId}/events', a page of the history of a user, oldest event
+   * first.
+   * @param userId of the account
+   * @param type only return events of this transaction type (LOAD or AUTHORIZATION)
+   * @param from only return events created at or after this ISO-8601 local date-time
+   * @param to only return events created before this ISO-8601 local date-time
+   * @param cursor nextCursor of the previous page, omitted for the first page
+   * @param limit maximum number of events to return, at most 1000
+   * @return either an {@link AccountEvents} or {@link Error}
+   */
+  @GetMapping("/accounts/{userId}/events")
+  public ResponseEntity<?> events(@PathVariable String userId,
+      @RequestParam(required = false) String type,
+      @RequestParam(required = false) String from,
+      @RequestParam(required = false) String to,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "100") int limit) {
+    TransactionTypeEnum transactionType;
+    LocalDateTime fromTime;
+    LocalDateTime toTime;
+    try {
+      if (limit < 1 || limit > MAX_PAGE_SIZE) {
+        throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+      }
+      transactionType = type == null ? null : transactionType(type);
+      fromTime = from == null ? null : LocalDateTime.parse(from);
+      toTime = to == null ? null : LocalDateTime.parse(to);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      Error error = new Error(e.getMessage(), Optional.of(HttpStatus.BAD_REQUEST.toString()));
+      return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    try {
+      AccountEvents events = accountQueryService.getEvents(userId, transactionType, fromTime,
+          toTime, cursor, limit);
+      return new ResponseEntity<>(events, HttpStatus.OK);
+    } catch (IllegalArgumentException e) {
+      Error error = new Error(e.getMessage(), Optional.of(HttpStatus.BAD_REQUEST.toString()));
+      return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    } catch (Exception e) {
+      Error error = new Error(e.getMessage(),
+          Optional.of(HttpStatus.INTERNAL_SERVER_ERROR.toString()));
+      return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  private static TransactionTypeEnum transactionType(String type) {
+    try {
+      return TransactionTypeEnum.valueOf(type);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("type must be LOAD or AUTHORIZATION", e);
+    }
+  }
+}
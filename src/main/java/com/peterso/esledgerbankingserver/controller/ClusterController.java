@@ -0,0 +1,161 @@
+package com.peterso.esledgerbankingserver.controller;
+
+import com.peterso.esledgerbankingserver.cluster.ClusterCodec;
+import com.peterso.esledgerbankingserver.cluster.ClusterNode;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.AppendRequest;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport.PromiseRequest;
+import com.peterso.esledgerbankingserver.cluster.HttpClusterTransport;
+import com.peterso.esledgerbankingserver.cluster.NotLeaderException;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.Error;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.model.dto.PartitionStatus;
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for the transaction endpoints in the clustered mode (ledger.cluster.enabled=true),
+ * served by the {@link ClusterNode} instead of the local TransactionService.
+ * Contains PUT operations: '/authorization' and '/load', accepted by any node, the
+ * '/cluster/partitions' admin view and the endpoints used by the other nodes to replicate the
+ * partition logs and to forward requests to a partition leader.
+ */
+@RestController
+@ConditionalOnProperty(name = "ledger.cluster.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ClusterController {
+
+  private static final String OCTET_STREAM = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+  @Autowired
+  private ClusterNode clusterNode;
+
+  private final ClusterCodec codec = new ClusterCodec();
+
+  /**
+   * Tries to authorize a transaction request on the leader of the user's partition.
+   * @param request: An {@link AuthorizationRequest} which contains data for a user's authorization
+   * @return either an {@link AuthorizationResponse}, sent once its event is replicated to a quorum
+   * of the partition's nodes, or {@link Error}.
+   */
+  @PutMapping("/authorization")
+  public ResponseEntity<?> authorization(@RequestBody @Valid AuthorizationRequest request) {
+    try {
+      AuthorizationResponse response = clusterNode.handleAuthorizationRequest(request);
+      return new ResponseEntity<>(response, HttpStatus.CREATED);
+    } catch (Exception e) {
+      Error error = new Error(e.getMessage(),
+          Optional.of(HttpStatus.INTERNAL_SERVER_ERROR.toString()));
+      return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  /**
+   * Tries to load a transaction request on the leader of the user's partition.
+   * @param request: A {@link LoadRequest} which contains data for a user's load
+   * @return either a {@link LoadResponse}, sent once its event is replicated to a quorum of the
+   * partition's nodes, or {@link Error}.
+   */
+  @PutMapping("/load")
+  public ResponseEntity<?> load(@RequestBody @Valid LoadRequest request) {
+    try {
+      LoadResponse response = clusterNode.handleLoadRequest(request);
+      return new ResponseEntity<>(response, HttpStatus.CREATED);
+    } catch (Exception e) {
+      Error error = new Error(e.getMessage(),
+          Optional.of(HttpStatus.INTERNAL_SERVER_ERROR.toString()));
+      return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  /**
+   * GET operation for '/cluster/partitions', the state of this node's partition replicas.
+   * @return a list of {@link PartitionStatus} ordered by partition
+   */
+  @GetMapping("/cluster/partitions")
+  public ResponseEntity<List<PartitionStatus>> partitions() {
+    return new ResponseEntity<>(clusterNode.getPartitionStatus(), HttpStatus.OK);
+  }
+
+  @PutMapping("/cluster/load")
+  public ResponseEntity<LoadResponse> forwardedLoad(@RequestBody LoadRequest request) {
+    return new ResponseEntity<>(clusterNode.handleLoadRequestAsLeader(request), HttpStatus.OK);
+  }
+
+  @PutMapping("/cluster/authorization")
+  public ResponseEntity<AuthorizationResponse> forwardedAuthorization(
+      @RequestBody AuthorizationRequest request) {
+    return new ResponseEntity<>(clusterNode.handleAuthorizationRequestAsLeader(request),
+        HttpStatus.OK);
+  }
+
+  @GetMapping("/cluster/balance")
+  public ResponseEntity<Long> forwardedBalance(@RequestParam String userId) {
+    return new ResponseEntity<>(clusterNode.getBalanceAsLeader(userId), HttpStatus.OK);
+  }
+
+  @PostMapping(value = "/cluster/partitions/{partition}/append", consumes = OCTET_STREAM,
+      produces = OCTET_STREAM)
+  public byte[] append(@PathVariable int partition, @RequestBody byte[] body) {
+    AppendRequest request = codec.decodeAppendRequest(body);
+    checkPartition(partition, request.partition());
+    return codec.encode(clusterNode.append(request));
+  }
+
+  @PostMapping(value = "/cluster/partitions/{partition}/promise", consumes = OCTET_STREAM,
+      produces = OCTET_STREAM)
+  public byte[] promise(@PathVariable int partition, @RequestBody byte[] body) {
+    PromiseRequest request = codec.decodePromiseRequest(body);
+    checkPartition(partition, request.partition());
+    return codec.encode(clusterNode.promise(request));
+  }
+
+  @PostMapping("/cluster/partitions/{partition}/elect")
+  public ResponseEntity<Void> elect(@PathVariable int partition, @RequestParam long epoch) {
+    clusterNode.elect(partition, epoch);
+    return ResponseEntity.ok().build();
+  }
+
+  // Answers a message for a partition this node holds no replica of, or whose body names another
+  // partition than its path, as a bad request.
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ResponseEntity<Error> badRequest(IllegalArgumentException e) {
+    Error error = new Error(e.getMessage(), Optional.of(HttpStatus.BAD_REQUEST.toString()));
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+  }
+
+  // Tells the calling node which epoch to look for the leader at.
+  @ExceptionHandler(NotLeaderException.class)
+  public ResponseEntity<Error> notLeader(NotLeaderException e) {
+    Error error = new Error(e.getMessage(), Optional.of(HttpStatus.CONFLICT.toString()));
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .header(HttpClusterTransport.PARTITION_HEADER, String.valueOf(e.getPartition()))
+        .header(HttpClusterTransport.EPOCH_HEADER, String.valueOf(e.getEpoch()))
+        .body(error);
+  }
+
+  private static void checkPartition(int partition, int requestPartition) {
+    if (requestPartition != partition) {
+      throw new IllegalArgumentException("Message for partition " + requestPartition
+          + " sent to the path of partition " + partition);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.peterso.esledgerbankingserver.controller;
+
+import com.peterso.esledgerbankingserver.model.dto.PipelineStats;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.replica.HttpEventFeed;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.journal.CompactEventCodec;
+import com.peterso.esledgerbankingserver.service.TransactionService;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for the endpoints served from the ledger of this process: the "ledger/pipeline"
+ * admin view and the "ledger/events" feed followed by read replicas.
+ * They are not served in the clustered and sharded modes, where the events and transactions of
+ * each partition or shard live in its own log rather than in this process's ledger.
+ */
+@RestController
+@ConditionalOnProperty(name = {"ledger.cluster.enabled", "ledger.shards.enabled"},
+    havingValue = "false", matchIfMissing = true)
+public class LocalLedgerController {
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private EventStore eventStore;
+
+  private final CompactEventCodec eventCodec = new CompactEventCodec();
+
+  private static final int MAX_FEED_PAGE_SIZE = 10_000;
+
+  /**
+   * GET CRUD operation for '/ledger/pipeline' to show the queue depth, throughput and busiest users
+   * of every partition of the transaction pipeline.
+   * @return a ResponseEntity with a list of {@link PipelineStats}, empty when transactions are
+   * served under the account locks.
+   */
+  @GetMapping("/ledger/pipeline")
+  public ResponseEntity<List<PipelineStats>> pipeline() {
+    return new ResponseEntity<>(transactionService.getPipelineStats(), HttpStatus.OK);
+  }
+
+  /**
+   * GET operation for '/ledger/events', a page of the global event log read by the replicas.
+   * @param fromSequence first sequence to return (inclusive)
+   * @param limit maximum number of events to return, capped at 10000
+   * @return the events as a {@link CompactEventCodec} frame, with the sequence of the log in
+   * the {@link HttpEventFeed#SEQUENCE_HEADER} header
+   */
+  @GetMapping(value = "/ledger/events", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public ResponseEntity<byte[]> events(@RequestParam(defaultValue = "0") long fromSequence,
+      @RequestParam(defaultValue = "1000") int limit) {
+    List<TransactionEvent> events = eventStore.getEventsSince(fromSequence,
+        Math.max(Math.min(limit, MAX_FEED_PAGE_SIZE), 0));
+    // read after the events, so the sequence is never behind them
+    long sequence = eventStore.getSequence();
+    return ResponseEntity.ok()
+        .header(HttpEventFeed.SEQUENCE_HEADER, String.valueOf(sequence))
+        .body(eventCodec.encode(events));
+  }
+}
@@ -0,0 +1,68 @@
+package com.peterso.esledgerbankingserver.controller;
+
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.Error;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.service.TransactionService;
+import jakarta.validation.Valid;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link TransactionController} served by WebFlux when the service
+ * runs as a reactive web application (the "reactive" profile).
+ * Contains PUT operations: '/authorization' and '/load', with the same request, response and
+ * error bodies as the blocking controller. A request only holds an event-loop thread while its
+ * transaction is decided; the response is sent when the event store completes the append.
+ */
+@RestController
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@ConditionalOnProperty(name = "ledger.replica.enabled", havingValue = "false",
+    matchIfMissing = true)
+public class ReactiveTransactionController {
+
+  @Autowired
+  private TransactionService transactionService;
+
+  /**
+   * Tries to authorize a transaction request which is similar to a withdrawal request.
+   * @param request: An {@link AuthorizationRequest} which contains data for a user's authorization
+   * @return either an {@link AuthorizationResponse} or {@link Error}.
+   */
+  @PutMapping("/authorization")
+  public Mono<ResponseEntity<?>> authorization(@RequestBody @Valid AuthorizationRequest request) {
+    return Mono.defer(() -> Mono.fromFuture(
+            transactionService.handleAuthorizationRequestAsync(request)))
+        .<ResponseEntity<?>>map(response -> new ResponseEntity<>(response, HttpStatus.CREATED))
+        .onErrorResume(e -> Mono.just(internalServerError(e)));
+  }
+
+  /**
+   * Tries to load a transaction request which is similar to a deposit request.
+   * @param request: A {@link LoadRequest} which contains data for a user's load
+   * @return either a {@link LoadResponse} or {@link Error}.
+   */
+  @PutMapping("/load")
+  public Mono<ResponseEntity<?>> load(@RequestBody @Valid LoadRequest request) {
+    return Mono.defer(() -> Mono.fromFuture(transactionService.handleLoadRequestAsync(request)))
+        .<ResponseEntity<?>>map(response -> new ResponseEntity<>(response, HttpStatus.CREATED))
+        .onErrorResume(e -> Mono.just(internalServerError(e)));
+  }
+
+  private static ResponseEntity<Error> internalServerError(Throwable e) {
+    Error error = new Error(e.getMessage(),
+        Optional.of(HttpStatus.INTERNAL_SERVER_ERROR.toString()));
+    return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+  }
+}
@@ -0,0 +1,46 @@
+package com.peterso.esledgerbankingserver.controller;
+
+import com.peterso.esledgerbankingserver.model.dto.ReplicaStatus;
+import com.peterso.esledgerbankingserver.replica.ReplicaTailer;
+import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for the '/replica/status' admin view of a read replica (ledger.replica.enabled=true),
+ * whose reads are served by the {@link AccountController} from the replica's own EventStore and
+ * projection as kept up to date by the {@link ReplicaTailer}.
+ */
+@RestController
+@ConditionalOnProperty(name = "ledger.replica.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ReplicaController {
+
+  @Autowired
+  private ReplicaTailer replicaTailer;
+
+  /**
+   * GET operation for '/replica/status', how far this replica is behind the primary.
+   * @return a {@link ReplicaStatus}
+   */
+  @GetMapping("/replica/status")
+  public ResponseEntity<ReplicaStatus> status() {
+    long applied = replicaTailer.getAppliedSequence();
+    long primary = replicaTailer.getPrimarySequence();
+    LocalDateTime lastFetchTime = replicaTailer.getLastFetchTime();
+    ReplicaStatus status = ReplicaStatus.builder()
+        .appliedSequence(applied)
+        .primarySequence(primary)
+        .lag(Math.max(primary - applied, 0))
+        .diverged(replicaTailer.isDiverged())
+        .lastFetchTime(lastFetchTime == null ? null : lastFetchTime.toString())
+        .build();
+    return new ResponseEntity<>(status, HttpStatus.OK);
+  }
+}
@@ -0,0 +1,81 @@
+package com.peterso.esledgerbankingserver.controller;
+
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.Error;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.model.dto.ShardStats;
+import com.peterso.esledgerbankingserver.shard.ShardedLedger;
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for the transaction endpoints in the sharded mode (ledger.shards.enabled=true),
+ * served by the {@link ShardedLedger} instead of the local TransactionService.
+ * Contains PUT operations: '/authorization' and '/load', routed to the shard of their user, and
+ * the '/ledger/shards' admin view.
+ */
+@RestController
+@ConditionalOnProperty(name = "ledger.shards.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ShardController {
+
+  @Autowired
+  private ShardedLedger shardedLedger;
+
+  /**
+   * Tries to authorize a transaction request on the shard of its user.
+   * @param request: An {@link AuthorizationRequest} which contains data for a user's authorization
+   * @return either an {@link AuthorizationResponse} or {@link Error}.
+   */
+  @PutMapping("/authorization")
+  public ResponseEntity<?> authorization(@RequestBody @Valid AuthorizationRequest request) {
+    try {
+      AuthorizationResponse response = shardedLedger.handleAuthorizationRequest(request);
+      return new ResponseEntity<>(response, HttpStatus.CREATED);
+    } catch (Exception e) {
+      Error error = new Error(e.getMessage(),
+          Optional.of(HttpStatus.INTERNAL_SERVER_ERROR.toString()));
+      return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  /**
+   * Tries to load a transaction request on the shard of its user.
+   * @param request: A {@link LoadRequest} which contains data for a user's load
+   * @return either a {@link LoadResponse} or {@link Error}.
+   */
+  @PutMapping("/load")
+  public ResponseEntity<?> load(@RequestBody @Valid LoadRequest request) {
+    try {
+      LoadResponse response = shardedLedger.handleLoadRequest(request);
+      return new ResponseEntity<>(response, HttpStatus.CREATED);
+    } catch (Exception e) {
+      Error error = new Error(e.getMessage(),
+          Optional.of(HttpStatus.INTERNAL_SERVER_ERROR.toString()));
+      return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  /**
+   * GET operation for '/ledger/shards' to show the size of the log, the queue depth, throughput
+   * and busiest users of every shard.
+   * @return a list of {@link ShardStats} ordered by shard
+   */
+  @GetMapping("/ledger/shards")
+  public ResponseEntity<List<ShardStats>> shards() {
+    return new ResponseEntity<>(shardedLedger.getShardStats(), HttpStatus.OK);
+  }
+}
@@ -2,13 +2,23 @@ package com.peterso.esledgerbankingserver.controller;
 
 import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
 import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.BatchItem;
+import com.peterso.esledgerbankingserver.model.dto.BatchItemResult;
 import com.peterso.esledgerbankingserver.model.dto.Error;
 import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
 import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
 import com.peterso.esledgerbankingserver.service.TransactionService;
+import com.peterso.esledgerbankingserver.validation.BatchItemValidator;
 import jakarta.validation.Valid;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -17,14 +27,24 @@ import org.springframework.web.bind.annotation.RestController;
 
 /**
  * Controller for transaction related endpoints in the service.
- * Contains PUT operations: '/authorization' and '/load'
+ * Contains PUT operations: '/authorization', '/load' and '/transactions:batch'
  */
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(name = {"ledger.cluster.enabled", "ledger.replica.enabled",
+    "ledger.shards.enabled"},
+    havingValue = "false", matchIfMissing = true)
 public class TransactionController {
 
   @Autowired
   private TransactionService transactionService;
 
+  @Autowired
+  private BatchItemValidator batchItemValidator;
+
+  @Value("${ledger.batch.max-size:1000}")
+  private int maxBatchSize;
+
   /**
    * Tries to authorize a transaction request which is similar to a withdrawal request.
    * Validates the given request to ensure the data given contains expected data.
@@ -65,4 +85,49 @@ public class TransactionController {
       return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
   }
+
+  /**
+   * Processes an ordered batch of loads and authorizations in one call.
+   * Each item is validated on its own; valid items are applied in order and committed to the
+   * event store as a single append, while invalid items are answered with an error. With the
+   * pipeline enabled (ledger.pipeline.partitions > 0) the valid items are split by partition and
+   * each partition's items are committed as their own append.
+   * @param items: A list of {@link BatchItem}, each holding either a load or an authorization
+   * @return either a list of {@link BatchItemResult} in the same order as the items or an
+   * {@link Error} if the batch itself is too large or couldn't be processed.
+   */
+  @PutMapping("/transactions:batch")
+  public ResponseEntity<?> batch(@RequestBody List<BatchItem> items) {
+    if (items.size() > maxBatchSize) {
+      Error error = new Error("Batch must contain at most " + maxBatchSize + " items",
+          Optional.of(HttpStatus.BAD_REQUEST.toString()));
+      return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    try {
+      // answer invalid items right away and process the valid ones together
+      BatchItemResult[] results = new BatchItemResult[items.size()];
+      List<BatchItem> validItems = new ArrayList<>(items.size());
+      for (int i = 0; i < items.size(); i++) {
+        Optional<Error> error = batchItemValidator.validate(items.get(i));
+        if (error.isPresent()) {
+          results[i] = BatchItemResult.builder().error(error.get()).build();
+        } else {
+          validItems.add(items.get(i));
+        }
+      }
+
+      List<BatchItemResult> processed = transactionService.handleBatch(validItems);
+      for (int i = 0, next = 0; i < results.length; i++) {
+        if (results[i] == null) {
+          results[i] = processed.get(next++);
+        }
+      }
+      return new ResponseEntity<>(Arrays.asList(results), HttpStatus.OK);
+    } catch (Exception e) {
+      Error error = new Error(e.getMessage(),
+          Optional.of(HttpStatus.INTERNAL_SERVER_ERROR.toString()));
+      return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
 }
@@ -0,0 +1,133 @@
+package com.peterso.esledgerbankingserver.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.peterso.esledgerbankingserver.model.dto.BatchItem;
+import com.peterso.esledgerbankingserver.model.dto.BatchItemResult;
+import com.peterso.esledgerbankingserver.model.dto.Error;
+import com.peterso.esledgerbankingserver.service.TransactionService;
+import com.peterso.esledgerbankingserver.validation.BatchItemValidator;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for bulk ingestion of transactions as a stream.
+ * Contains PUT operation: '/transactions:stream'
+ */
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(name = {"ledger.cluster.enabled", "ledger.replica.enabled",
+    "ledger.shards.enabled"},
+    havingValue = "false", matchIfMissing = true)
+public class TransactionStreamController {
+
+  @Autowired
+  private TransactionService transactionService;
+
+  @Autowired
+  private BatchItemValidator batchItemValidator;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Value("${ledger.stream.chunk-size:256}")
+  private int chunkSize;
+
+  /**
+   * Reads newline-delimited JSON {@link BatchItem}s from the request body and writes one
+   * newline-delimited JSON {@link BatchItemResult} per line, in the same order, as it goes.
+   * Lines are read and processed in chunks of at most chunkSize items (a chunk is also processed
+   * as soon as no more input is available), so memory stays bounded whatever the size of the
+   * input. The next chunk is only read once the results of the previous one have been written,
+   * which applies backpressure to a client that reads its results slowly.
+   * @param request whose body holds one item per line
+   * @param response to which the results are streamed
+   * @throws IOException if the request cannot be read or the response cannot be written
+   */
+  @PutMapping(value = "/transactions:stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public void stream(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+    ObjectReader itemReader = objectMapper.readerFor(BatchItem.class);
+    ObjectWriter resultWriter = objectMapper.writerFor(BatchItemResult.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    BufferedReader reader = new BufferedReader(
+        new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+    JsonGenerator generator = objectMapper.getFactory()
+        .createGenerator(response.getOutputStream())
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    generator.setRootValueSeparator(null);
+
+    // results of the current chunk, with a null placeholder for every valid item
+    List<BatchItemResult> results = new ArrayList<>(chunkSize);
+    List<BatchItem> validItems = new ArrayList<>(chunkSize);
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (!line.isBlank()) {
+        Optional<Error> error;
+        BatchItem item = null;
+        try {
+          item = itemReader.readValue(line);
+          error = batchItemValidator.validate(item);
+        } catch (JsonProcessingException e) {
+          error = Optional.of(new Error("Malformed transaction: " + e.getOriginalMessage(),
+              Optional.of(HttpStatus.BAD_REQUEST.toString())));
+        }
+        if (error.isPresent()) {
+          results.add(BatchItemResult.builder().error(error.get()).build());
+        } else {
+          results.add(null);
+          validItems.add(item);
+        }
+      }
+
+      if (results.size() >= chunkSize || (!results.isEmpty() && !reader.ready())) {
+        writeChunk(results, validItems, resultWriter, generator);
+      }
+    }
+    writeChunk(results, validItems, resultWriter, generator);
+  }
+
+  // Processes the valid items of the chunk, writes every result of the chunk and flushes them.
+  private void writeChunk(List<BatchItemResult> results, List<BatchItem> validItems,
+      ObjectWriter resultWriter, JsonGenerator generator) throws IOException {
+    if (results.isEmpty()) {
+      return;
+    }
+
+    List<BatchItemResult> processed = validItems.isEmpty()
+        ? List.of()
+        : transactionService.handleBatch(validItems);
+    int next = 0;
+    for (BatchItemResult result : results) {
+      resultWriter.writeValue(generator, result == null ? processed.get(next++) : result);
+      generator.writeRaw('\n');
+    }
+    generator.flush();
+    results.clear();
+    validItems.clear();
+  }
+}
@@ -0,0 +1,373 @@
+package com.peterso.esledgerbankingserver.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import java.io.IOException;
+
+/**
+ * Jackson module reading and writing the transaction DTOs ({@link LoadRequest},
+ * {@link AuthorizationRequest}, {@link LoadResponse} and {@link AuthorizationResponse}) directly
+ * on the streaming parser and generator, instead of through databind's reflective bean
+ * introspection, Lombok builders and the @JsonCreator of {@link DebitCreditEnum}.
+ * Field names and enum values are written from pre-encoded {@link SerializedString}s, so the
+ * generator copies their UTF-8 bytes instead of encoding them on every response, and are read
+ * from the parser's canonicalized names and character buffer without creating strings. Output
+ * buffers are the ones Jackson recycles between the requests of a thread.
+ * The JSON is the same as databind's: fields in declaration order, nulls written, unknown fields
+ * skipped, scalars accepted for string fields and debitOrCredit matched ignoring case.
+ */
+public class TransactionJsonModule extends SimpleModule {
+
+  private static final SerializedString USER_ID = new SerializedString("userId");
+  private static final SerializedString MESSAGE_ID = new SerializedString("messageId");
+  private static final SerializedString TRANSACTION_AMOUNT =
+      new SerializedString("transactionAmount");
+  private static final SerializedString RESPONSE_CODE = new SerializedString("responseCode");
+  private static final SerializedString BALANCE = new SerializedString("balance");
+  private static final SerializedString AMOUNT = new SerializedString("amount");
+  private static final SerializedString CURRENCY = new SerializedString("currency");
+  private static final SerializedString DEBIT_OR_CREDIT = new SerializedString("debitOrCredit");
+
+  private static final DebitCreditEnum[] DEBIT_CREDIT_TYPES = DebitCreditEnum.values();
+  private static final SerializedString[] DEBIT_CREDIT_VALUES =
+      new SerializedString[DEBIT_CREDIT_TYPES.length];
+  private static final SerializedString[] RESPONSE_CODE_VALUES =
+      new SerializedString[ResponseCodeEnum.values().length];
+
+  static {
+    for (DebitCreditEnum debitOrCredit : DEBIT_CREDIT_TYPES) {
+      DEBIT_CREDIT_VALUES[debitOrCredit.ordinal()] =
+          new SerializedString(debitOrCredit.getDebitCreditType());
+    }
+    for (ResponseCodeEnum responseCode : ResponseCodeEnum.values()) {
+      RESPONSE_CODE_VALUES[responseCode.ordinal()] = new SerializedString(responseCode.name());
+    }
+  }
+
+  public TransactionJsonModule() {
+    super("TransactionJsonModule");
+    addDeserializer(LoadRequest.class, new LoadRequestDeserializer());
+    addDeserializer(AuthorizationRequest.class, new AuthorizationRequestDeserializer());
+    // the responses carry the @Jacksonized builder annotation, which databind would use before
+    // looking at the deserializers of a module, so theirs are set with mix-ins instead
+    setMixInAnnotation(LoadResponse.class, LoadResponseMixin.class);
+    setMixInAnnotation(AuthorizationResponse.class, AuthorizationResponseMixin.class);
+    addSerializer(LoadRequest.class, new LoadRequestSerializer());
+    addSerializer(AuthorizationRequest.class, new AuthorizationRequestSerializer());
+    addSerializer(LoadResponse.class, new LoadResponseSerializer());
+    addSerializer(AuthorizationResponse.class, new AuthorizationResponseSerializer());
+  }
+
+  @JsonDeserialize(using = LoadResponseDeserializer.class)
+  private abstract static class LoadResponseMixin {
+  }
+
+  @JsonDeserialize(using = AuthorizationResponseDeserializer.class)
+  private abstract static class AuthorizationResponseMixin {
+  }
+
+  private static final class LoadRequestDeserializer extends JsonDeserializer<LoadRequest> {
+
+    @Override
+    public LoadRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+      String userId = null;
+      String messageId = null;
+      Amount transactionAmount = null;
+      for (JsonToken token = firstField(p, ctxt, LoadRequest.class);
+          token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+        String name = p.currentName();
+        p.nextToken();
+        switch (name) {
+          case "userId" -> userId = readString(p, ctxt);
+          case "messageId" -> messageId = readString(p, ctxt);
+          case "transactionAmount" -> transactionAmount = readAmount(p, ctxt);
+          default -> p.skipChildren();
+        }
+      }
+      return new LoadRequest(userId, messageId, transactionAmount);
+    }
+  }
+
+  private static final class AuthorizationRequestDeserializer
+      extends JsonDeserializer<AuthorizationRequest> {
+
+    @Override
+    public AuthorizationRequest deserialize(JsonParser p, DeserializationContext ctxt)
+        throws IOException {
+      String userId = null;
+      String messageId = null;
+      Amount transactionAmount = null;
+      for (JsonToken token = firstField(p, ctxt, AuthorizationRequest.class);
+          token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+        String name = p.currentName();
+        p.nextToken();
+        switch (name) {
+          case "userId" -> userId = readString(p, ctxt);
+          case "messageId" -> messageId = readString(p, ctxt);
+          case "transactionAmount" -> transactionAmount = readAmount(p, ctxt);
+          default -> p.skipChildren();
+        }
+      }
+      return new AuthorizationRequest(userId, messageId, transactionAmount);
+    }
+  }
+
+  private static final class LoadResponseDeserializer extends JsonDeserializer<LoadResponse> {
+
+    @Override
+    public LoadResponse deserialize(JsonParser p, DeserializationContext ctxt)
+        throws IOException {
+      LoadResponse.LoadResponseBuilder response = LoadResponse.builder();
+      for (JsonToken token = firstField(p, ctxt, LoadResponse.class);
+          token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+        String name = p.currentName();
+        p.nextToken();
+        switch (name) {
+          case "userId" -> response.userId(readString(p, ctxt));
+          case "messageId" -> response.messageId(readString(p, ctxt));
+          case "balance" -> response.balance(readAmount(p, ctxt));
+          default -> p.skipChildren();
+        }
+      }
+      return response.build();
+    }
+  }
+
+  private static final class AuthorizationResponseDeserializer
+      extends JsonDeserializer<AuthorizationResponse> {
+
+    @Override
+    public AuthorizationResponse deserialize(JsonParser p, DeserializationContext ctxt)
+        throws IOException {
+      AuthorizationResponse.AuthorizationResponseBuilder response =
+          AuthorizationResponse.builder();
+      for (JsonToken token = firstField(p, ctxt, AuthorizationResponse.class);
+          token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+        String name = p.currentName();
+        p.nextToken();
+        switch (name) {
+          case "userId" -> response.userId(readString(p, ctxt));
+          case "messageId" -> response.messageId(readString(p, ctxt));
+          case "responseCode" -> response.responseCode(readResponseCode(p, ctxt));
+          case "balance" -> response.balance(readAmount(p, ctxt));
+          default -> p.skipChildren();
+        }
+      }
+      return response.build();
+    }
+  }
+
+  private static final class LoadRequestSerializer extends JsonSerializer<LoadRequest> {
+
+    @Override
+    public void serialize(LoadRequest value, JsonGenerator gen, SerializerProvider serializers)
+        throws IOException {
+      gen.writeStartObject(value);
+      writeString(gen, USER_ID, value.getUserId());
+      writeString(gen, MESSAGE_ID, value.getMessageId());
+      writeAmount(gen, TRANSACTION_AMOUNT, value.getTransactionAmount());
+      gen.writeEndObject();
+    }
+  }
+
+  private static final class AuthorizationRequestSerializer
+      extends JsonSerializer<AuthorizationRequest> {
+
+    @Override
+    public void serialize(AuthorizationRequest value, JsonGenerator gen,
+        SerializerProvider serializers) throws IOException {
+      gen.writeStartObject(value);
+      writeString(gen, USER_ID, value.getUserId());
+      writeString(gen, MESSAGE_ID, value.getMessageId());
+      writeAmount(gen, TRANSACTION_AMOUNT, value.getTransactionAmount());
+      gen.writeEndObject();
+    }
+  }
+
+  private static final class LoadResponseSerializer extends JsonSerializer<LoadResponse> {
+
+    @Override
+    public void serialize(LoadResponse value, JsonGenerator gen, SerializerProvider serializers)
+        throws IOException {
+      gen.writeStartObject(value);
+      writeString(gen, USER_ID, value.getUserId());
+      writeString(gen, MESSAGE_ID, value.getMessageId());
+      writeAmount(gen, BALANCE, value.getBalance());
+      gen.writeEndObject();
+    }
+  }
+
+  private static final class AuthorizationResponseSerializer
+      extends JsonSerializer<AuthorizationResponse> {
+
+    @Override
+    public void serialize(AuthorizationResponse value, JsonGenerator gen,
+        SerializerProvider serializers) throws IOException {
+      gen.writeStartObject(value);
+      writeString(gen, USER_ID, value.getUserId());
+      writeString(gen, MESSAGE_ID, value.getMessageId());
+      gen.writeFieldName(RESPONSE_CODE);
+      if (value.getResponseCode() == null) {
+        gen.writeNull();
+      } else {
+        gen.writeString(RESPONSE_CODE_VALUES[value.getResponseCode().ordinal()]);
+      }
+      writeAmount(gen, BALANCE, value.getBalance());
+      gen.writeEndObject();
+    }
+  }
+
+  // Moves to the first field of the object the parser is at, returning END_OBJECT if it has
+  // none. The parser is at START_OBJECT, or already at the first field when databind has
+  // buffered the object.
+  private static JsonToken firstField(JsonParser p, DeserializationContext ctxt, Class<?> type)
+      throws IOException {
+    JsonToken token = p.currentToken();
+    if (token == JsonToken.START_OBJECT) {
+      return p.nextToken();
+    }
+    if (token == JsonToken.FIELD_NAME || token == JsonToken.END_OBJECT) {
+      return token;
+    }
+    return (JsonToken) ctxt.handleUnexpectedToken(type, p);
+  }
+
+  // Reads a string field, accepting any scalar like databind's StringDeserializer.
+  private static String readString(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+    JsonToken token = p.currentToken();
+    if (token == JsonToken.VALUE_STRING) {
+      return p.getText();
+    }
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (token.isScalarValue()) {
+      return p.getValueAsString();
+    }
+    return (String) ctxt.handleUnexpectedToken(String.class, p);
+  }
+
+  private static Amount readAmount(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+    if (p.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    String amount = null;
+    String currency = null;
+    DebitCreditEnum debitOrCredit = null;
+    for (JsonToken token = firstField(p, ctxt, Amount.class);
+        token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+      String name = p.currentName();
+      p.nextToken();
+      switch (name) {
+        case "amount" -> amount = readString(p, ctxt);
+        case "currency" -> currency = readString(p, ctxt);
+        case "debitOrCredit" -> debitOrCredit = readDebitOrCredit(p, ctxt);
+        default -> p.skipChildren();
+      }
+    }
+    return new Amount(amount, currency, debitOrCredit);
+  }
+
+  // Matches the value against the enum ignoring case, as DebitCreditEnum.fromString does, on the
+  // parser's character buffer.
+  private static DebitCreditEnum readDebitOrCredit(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+    if (p.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (p.currentToken() == JsonToken.VALUE_STRING) {
+      char[] text = p.getTextCharacters();
+      int offset = p.getTextOffset();
+      int length = p.getTextLength();
+      for (DebitCreditEnum debitOrCredit : DEBIT_CREDIT_TYPES) {
+        if (matches(text, offset, length, debitOrCredit.getDebitCreditType(), true)) {
+          return debitOrCredit;
+        }
+      }
+      return (DebitCreditEnum) ctxt.handleWeirdStringValue(DebitCreditEnum.class, p.getText(),
+          "not one of the values accepted for Enum class: [DEBIT, CREDIT]");
+    }
+    return (DebitCreditEnum) ctxt.handleUnexpectedToken(DebitCreditEnum.class, p);
+  }
+
+  private static ResponseCodeEnum readResponseCode(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+    if (p.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (p.currentToken() == JsonToken.VALUE_STRING) {
+      char[] text = p.getTextCharacters();
+      int offset = p.getTextOffset();
+      int length = p.getTextLength();
+      for (ResponseCodeEnum responseCode : ResponseCodeEnum.values()) {
+        if (matches(text, offset, length, responseCode.name(), false)) {
+          return responseCode;
+        }
+      }
+      return (ResponseCodeEnum) ctxt.handleWeirdStringValue(ResponseCodeEnum.class, p.getText(),
+          "not one of the values accepted for Enum class: [APPROVED, DECLINED]");
+    }
+    return (ResponseCodeEnum) ctxt.handleUnexpectedToken(ResponseCodeEnum.class, p);
+  }
+
+  // Compares characters of the parser's buffer to an upper case value.
+  private static boolean matches(char[] text, int offset, int length, String value,
+      boolean ignoreCase) {
+    if (length != value.length()) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      char c = text[offset + i];
+      if ((ignoreCase ? Character.toUpperCase(c) : c) != value.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void writeString(JsonGenerator gen, SerializedString name, String value)
+      throws IOException {
+    gen.writeFieldName(name);
+    if (value == null) {
+      gen.writeNull();
+    } else {
+      gen.writeString(value);
+    }
+  }
+
+  private static void writeAmount(JsonGenerator gen, SerializedString name, Amount amount)
+      throws IOException {
+    gen.writeFieldName(name);
+    if (amount == null) {
+      gen.writeNull();
+      return;
+    }
+    gen.writeStartObject(amount);
+    writeString(gen, AMOUNT, amount.getAmount());
+    writeString(gen, CURRENCY, amount.getCurrency());
+    gen.writeFieldName(DEBIT_OR_CREDIT);
+    if (amount.getDebitOrCredit() == null) {
+      gen.writeNull();
+    } else {
+      gen.writeString(DEBIT_CREDIT_VALUES[amount.getDebitOrCredit().ordinal()]);
+    }
+    gen.writeEndObject();
+  }
+}
@@ -0,0 +1,50 @@
+package com.peterso.esledgerbankingserver.metrics;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * Validator of the @Valid request bodies that records the duration of every validation in
+ * {@link LedgerMetrics} and otherwise delegates to the application's bean validator.
+ */
+public class TimedValidator implements SmartValidator {
+
+  private final SmartValidator delegate;
+  private final LedgerMetrics metrics;
+
+  public TimedValidator(SmartValidator delegate, LedgerMetrics metrics) {
+    this.delegate = delegate;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public boolean supports(Class<?> clazz) {
+    return delegate.supports(clazz);
+  }
+
+  @Override
+  public void validate(Object target, Errors errors) {
+    long start = System.nanoTime();
+    try {
+      delegate.validate(target, errors);
+    } finally {
+      metrics.recordValidation(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public void validate(Object target, Errors errors, Object... validationHints) {
+    long start = System.nanoTime();
+    try {
+      delegate.validate(target, errors, validationHints);
+    } finally {
+      metrics.recordValidation(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors,
+      Object... validationHints) {
+    delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+  }
+}
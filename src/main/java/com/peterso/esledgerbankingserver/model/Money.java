@@ -0,0 +1,167 @@
+package com.peterso.esledgerbankingserver.model;
+
+/**
+ * Fixed-point representation of monetary amounts used inside the ledger.
+ * Amounts are held as a long of minor units (cents), so balances and comparisons are plain
+ * primitive arithmetic. Amount strings are parsed once when a request enters the service and are
+ * only formatted back to the schema's string form when a response is built.
+ */
+public final class Money {
+
+  /**
+   * Number of decimal places of a monetary amount.
+   */
+  public static final int SCALE = 2;
+
+  /**
+   * Returned by {@link #parseOrInvalid(CharSequence)} when a string is not a valid amount.
+   */
+  public static final long INVALID = Long.MIN_VALUE;
+
+  private static final int MAX_EXPONENT = 64;
+
+  private Money() {
+  }
+
+  /**
+   * Parses a decimal string with at most 2 significant decimals into minor units.
+   * @param value decimal string such as "12.3", "0.05" or "1.2e1"
+   * @return the amount in minor units
+   * @throws NumberFormatException if the string is not a valid amount
+   */
+  public static long parse(CharSequence value) {
+    long minorUnits = parseOrInvalid(value);
+    if (minorUnits == INVALID) {
+      throw new NumberFormatException("Invalid monetary amount: " + value);
+    }
+    return minorUnits;
+  }
+
+  /**
+   * Parses a decimal string into minor units in a single pass over its characters, without
+   * allocating or throwing. The syntax is the one accepted by {@link java.math.BigDecimal}: an
+   * optional sign, digits with an optional decimal point and an optional exponent. Trailing zeros
+   * do not count as decimals, so "1.500" is valid while "1.505" is not.
+   * @param value decimal string
+   * @return the amount in minor units, or {@link #INVALID} if the string is not a number, has more
+   *     than 2 significant decimals or does not fit in a long
+   */
+  public static long parseOrInvalid(CharSequence value) {
+    if (value == null) {
+      return INVALID;
+    }
+    int length = value.length();
+    int index = 0;
+    boolean negative = false;
+    if (index < length && (value.charAt(index) == '-' || value.charAt(index) == '+')) {
+      negative = value.charAt(index) == '-';
+      index++;
+    }
+
+    // the digits are accumulated without their trailing zeros, which are only counted
+    long mantissa = 0;
+    int pendingZeros = 0;
+    int scale = 0;
+    boolean hasDigits = false;
+    boolean hasPoint = false;
+    for (; index < length; index++) {
+      char c = value.charAt(index);
+      if (c >= '0' && c <= '9') {
+        hasDigits = true;
+        if (hasPoint) {
+          scale++;
+        }
+        if (c == '0') {
+          pendingZeros++;
+        } else {
+          mantissa = multiplyByPowerOfTen(mantissa, pendingZeros + 1);
+          if (mantissa == INVALID || mantissa > Long.MAX_VALUE - (c - '0')) {
+            return INVALID;
+          }
+          mantissa += c - '0';
+          pendingZeros = 0;
+        }
+      } else if (c == '.' && !hasPoint) {
+        hasPoint = true;
+      } else if (c == 'e' || c == 'E') {
+        break;
+      } else {
+        return INVALID;
+      }
+    }
+    if (!hasDigits) {
+      return INVALID;
+    }
+
+    int exponent = 0;
+    if (index < length) {
+      index++;
+      boolean negativeExponent = false;
+      if (index < length && (value.charAt(index) == '-' || value.charAt(index) == '+')) {
+        negativeExponent = value.charAt(index) == '-';
+        index++;
+      }
+      if (index == length) {
+        return INVALID;
+      }
+      for (; index < length; index++) {
+        char c = value.charAt(index);
+        if (c < '0' || c > '9') {
+          return INVALID;
+        }
+        exponent = Math.min(exponent * 10 + (c - '0'), 10 * MAX_EXPONENT);
+      }
+      exponent = negativeExponent ? -exponent : exponent;
+    }
+
+    if (mantissa == 0) {
+      return 0;
+    }
+
+    // drop trailing zeros of the fraction, then apply the exponent to the scale
+    int droppedZeros = Math.min(pendingZeros, scale);
+    pendingZeros -= droppedZeros;
+    scale = scale - droppedZeros - exponent;
+    if (scale > SCALE) {
+      return INVALID;
+    }
+    long minorUnits = multiplyByPowerOfTen(mantissa, pendingZeros + SCALE - scale);
+    if (minorUnits == INVALID) {
+      return INVALID;
+    }
+    return negative ? -minorUnits : minorUnits;
+  }
+
+  /**
+   * Formats minor units to the schema's string form with exactly 2 decimals, e.g. "-12.05".
+   * @param minorUnits amount in minor units
+   * @return the formatted amount
+   */
+  public static String format(long minorUnits) {
+    long units = Math.abs(minorUnits / 100);
+    long cents = Math.abs(minorUnits % 100);
+    StringBuilder builder = new StringBuilder(24);
+    if (minorUnits < 0) {
+      builder.append('-');
+    }
+    builder.append(units).append('.');
+    if (cents < 10) {
+      builder.append('0');
+    }
+    return builder.append(cents).toString();
+  }
+
+  // Returns value * 10^power, or INVALID if the result does not fit in a long.
+  private static long multiplyByPowerOfTen(long value, int power) {
+    if (value == 0) {
+      return 0;
+    }
+    for (int i = 0; i < power; i++) {
+      if (value > Long.MAX_VALUE / 10) {
+        return INVALID;
+      }
+      value *= 10;
+    }
+    return value;
+  }
+}
@@ -0,0 +1,24 @@
+package com.peterso.esledgerbankingserver.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Balance of a user read from a balance projection.
+ * Contains the:
+ * userId (String),
+ * balance of the user (Amount),
+ * sequence, number of events of the global log the balance reflects (long)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalance {
+
+  private String userId;
+  private Amount balance;
+  private long sequence;
+}
@@ -0,0 +1,32 @@
+package com.peterso.esledgerbankingserver.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One event of a user's history.
+ * Contains the:
+ * version of the event in the user's stream, starting at 0 (int),
+ * id of the event (String),
+ * createdTime of the event (String),
+ * messageId of the request that made the event (String),
+ * transactionType (LOAD or AUTHORIZATION),
+ * amount of the transaction (Amount), CREDIT for a load and DEBIT for an authorization,
+ * responseCode (APPROVED or DECLINED)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountEvent {
+
+  private int version;
+  private String id;
+  private String createdTime;
+  private String messageId;
+  private TransactionTypeEnum transactionType;
+  private Amount amount;
+  private ResponseCodeEnum responseCode;
+}
@@ -0,0 +1,27 @@
+package com.peterso.esledgerbankingserver.model.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A page of a user's history.
+ * Contains the:
+ * userId (String),
+ * events in stream order (list of AccountEvent),
+ * nextCursor, cursor to ask for to read the following page, null on the last page (String),
+ * sequence, number of events of the global log the history reflects (long)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountEvents {
+
+  private String userId;
+  private List<AccountEvent> events;
+  private String nextCursor;
+  private long sequence;
+}
@@ -1,6 +1,7 @@
 package com.peterso.esledgerbankingserver.model.dto;
 
 import com.peterso.esledgerbankingserver.validation.PosOrZeroMonetaryString;
+import com.peterso.esledgerbankingserver.validation.TransactionRequestValidator;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,7 +22,7 @@ public class Amount {
 
   @PosOrZeroMonetaryString
   private String amount;
-  @NotBlank(message = "currency must not be blank")
+  @NotBlank(message = TransactionRequestValidator.CURRENCY_MESSAGE)
   private String currency;
   @With
   private DebitCreditEnum debitOrCredit;
@@ -0,0 +1,20 @@
+package com.peterso.esledgerbankingserver.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * An item of a batch of transactions. Exactly one of the requests must be set.
+ * Contains the:
+ * load request (LoadRequest) *set for a Load transaction,
+ * authorization request (AuthorizationRequest) *set for an Authorization transaction
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class BatchItem {
+
+  private LoadRequest load;
+  private AuthorizationRequest authorization;
+}
@@ -0,0 +1,27 @@
+package com.peterso.esledgerbankingserver.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The result of an item of a batch of transactions. Exactly one of the fields is set.
+ * Contains the:
+ * load response (LoadResponse) *set when a Load transaction was processed,
+ * authorization response (AuthorizationResponse) *set when an Authorization was processed,
+ * error (Error) *set when the item was rejected, e.g. because it is not valid
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(Include.NON_NULL)
+public class BatchItemResult {
+
+  private LoadResponse load;
+  private AuthorizationResponse authorization;
+  private Error error;
+}
@@ -1,6 +1,7 @@
 package com.peterso.esledgerbankingserver.model.dto;
 
 import com.peterso.esledgerbankingserver.validation.CheckAmountType;
+import com.peterso.esledgerbankingserver.validation.TransactionRequestValidator;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -19,9 +20,9 @@ import lombok.Getter;
 @Builder
 public class LoadRequest {
 
-  @NotBlank(message = "userId must not be blank")
+  @NotBlank(message = TransactionRequestValidator.USER_ID_MESSAGE)
   private String userId;
-  @NotBlank(message = "messageId must not be blank")
+  @NotBlank(message = TransactionRequestValidator.MESSAGE_ID_MESSAGE)
   private String messageId;
   @Valid
   @CheckAmountType(DebitCreditEnum.CREDIT)
@@ -5,6 +5,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 /**
  * The response DTO for a Load transaction following the given Schema.
@@ -15,6 +16,7 @@ import lombok.Data;
  */
 @Data
 @Builder
+@Jacksonized
 public class LoadResponse {
 
   @NotBlank(message = "userId must not be blank")
@@ -0,0 +1,28 @@
+package com.peterso.esledgerbankingserver.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of one node's replica of a cluster partition for the '/cluster/partitions' admin view.
+ * Contains the:
+ * partition index (int),
+ * leader, whether this node leads the partition (boolean),
+ * epoch of the leader the replica follows (long),
+ * length, number of entries in the replica's log (int),
+ * commitIndex, number of entries known to be committed (int)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartitionStatus {
+
+  private int partition;
+  private boolean leader;
+  private long epoch;
+  private int length;
+  private int commitIndex;
+}
@@ -0,0 +1,44 @@
+package com.peterso.esledgerbankingserver.model.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Statistics of one partition of the transaction pipeline for the '/ledger/pipeline' admin view.
+ * Contains the:
+ * partition index (int),
+ * queueDepth, commands published but not processed yet (long),
+ * processedItems, loads and authorizations processed since startup (long),
+ * throughput, items processed per second over the last second (double),
+ * hotAccounts, the busiest users of the last second (list of HotAccount)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PipelineStats {
+
+  private int partition;
+  private long queueDepth;
+  private long processedItems;
+  private double throughput;
+  private List<HotAccount> hotAccounts;
+
+  /**
+   * A user of a partition with its approximate number of items over the last second.
+   * Contains the:
+   * userId (String),
+   * items (long)
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class HotAccount {
+
+    private String userId;
+    private long items;
+  }
+}
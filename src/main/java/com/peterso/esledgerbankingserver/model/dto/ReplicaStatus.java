@@ -0,0 +1,29 @@
+package com.peterso.esledgerbankingserver.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Staleness of a read replica for the '/replica/status' admin view.
+ * Contains the:
+ * appliedSequence, number of events of the primary's log applied to this replica (long),
+ * primarySequence, number of events in the primary's log as of the latest fetch (long),
+ * lag, events of the primary's log not applied yet (long),
+ * diverged, whether the primary's log holds fewer events than this replica's, which then no longer
+ * follows it (boolean),
+ * lastFetchTime, time of the latest successful fetch from the primary (String)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicaStatus {
+
+  private long appliedSequence;
+  private long primarySequence;
+  private long lag;
+  private boolean diverged;
+  private String lastFetchTime;
+}
@@ -0,0 +1,34 @@
+package com.peterso.esledgerbankingserver.model.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Statistics of one shard of a sharded ledger for the '/ledger/shards' admin view.
+ * Contains the:
+ * shard index (int),
+ * sequence, number of events in the shard's own log (long),
+ * accounts, number of users with events in the shard (int),
+ * queueDepth, commands published to the shard but not processed yet (long),
+ * processedItems, loads and authorizations processed since startup (long),
+ * throughput, items processed per second over the last second (double),
+ * hotAccounts, the busiest users of the last second (list of
+ * {@link PipelineStats.HotAccount})
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardStats {
+
+  private int shard;
+  private long sequence;
+  private int accounts;
+  private long queueDepth;
+  private long processedItems;
+  private double throughput;
+  private List<PipelineStats.HotAccount> hotAccounts;
+}
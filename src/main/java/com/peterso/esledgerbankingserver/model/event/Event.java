@@ -1,6 +1,6 @@
 package com.peterso.esledgerbankingserver.model.event;
 
-import java.time.LocalDateTime;
+import com.peterso.esledgerbankingserver.time.LedgerClock;
 import java.util.UUID;
 import lombok.Getter;
 
@@ -9,9 +9,25 @@ import lombok.Getter;
  * Contains a:
  * id (UUID),
  * createdTime (String)
+ * New events take both from the {@link LedgerClock}, so their ids are ordered by creation.
  */
 @Getter
 public abstract class Event {
-  public final UUID id = UUID.randomUUID();
-  public final String createdTime = LocalDateTime.now().toString();
+  public final UUID id;
+  public final String createdTime;
+
+  protected Event() {
+    this(LedgerClock.nextId(), LedgerClock.eventTime());
+  }
+
+  /**
+   * Creates an event with an existing id and createdTime, used when an event is read back from
+   * persistent storage.
+   * @param id of the event
+   * @param createdTime of the event
+   */
+  protected Event(UUID id, String createdTime) {
+    this.id = id;
+    this.createdTime = createdTime;
+  }
 }
@@ -0,0 +1,148 @@
+package com.peterso.esledgerbankingserver.model.event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Conversions between the createdTime of an {@link Event}, a {@link LocalDateTime#toString()}
+ * string, and nanoseconds since the epoch, so that binary formats can hold createdTime as a number
+ * and give back exactly the same string. Both directions work on the characters directly instead
+ * of going through a DateTimeFormatter.
+ */
+public final class EventTimes {
+
+  /**
+   * Returned by {@link #parse(String)} when a string is not in the form it converts.
+   */
+  public static final long INVALID = Long.MIN_VALUE;
+
+  public static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private static final long SECONDS_PER_DAY = 86_400;
+
+  private EventTimes() {
+  }
+
+  /**
+   * Formats nanoseconds since the epoch as LocalDateTime.toString does.
+   * @param epochNanos nanoseconds since the epoch
+   * @return the formatted time
+   */
+  public static String format(long epochNanos) {
+    return format(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+        (int) Math.floorMod(epochNanos, NANOS_PER_SECOND));
+  }
+
+  /**
+   * Parses a time in the exact form LocalDateTime.toString gives for years 1700 to 2199,
+   * uuuu-MM-ddTHH:mm[:ss[.SSS[SSS[SSS]]]] with seconds and fractions only when not zero.
+   * @param value createdTime of an event
+   * @return nanoseconds since the epoch, or {@link #INVALID} for any other string
+   */
+  public static long parse(String value) {
+    int length = value == null ? 0 : value.length();
+    if (length != 16 && length != 19 && length != 23 && length != 26 && length != 29
+        || value.charAt(4) != '-' || value.charAt(7) != '-' || value.charAt(10) != 'T'
+        || value.charAt(13) != ':') {
+      return INVALID;
+    }
+    int year = digits(value, 0, 4);
+    int month = digits(value, 5, 2);
+    int day = digits(value, 8, 2);
+    int hour = digits(value, 11, 2);
+    int minute = digits(value, 14, 2);
+    int second = 0;
+    int nano = 0;
+    if (length > 16) {
+      if (value.charAt(16) != ':') {
+        return INVALID;
+      }
+      second = digits(value, 17, 2);
+      if (length > 19) {
+        if (value.charAt(19) != '.') {
+          return INVALID;
+        }
+        int fraction = digits(value, 20, length - 20);
+        nano = fraction < 0 ? -1 : fraction * (length == 23 ? 1_000_000 : length == 26 ? 1000 : 1);
+      }
+    }
+    if (year < 1700 || year > 2199 || month < 1 || month > 12 || day < 1
+        || day > 28 && day > YearMonth.of(year, month).lengthOfMonth() || hour < 0 || hour > 23
+        || minute < 0 || minute > 59 || second < 0 || second > 59 || nano < 0
+        || timeLength(second, nano) != length) {
+      return INVALID;
+    }
+    long epochSecond = LocalDate.of(year, month, day).toEpochDay() * SECONDS_PER_DAY
+        + hour * 3600L + minute * 60L + second;
+    return epochSecond * NANOS_PER_SECOND + nano;
+  }
+
+  // Returns the decimal value of count digits of the string from the index, or -1.
+  private static int digits(String value, int index, int count) {
+    int result = 0;
+    for (int i = index; i < index + count; i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      result = result * 10 + (c - '0');
+    }
+    return result;
+  }
+
+  /**
+   * Formats a time as LocalDateTime.toString does.
+   * @param epochSecond seconds since the epoch
+   * @param nano nano of second
+   * @return the formatted time
+   */
+  public static String format(long epochSecond, int nano) {
+    LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(epochSecond, SECONDS_PER_DAY));
+    int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+    int year = date.getYear();
+    if (year < 1000 || year > 9999) {
+      return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC).toString();
+    }
+    int second = secondOfDay % 60;
+    int length = timeLength(second, nano);
+    char[] chars = new char[length];
+    put(chars, 0, year, 4);
+    chars[4] = '-';
+    put(chars, 5, date.getMonthValue(), 2);
+    chars[7] = '-';
+    put(chars, 8, date.getDayOfMonth(), 2);
+    chars[10] = 'T';
+    put(chars, 11, secondOfDay / 3600, 2);
+    chars[13] = ':';
+    put(chars, 14, secondOfDay / 60 % 60, 2);
+    if (length > 16) {
+      chars[16] = ':';
+      put(chars, 17, second, 2);
+    }
+    if (length > 19) {
+      chars[19] = '.';
+      put(chars, 20, length == 23 ? nano / 1_000_000 : length == 26 ? nano / 1000 : nano,
+          length - 20);
+    }
+    return new String(chars);
+  }
+
+  // Returns the length of the string LocalDateTime.toString gives for a time with these second and
+  // nano of second, which leaves out a zero second and fraction and writes the fraction in groups
+  // of 3 digits.
+  private static int timeLength(int second, int nano) {
+    return second == 0 && nano == 0 ? 16
+        : nano == 0 ? 19
+        : nano % 1_000_000 == 0 ? 23
+        : nano % 1000 == 0 ? 26 : 29;
+  }
+
+  private static void put(char[] chars, int index, int value, int count) {
+    for (int i = index + count - 1; i >= index; i--) {
+      chars[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+  }
+}
@@ -1,10 +1,10 @@
 package com.peterso.esledgerbankingserver.model.event;
 
-import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.Money;
 import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
 import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
-import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -16,7 +16,8 @@ import lombok.With;
  * userID for the event (String),
  * messageId for the event (String),
  * transactionType of the event (LOAD or AUTHORIZATION),
- * amount of the transaction (Amount),
+ * amount of the transaction in minor units (long, see {@link Money}),
+ * currency of the amount (String),
  * response of the transaction (APPROVED or DECLINED)
  */
 @AllArgsConstructor
@@ -29,8 +30,25 @@ public class TransactionEvent extends Event {
   @NotBlank
   private String messageId;
   private TransactionTypeEnum transactionType;
-  @Valid
-  private Amount amount;
+  private long amount;
+  @NotBlank
+  private String currency;
   @With
   private ResponseCodeEnum response;
-}
\ No newline at end of file
+
+  /**
+   * Restores an event that was read back from persistent storage with its original id and
+   * createdTime.
+   */
+  public TransactionEvent(UUID id, String createdTime, String userId, String messageId,
+      TransactionTypeEnum transactionType, long amount, String currency,
+      ResponseCodeEnum response) {
+    super(id, createdTime);
+    this.userId = userId;
+    this.messageId = messageId;
+    this.transactionType = transactionType;
+    this.amount = amount;
+    this.currency = currency;
+    this.response = response;
+  }
+}
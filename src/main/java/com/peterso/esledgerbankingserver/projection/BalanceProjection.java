@@ -0,0 +1,173 @@
+package com.peterso.esledgerbankingserver.projection;
+
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.snapshot.AccountState;
+import com.peterso.esledgerbankingserver.snapshot.BalanceSnapshot;
+import com.peterso.esledgerbankingserver.snapshot.SnapshotStore;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read model (CQRS projection) of every user's balance in minor units.
+ * The projection is folded incrementally as events are saved so that a balance lookup does not
+ * have to replay the EventStore. When it is created it is recovered from the latest
+ * {@link BalanceSnapshot} plus the events appended after it, or from the whole EventStore when
+ * there is no usable snapshot.
+ */
+@Component
+public class BalanceProjection {
+
+  private final EventStore eventStore;
+  private final SnapshotStore snapshotStore;
+  private final Map<String, AtomicLong> balances = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the projection and rebuilds it from the events already in the given EventStore.
+   * @param eventStore {@link EventStore} to rebuild from
+   */
+  public BalanceProjection(EventStore eventStore) {
+    this(eventStore, null);
+  }
+
+  /**
+   * Creates the projection and recovers it from the latest snapshot and the tail of the given
+   * EventStore.
+   * @param eventStore {@link EventStore} to recover from
+   * @param snapshotStore {@link SnapshotStore} holding the latest snapshot, null when snapshots
+   *                      are disabled
+   */
+  @Autowired
+  public BalanceProjection(EventStore eventStore, @Nullable SnapshotStore snapshotStore) {
+    this.eventStore = eventStore;
+    this.snapshotStore = snapshotStore;
+    Optional<BalanceSnapshot> snapshot = latestSnapshot();
+    if (snapshot.isPresent()) {
+      snapshot.get().getAccounts()
+          .forEach((userId, state) -> balances.put(userId, new AtomicLong(state.getBalance())));
+      eventStore.scan(snapshot.get().getSequence(), eventStore.getSequence(), this::apply);
+    } else {
+      eventStore.scan(0, eventStore.getSequence(), this::apply);
+    }
+  }
+
+  /**
+   * Returns the amount an event adds to the balance of its user: the amount of an approved
+   * load, the negated amount of an approved authorization and zero for a declined event.
+   * @param event {@link TransactionEvent}
+   * @return the signed amount in minor units
+   */
+  public static long signedAmount(TransactionEvent event) {
+    return signedAmount(event.getTransactionType(), event.getAmount(), event.getResponse());
+  }
+
+  /**
+   * Returns the amount an event with these fields adds to the balance of its user.
+   * @param transactionType of the event
+   * @param amount of the event in minor units
+   * @param response of the event
+   * @return the signed amount in minor units
+   */
+  public static long signedAmount(TransactionTypeEnum transactionType, long amount,
+      ResponseCodeEnum response) {
+    if (ResponseCodeEnum.APPROVED != response) {
+      return 0;
+    }
+    return switch (transactionType) {
+      case LOAD -> amount;
+      case AUTHORIZATION -> -amount;
+    };
+  }
+
+  /**
+   * Applies a saved event to the projection. Only approved events change a balance.
+   * @param event {@link TransactionEvent} that was saved in the EventStore
+   */
+  public void apply(TransactionEvent event) {
+    apply(event.getUserId(), event.getTransactionType(), event.getAmount(), event.getResponse());
+  }
+
+  /**
+   * Applies the fields of a saved event to the projection, as visited by
+   * {@link EventStore#scan}. Only approved events change a balance.
+   * @param userId of the event
+   * @param transactionType of the event
+   * @param amount of the event in minor units
+   * @param response of the event
+   */
+  public void apply(String userId, TransactionTypeEnum transactionType, long amount,
+      ResponseCodeEnum response) {
+    if (ResponseCodeEnum.APPROVED != response) {
+      return;
+    }
+    balances.computeIfAbsent(userId, key -> new AtomicLong())
+        .addAndGet(signedAmount(transactionType, amount, response));
+  }
+
+  /**
+   * Takes an applied event back out of the projection, for an event whose append failed after it
+   * was applied.
+   * @param event {@link TransactionEvent} that was applied but not saved
+   */
+  public void revert(TransactionEvent event) {
+    long amount = signedAmount(event);
+    if (amount != 0) {
+      balances.computeIfAbsent(event.getUserId(), key -> new AtomicLong()).addAndGet(-amount);
+    }
+  }
+
+  /**
+   * Returns the current balance of the given user, or zero if the user has no approved events.
+   * @param userId
+   * @return the balance of the user in minor units
+   */
+  public long getBalance(String userId) {
+    AtomicLong balance = balances.get(userId);
+    return balance == null ? 0 : balance.get();
+  }
+
+  /**
+   * Discards the current state and folds the given events into the projection.
+   * @param events list of {@link TransactionEvent} in the order they were saved
+   */
+  public void rebuild(List<TransactionEvent> events) {
+    balances.clear();
+    events.forEach(this::apply);
+  }
+
+  /**
+   * Recomputes the balance of a single user from the latest snapshot and the tail of that user's
+   * stream in the EventStore, without touching the events of any other user.
+   * @param userId
+   * @return the rehydrated balance of the user in minor units
+   */
+  public long rehydrate(String userId) {
+    AccountState state = latestSnapshot()
+        .map(snapshot -> snapshot.getAccounts().get(userId))
+        .orElse(null);
+    long balance = state == null ? 0 : state.getBalance();
+    int version = state == null ? 0 : state.getVersion();
+    for (TransactionEvent event : eventStore.getEvents(userId, version)) {
+      balance += signedAmount(event);
+    }
+    balances.put(userId, new AtomicLong(balance));
+    return balance;
+  }
+
+  // A snapshot is only usable if it does not cover more events than the EventStore holds.
+  private Optional<BalanceSnapshot> latestSnapshot() {
+    if (snapshotStore == null) {
+      return Optional.empty();
+    }
+    return snapshotStore.latest()
+        .filter(snapshot -> snapshot.getSequence() <= eventStore.getSequence());
+  }
+}
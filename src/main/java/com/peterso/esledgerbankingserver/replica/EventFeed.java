@@ -0,0 +1,26 @@
+package com.peterso.esledgerbankingserver.replica;
+
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import java.util.List;
+
+/**
+ * Source of the global event log of the primary that a {@link ReplicaTailer} follows.
+ */
+public interface EventFeed {
+
+  /**
+   * Returns the events of the primary's global log starting at the given sequence.
+   * @param fromSequence first sequence to return (inclusive)
+   * @param limit maximum number of events to return
+   * @return the events and the sequence of the primary's log when they were read
+   */
+  Page fetch(long fromSequence, int limit);
+
+  /**
+   * A page of the primary's global log.
+   * @param events in log order, empty when the replica is up to date
+   * @param sequence of the primary's log, the number of events it held when the page was read
+   */
+  record Page(List<TransactionEvent> events, long sequence) {
+  }
+}
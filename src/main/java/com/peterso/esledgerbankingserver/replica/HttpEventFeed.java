@@ -0,0 +1,65 @@
+package com.peterso.esledgerbankingserver.replica;
+
+import com.peterso.esledgerbankingserver.repository.journal.CompactEventCodec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * {@link EventFeed} reading the GET '/ledger/events' endpoint of a primary given by its base url.
+ * The page is a {@link CompactEventCodec} frame and the sequence of the primary's log is sent
+ * in the {@link #SEQUENCE_HEADER} header.
+ */
+public class HttpEventFeed implements EventFeed {
+
+  public static final String SEQUENCE_HEADER = "Ledger-Sequence";
+
+  private final HttpClient client;
+  private final String primaryUrl;
+  private final Duration timeout;
+  private final CompactEventCodec codec = new CompactEventCodec();
+
+  /**
+   * Creates the feed.
+   * @param primaryUrl base url of the primary
+   * @param timeout of every call to the primary
+   */
+  public HttpEventFeed(String primaryUrl, Duration timeout) {
+    this.client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(timeout)
+        .build();
+    this.primaryUrl = primaryUrl;
+    this.timeout = timeout;
+  }
+
+  @Override
+  public Page fetch(long fromSequence, int limit) {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(primaryUrl
+            + "/ledger/events?fromSequence=" + fromSequence + "&limit=" + limit))
+        .timeout(timeout)
+        .GET()
+        .build();
+    HttpResponse<byte[]> response;
+    try {
+      response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to reach the primary " + primaryUrl, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while reading from " + primaryUrl, e);
+    }
+
+    if (response.statusCode() / 100 != 2) {
+      throw new IllegalStateException("Primary " + primaryUrl + " answered "
+          + response.statusCode() + ": " + new String(response.body(), StandardCharsets.UTF_8));
+    }
+    return new Page(codec.decode(response.body()),
+        Long.parseLong(response.headers().firstValue(SEQUENCE_HEADER).orElse("0")));
+  }
+}
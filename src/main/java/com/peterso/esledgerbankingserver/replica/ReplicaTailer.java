@@ -0,0 +1,151 @@
+package com.peterso.esledgerbankingserver.replica;
+
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a read replica up to date with the global event log of the primary.
+ * On a background thread the tailer fetches the events appended to the primary since the local
+ * EventStore's sequence, saves them in the local EventStore and folds them into the local
+ * {@link BalanceProjection}, so that reads on the replica never reach the primary. The sequence
+ * of the last applied event is published once the projection includes it, and is reported with
+ * every read as its staleness.
+ * If the primary's log ever holds fewer events than the local one, as after the primary lost the
+ * tail of its log, the two logs have diverged: the tailer stops applying events, since the offsets
+ * it would fetch from no longer match the primary's, and reports the divergence until the replica
+ * is rebuilt from an empty log.
+ * Enabled with ledger.replica.enabled=true.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ledger.replica.enabled", havingValue = "true")
+public class ReplicaTailer {
+
+  private final EventStore eventStore;
+  private final BalanceProjection balanceProjection;
+  private final EventFeed eventFeed;
+  private final Duration pollInterval;
+  private final int batchSize;
+  private ScheduledExecutorService scheduler;
+  private volatile long appliedSequence;
+  private volatile long primarySequence;
+  private volatile boolean diverged;
+  private volatile LocalDateTime lastFetchTime;
+
+  @Autowired
+  public ReplicaTailer(EventStore eventStore, BalanceProjection balanceProjection,
+      EventFeed eventFeed,
+      @Value("${ledger.replica.poll-interval:100ms}") Duration pollInterval,
+      @Value("${ledger.replica.batch-size:10000}") int batchSize) {
+    this.eventStore = eventStore;
+    this.balanceProjection = balanceProjection;
+    this.eventFeed = eventFeed;
+    this.pollInterval = pollInterval;
+    this.batchSize = batchSize;
+    this.appliedSequence = eventStore.getSequence();
+    this.primarySequence = appliedSequence;
+  }
+
+  @PostConstruct
+  public void start() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "replica-tailer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(() -> {
+      try {
+        catchUp();
+      } catch (Exception e) {
+        log.warn("Unable to read the event log of the primary", e);
+      }
+    }, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    scheduler.shutdownNow();
+    scheduler.awaitTermination(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Fetches and applies pages of the primary's log until a page is not full, or until the primary
+   * is found to hold fewer events than this replica.
+   * @return the number of events applied
+   */
+  public long catchUp() {
+    long applied = 0;
+    while (true) {
+      long localSequence = eventStore.getSequence();
+      EventFeed.Page page = eventFeed.fetch(localSequence, batchSize);
+      lastFetchTime = LocalDateTime.now();
+      primarySequence = page.sequence();
+      if (diverged || page.sequence() < localSequence) {
+        if (!diverged) {
+          log.error("The primary's log holds {} events, fewer than the {} of this replica; "
+              + "no longer applying its events", page.sequence(), localSequence);
+        }
+        diverged = true;
+        return applied;
+      }
+      List<TransactionEvent> events = page.events();
+      if (!events.isEmpty()) {
+        eventStore.saveEvents(events);
+        events.forEach(balanceProjection::apply);
+        applied += events.size();
+      }
+      appliedSequence = eventStore.getSequence();
+      if (events.size() < batchSize) {
+        return applied;
+      }
+    }
+  }
+
+  /**
+   * Returns the sequence of the local log once the projection includes every event of it, the
+   * number of events of the primary's log that reads on this replica reflect.
+   * @return the last applied sequence
+   */
+  public long getAppliedSequence() {
+    return appliedSequence;
+  }
+
+  /**
+   * Returns the sequence of the primary's log as of the latest fetch.
+   * @return the primary's sequence
+   */
+  public long getPrimarySequence() {
+    return primarySequence;
+  }
+
+  /**
+   * Returns whether the primary's log was found to hold fewer events than this replica's, in which
+   * case the replica no longer follows it.
+   * @return true once the logs have diverged
+   */
+  public boolean isDiverged() {
+    return diverged;
+  }
+
+  /**
+   * Returns the time of the latest successful fetch from the primary.
+   * @return the fetch time, null if the primary was never reached
+   */
+  public LocalDateTime getLastFetchTime() {
+    return lastFetchTime;
+  }
+}
@@ -0,0 +1,10 @@
+package com.peterso.esledgerbankingserver.repository;
+
+/**
+ * Where the first event of an append was stored. The other events of the append follow it at the
+ * next sequences and stream versions.
+ * @param sequence of the event in the global log, starting at 0
+ * @param streamVersion of the event in its user's stream, starting at 0
+ */
+public record EventPosition(long sequence, int streamVersion) {
+}
@@ -1,11 +1,18 @@
 package com.peterso.esledgerbankingserver.repository;
 
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
 import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.stereotype.Repository;
 
 /**
  * Interface for the EventStore repository.
+ * Events are kept in a global log and are also partitioned by userId into per-user streams.
+ * The sequence of the global log is the number of events in it, so the first event is at
+ * sequence 0. In the same way, the version of a stream is the number of events in it.
  */
 @Repository
 public interface EventStore {
@@ -16,9 +23,167 @@ public interface EventStore {
    */
   void saveEvent(TransactionEvent event);
 
+  /**
+   * Stores the events in the repository as a single append, in the given order.
+   * @param events to save
+   */
+  default void saveEvents(List<TransactionEvent> events) {
+    events.forEach(this::saveEvent);
+  }
+
+  /**
+   * Stores the events in the repository as a single append, in the given order, without waiting
+   * for the append to complete. Appends are completed in the order they were made.
+   * @param events to save
+   * @return future completed once the events are saved, or completed exceptionally if they could
+   * not be saved
+   */
+  default CompletableFuture<Void> saveEventsAsync(List<TransactionEvent> events) {
+    try {
+      saveEvents(events);
+      return CompletableFuture.completedFuture(null);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * Stores the events of one user as a single append if the user's stream is still at the
+   * expected version, so concurrent writers of a stream can check for conflicts instead of
+   * holding a lock while they decide what to append. The check and the append are atomic.
+   * @param userId of the stream, the userId of every event
+   * @param expectedVersion version of the stream the events were decided on, 0 for a new stream
+   * @param events to save, in order
+   * @return the {@link EventPosition} of the first event
+   * @throws WrongExpectedVersionException if the stream is not at the expected version, in which
+   * case nothing is saved
+   * @throws IllegalArgumentException if an event belongs to another user
+   */
+  EventPosition append(String userId, int expectedVersion, List<TransactionEvent> events);
+
   /**
    * Returns a list of events representative of the eventStore.
    * @return
    */
   List<TransactionEvent> getEventStore();
+
+  /**
+   * Returns the events of the global log starting at the given sequence.
+   * @param fromSequence first sequence to return (inclusive)
+   * @return list of {@link TransactionEvent}, empty if there are no events since the sequence
+   */
+  List<TransactionEvent> getEventsSince(long fromSequence);
+
+  /**
+   * Returns at most limit events of the global log starting at the given sequence.
+   * @param fromSequence first sequence to return (inclusive)
+   * @param limit maximum number of events to return
+   * @return list of {@link TransactionEvent}, empty if there are no events since the sequence
+   */
+  default List<TransactionEvent> getEventsSince(long fromSequence, int limit) {
+    List<TransactionEvent> events = getEventsSince(fromSequence);
+    return events.size() > limit ? events.subList(0, limit) : events;
+  }
+
+  /**
+   * Visits the events of the global log from fromSequence (inclusive) to toSequence (exclusive)
+   * in order, passing only the fields a balance projection folds. A store may do so without
+   * creating any {@link TransactionEvent}.
+   * @param fromSequence first sequence to visit (inclusive)
+   * @param toSequence last sequence to visit (exclusive), at most the current sequence
+   * @param scanner {@link EventScanner} called for every event
+   */
+  default void scan(long fromSequence, long toSequence, EventScanner scanner) {
+    for (TransactionEvent event : getEventsSince(fromSequence,
+        (int) Math.min(Math.max(toSequence - fromSequence, 0), Integer.MAX_VALUE))) {
+      scanner.accept(event.getUserId(), event.getTransactionType(), event.getAmount(),
+          event.getResponse());
+    }
+  }
+
+  /**
+   * Returns the current sequence of the global log, which is its number of events.
+   * @return the sequence of the global log
+   */
+  long getSequence();
+
+  /**
+   * Returns every event of the given user in the order they were saved.
+   * @param userId of the stream
+   * @return list of {@link TransactionEvent}, empty if the user has no events
+   */
+  default List<TransactionEvent> getEvents(String userId) {
+    return getEvents(userId, 0);
+  }
+
+  /**
+   * Returns the events of the given user starting at the given stream version.
+   * @param userId of the stream
+   * @param fromVersion first version to return (inclusive)
+   * @return list of {@link TransactionEvent}, empty if there are no events since the version
+   */
+  List<TransactionEvent> getEvents(String userId, int fromVersion);
+
+  /**
+   * Returns at most limit events of the given user starting at the given stream version.
+   * @param userId of the stream
+   * @param fromVersion first version to return (inclusive)
+   * @param limit maximum number of events to return
+   * @return list of {@link TransactionEvent}, empty if there are no events since the version
+   */
+  default List<TransactionEvent> getEvents(String userId, int fromVersion, int limit) {
+    List<TransactionEvent> events = getEvents(userId, fromVersion);
+    return events.size() > limit ? events.subList(0, limit) : events;
+  }
+
+  /**
+   * Returns the stream versions of at most limit events of the given type of the given user,
+   * starting at the given stream version.
+   * @param userId of the stream
+   * @param transactionType of the events
+   * @param fromVersion first version to consider (inclusive)
+   * @param limit maximum number of versions to return
+   * @return the versions in increasing order, empty if there are no such events
+   */
+  default int[] findVersions(String userId, TransactionTypeEnum transactionType,
+      int fromVersion, int limit) {
+    List<TransactionEvent> events = getEvents(userId, fromVersion);
+    int[] versions = new int[Math.min(events.size(), limit)];
+    int count = 0;
+    for (int i = 0; i < events.size() && count < limit; i++) {
+      if (events.get(i).getTransactionType() == transactionType) {
+        versions[count++] = fromVersion + i;
+      }
+    }
+    return Arrays.copyOf(versions, count);
+  }
+
+  /**
+   * Returns the current version of the given user's stream, which is its number of events.
+   * @param userId of the stream
+   * @return the stream version, 0 if the user has no events
+   */
+  int getStreamVersion(String userId);
+
+  /**
+   * Returns the number of user streams, which is the number of distinct userIds with events.
+   * @return the number of streams
+   */
+  int getStreamCount();
+
+  /**
+   * Returns the version of the longest user stream.
+   * @return the largest stream version, 0 if there are no events
+   */
+  int getMaxStreamVersion();
+
+  /**
+   * Receives the fields of the events visited by {@link #scan(long, long, EventScanner)}.
+   */
+  @FunctionalInterface
+  interface EventScanner {
+
+    void accept(String userId, TransactionTypeEnum transactionType, long amount,
+        ResponseCodeEnum response);
+  }
 }
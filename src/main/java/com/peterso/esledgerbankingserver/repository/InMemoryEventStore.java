@@ -1,24 +1,240 @@
 package com.peterso.esledgerbankingserver.repository;
 
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
 import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
-import lombok.Getter;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import lombok.NoArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 /**
- * An in-memory event store represented by an ArrayList.
+ * An in-memory event store represented by a global ArrayList and an append-only ArrayList per
+ * user, so that reads for a single user only touch that user's events. Each user's stream also
+ * indexes the versions of its events by transaction type, so a page of one type is found without
+ * scanning the events of the other.
+ * Appends are guarded by a write lock and reads return copies taken under a read lock, so the
+ * store can be shared between request threads. A conditional append checks the version of the
+ * stream under the same write lock.
+ * This is the default store, selected with ledger.event-store.type=memory.
  */
 @Repository
-@Getter
+@ConditionalOnProperty(name = "ledger.event-store.type", havingValue = "memory",
+    matchIfMissing = true)
 @NoArgsConstructor
 public class InMemoryEventStore implements EventStore {
 
   private final List<TransactionEvent> eventStore = new ArrayList<>();
+  private final Map<String, Stream> streams = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private int maxStreamVersion;
 
   @Override
   public void saveEvent(TransactionEvent event) {
+    lock.writeLock().lock();
+    try {
+      append(event);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void saveEvents(List<TransactionEvent> events) {
+    lock.writeLock().lock();
+    try {
+      for (TransactionEvent event : events) {
+        append(event);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public EventPosition append(String userId, int expectedVersion, List<TransactionEvent> events) {
+    for (TransactionEvent event : events) {
+      if (!Objects.equals(event.getUserId(), userId)) {
+        throw new IllegalArgumentException("Event of user " + event.getUserId()
+            + " appended to the stream of user " + userId);
+      }
+    }
+    lock.writeLock().lock();
+    try {
+      Stream stream = streams.get(userId);
+      int version = stream == null ? 0 : stream.events.size();
+      if (version != expectedVersion) {
+        throw new WrongExpectedVersionException(userId, expectedVersion, version);
+      }
+      EventPosition position = new EventPosition(eventStore.size(), version);
+      for (TransactionEvent event : events) {
+        append(event);
+      }
+      return position;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public List<TransactionEvent> getEventStore() {
+    lock.readLock().lock();
+    try {
+      return List.copyOf(eventStore);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<TransactionEvent> getEventsSince(long fromSequence) {
+    lock.readLock().lock();
+    try {
+      if (fromSequence >= eventStore.size()) {
+        return List.of();
+      }
+      return List.copyOf(eventStore.subList((int) Math.max(fromSequence, 0), eventStore.size()));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<TransactionEvent> getEventsSince(long fromSequence, int limit) {
+    lock.readLock().lock();
+    try {
+      if (fromSequence >= eventStore.size()) {
+        return List.of();
+      }
+      int from = (int) Math.max(fromSequence, 0);
+      return List.copyOf(eventStore.subList(from,
+          (int) Math.min((long) from + limit, eventStore.size())));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public long getSequence() {
+    lock.readLock().lock();
+    try {
+      return eventStore.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<TransactionEvent> getEvents(String userId, int fromVersion) {
+    return getEvents(userId, fromVersion, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<TransactionEvent> getEvents(String userId, int fromVersion, int limit) {
+    lock.readLock().lock();
+    try {
+      Stream stream = streams.get(userId);
+      if (stream == null || fromVersion >= stream.events.size()) {
+        return List.of();
+      }
+      int from = Math.max(fromVersion, 0);
+      return List.copyOf(stream.events.subList(from,
+          (int) Math.min((long) from + limit, stream.events.size())));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int[] findVersions(String userId, TransactionTypeEnum transactionType,
+      int fromVersion, int limit) {
+    lock.readLock().lock();
+    try {
+      Stream stream = streams.get(userId);
+      VersionList versions = stream == null ? null : stream.versionsByType.get(transactionType);
+      if (versions == null) {
+        return new int[0];
+      }
+      int from = Arrays.binarySearch(versions.versions, 0, versions.size, fromVersion);
+      if (from < 0) {
+        from = -from - 1;
+      }
+      return Arrays.copyOfRange(versions.versions, from,
+          (int) Math.min((long) from + limit, versions.size));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int getStreamVersion(String userId) {
+    lock.readLock().lock();
+    try {
+      Stream stream = streams.get(userId);
+      return stream == null ? 0 : stream.events.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int getStreamCount() {
+    lock.readLock().lock();
+    try {
+      return streams.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int getMaxStreamVersion() {
+    lock.readLock().lock();
+    try {
+      return maxStreamVersion;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // Must be called under the write lock.
+  private void append(TransactionEvent event) {
+    Stream stream = streams.computeIfAbsent(event.getUserId(), userId -> new Stream());
     eventStore.add(event);
+    if (event.getTransactionType() != null) {
+      stream.versionsByType.computeIfAbsent(event.getTransactionType(),
+          transactionType -> new VersionList()).add(stream.events.size());
+    }
+    stream.events.add(event);
+    maxStreamVersion = Math.max(maxStreamVersion, stream.events.size());
+  }
+
+  // The events of one user and the versions of its events of each transaction type.
+  private static final class Stream {
+
+    private final List<TransactionEvent> events = new ArrayList<>();
+    private final Map<TransactionTypeEnum, VersionList> versionsByType =
+        new EnumMap<>(TransactionTypeEnum.class);
+  }
+
+  // Growable array of increasing stream versions.
+  private static final class VersionList {
+
+    private int[] versions = new int[8];
+    private int size;
+
+    private void add(int version) {
+      if (size == versions.length) {
+        versions = Arrays.copyOf(versions, size * 2);
+      }
+      versions[size++] = version;
+    }
   }
 }
@@ -0,0 +1,65 @@
+package com.peterso.esledgerbankingserver.repository;
+
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the events handed to a background writer that are not visible in the store yet, in all
+ * and per user, so a store that writes in the background can check a conditional append against
+ * the version the stream will have once they are written.
+ * Not thread-safe, the store guards it with the lock it checks versions under.
+ */
+public final class PendingEvents {
+
+  private final Map<String, Integer> counts = new HashMap<>();
+  private long size;
+
+  /**
+   * Counts events handed to the writer.
+   * @param events list of {@link TransactionEvent}
+   */
+  public void add(List<TransactionEvent> events) {
+    for (TransactionEvent event : events) {
+      counts.merge(event.getUserId(), 1, Integer::sum);
+    }
+    size += events.size();
+  }
+
+  /**
+   * Stops counting events that were written or failed.
+   * @param events list of {@link TransactionEvent} previously added
+   */
+  public void remove(List<TransactionEvent> events) {
+    for (TransactionEvent event : events) {
+      counts.computeIfPresent(event.getUserId(), (userId, count) -> count > 1 ? count - 1 : null);
+    }
+    size -= events.size();
+  }
+
+  /**
+   * Returns the number of pending events of the given user.
+   * @param userId of the stream
+   * @return the number of events, 0 if none is pending
+   */
+  public int count(String userId) {
+    return counts.getOrDefault(userId, 0);
+  }
+
+  /**
+   * Returns the number of pending events.
+   * @return the number of events
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Forgets every pending event.
+   */
+  public void clear() {
+    counts.clear();
+    size = 0;
+  }
+}
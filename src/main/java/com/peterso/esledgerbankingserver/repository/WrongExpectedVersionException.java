@@ -0,0 +1,24 @@
+package com.peterso.esledgerbankingserver.repository;
+
+import lombok.Getter;
+
+/**
+ * Thrown by {@link EventStore#append(String, int, java.util.List)} when the stream of the user was
+ * appended to since the writer read it. Holds the current version, so the writer can read the
+ * events it missed and retry.
+ */
+@Getter
+public class WrongExpectedVersionException extends RuntimeException {
+
+  private final String userId;
+  private final int expectedVersion;
+  private final int actualVersion;
+
+  public WrongExpectedVersionException(String userId, int expectedVersion, int actualVersion) {
+    super("Stream of user " + userId + " is at version " + actualVersion + ", expected "
+        + expectedVersion);
+    this.userId = userId;
+    this.expectedVersion = expectedVersion;
+    this.actualVersion = actualVersion;
+  }
+}
@@ -0,0 +1,427 @@
+package com.peterso.esledgerbankingserver.repository.columnar;
+
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.EventTimes;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.repository.EventPosition;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.WrongExpectedVersionException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * An in-memory event store for very large ledgers that keeps events in off-heap, column-oriented
+ * buffers instead of as objects: one {@link OffHeapColumn} each for the id, createdTime (as
+ * nanoseconds since the epoch), user ordinal, transaction type and response, amount in minor
+ * units, currency ordinal and the offset of the messageId in an {@link OffHeapStrings} heap.
+ * userIds and currencies are interned to ordinals, and the only per-event data on the heap are
+ * the int indexes of each user's stream and of its versions by transaction type.
+ * Scans for projections iterate the columns without creating any {@link TransactionEvent}; an
+ * event is only materialized when a list returned by the store is read, and lists of the global
+ * log are views of the columns rather than copies.
+ * Appends are guarded by a write lock, under which a conditional append also checks the version
+ * of the stream, and reads by a read lock. The store holds at most Integer.MAX_VALUE events and
+ * its buffers count towards -XX:MaxDirectMemorySize.
+ * Selected with ledger.event-store.type=columnar.
+ */
+@Repository
+@ConditionalOnProperty(name = "ledger.event-store.type", havingValue = "columnar")
+public class ColumnarEventStore implements EventStore {
+
+  private static final TransactionTypeEnum[] TRANSACTION_TYPES = TransactionTypeEnum.values();
+  private static final ResponseCodeEnum[] RESPONSE_CODES = ResponseCodeEnum.values();
+  private static final int RESPONSE_SHIFT = 4;
+  private static final int ORDINAL_MASK = 0xF;
+  private static final int NONE = -1;
+  private static final int SCAN_BATCH_SIZE = 4096;
+  private static final int STRINGS_CHUNK_SIZE = 16 * 1024 * 1024;
+
+  private final OffHeapColumn ids;
+  private final OffHeapColumn times;
+  private final OffHeapColumn users;
+  private final OffHeapColumn types;
+  private final OffHeapColumn amounts;
+  private final OffHeapColumn currencies;
+  private final OffHeapColumn messages;
+  private final OffHeapStrings messageIds = new OffHeapStrings(STRINGS_CHUNK_SIZE);
+  // createdTimes that are not in the LocalDateTime.toString form, by sequence
+  private final Map<Integer, String> irregularTimes = new HashMap<>();
+  private final Map<String, Integer> ordinals = new HashMap<>();
+  private final List<String> names = new ArrayList<>();
+  // the stream of every user, by the ordinal of its userId
+  private final List<Stream> streams = new ArrayList<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private int size;
+  private int streamCount;
+  private int maxStreamVersion;
+
+  /**
+   * Creates an empty store.
+   * @param chunkSize number of events in one direct buffer of a column, rounded up to a power of
+   * two
+   */
+  @Autowired
+  public ColumnarEventStore(@Value("${ledger.columnar.chunk-size:1048576}") int chunkSize) {
+    int roundedChunkSize = Integer.highestOneBit(Math.max(chunkSize - 1, 1)) << 1;
+    ids = new OffHeapColumn(2 * Long.BYTES, roundedChunkSize);
+    times = new OffHeapColumn(Long.BYTES, roundedChunkSize);
+    users = new OffHeapColumn(Integer.BYTES, roundedChunkSize);
+    types = new OffHeapColumn(Byte.BYTES, roundedChunkSize);
+    amounts = new OffHeapColumn(Long.BYTES, roundedChunkSize);
+    currencies = new OffHeapColumn(Integer.BYTES, roundedChunkSize);
+    messages = new OffHeapColumn(Long.BYTES, roundedChunkSize);
+  }
+
+  @Override
+  public void saveEvent(TransactionEvent event) {
+    lock.writeLock().lock();
+    try {
+      append(event);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void saveEvents(List<TransactionEvent> events) {
+    lock.writeLock().lock();
+    try {
+      for (TransactionEvent event : events) {
+        append(event);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public EventPosition append(String userId, int expectedVersion, List<TransactionEvent> events) {
+    for (TransactionEvent event : events) {
+      if (!Objects.equals(event.getUserId(), userId)) {
+        throw new IllegalArgumentException("Event of user " + event.getUserId()
+            + " appended to the stream of user " + userId);
+      }
+    }
+    lock.writeLock().lock();
+    try {
+      Stream stream = stream(userId);
+      int version = stream == null ? 0 : stream.sequences.size;
+      if (version != expectedVersion) {
+        throw new WrongExpectedVersionException(userId, expectedVersion, version);
+      }
+      EventPosition position = new EventPosition(size, version);
+      for (TransactionEvent event : events) {
+        append(event);
+      }
+      return position;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public List<TransactionEvent> getEventStore() {
+    return getEventsSince(0);
+  }
+
+  @Override
+  public List<TransactionEvent> getEventsSince(long fromSequence) {
+    return getEventsSince(fromSequence, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<TransactionEvent> getEventsSince(long fromSequence, int limit) {
+    lock.readLock().lock();
+    try {
+      if (fromSequence >= size) {
+        return List.of();
+      }
+      int from = (int) Math.max(fromSequence, 0);
+      return new EventView(from, (int) Math.min((long) from + limit, size));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void scan(long fromSequence, long toSequence, EventScanner scanner) {
+    long sequence = Math.max(fromSequence, 0);
+    while (sequence < toSequence) {
+      // the lock is released between batches so that a long scan does not hold up appends
+      lock.readLock().lock();
+      try {
+        long end = Math.min(Math.min(toSequence, size), sequence + SCAN_BATCH_SIZE);
+        if (sequence >= end) {
+          return;
+        }
+        for (; sequence < end; sequence++) {
+          int flags = types.getByte(sequence);
+          scanner.accept(name(users.getInt(sequence)), transactionType(flags),
+              amounts.getLong(sequence), response(flags));
+        }
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+  }
+
+  @Override
+  public long getSequence() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<TransactionEvent> getEvents(String userId, int fromVersion) {
+    return getEvents(userId, fromVersion, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<TransactionEvent> getEvents(String userId, int fromVersion, int limit) {
+    lock.readLock().lock();
+    try {
+      Stream stream = stream(userId);
+      if (stream == null || fromVersion >= stream.sequences.size) {
+        return List.of();
+      }
+      int from = Math.max(fromVersion, 0);
+      int to = (int) Math.min((long) from + limit, stream.sequences.size);
+      List<TransactionEvent> events = new ArrayList<>(to - from);
+      for (int version = from; version < to; version++) {
+        events.add(materialize(stream.sequences.values[version]));
+      }
+      return events;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int[] findVersions(String userId, TransactionTypeEnum transactionType,
+      int fromVersion, int limit) {
+    lock.readLock().lock();
+    try {
+      Stream stream = stream(userId);
+      if (stream == null) {
+        return new int[0];
+      }
+      IntList versions = stream.versionsByType[transactionType.ordinal()];
+      int from = Arrays.binarySearch(versions.values, 0, versions.size, fromVersion);
+      if (from < 0) {
+        from = -from - 1;
+      }
+      return Arrays.copyOfRange(versions.values, from,
+          (int) Math.min((long) from + limit, versions.size));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int getStreamVersion(String userId) {
+    lock.readLock().lock();
+    try {
+      Stream stream = stream(userId);
+      return stream == null ? 0 : stream.sequences.size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int getStreamCount() {
+    lock.readLock().lock();
+    try {
+      return streamCount;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int getMaxStreamVersion() {
+    lock.readLock().lock();
+    try {
+      return maxStreamVersion;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // Must be called under the write lock.
+  private void append(TransactionEvent event) {
+    if (size == Integer.MAX_VALUE) {
+      throw new IllegalStateException("The columnar event store is full");
+    }
+    int sequence = size;
+    ids.putLongs(sequence, event.getId().getMostSignificantBits(),
+        event.getId().getLeastSignificantBits());
+    long time = EventTimes.parse(event.getCreatedTime());
+    times.putLong(sequence, time);
+    if (time == EventTimes.INVALID) {
+      irregularTimes.put(sequence, event.getCreatedTime());
+    }
+    int user = intern(event.getUserId());
+    users.putInt(sequence, user);
+    types.putByte(sequence, (byte) (ordinal(event.getTransactionType())
+        | ordinal(event.getResponse()) << RESPONSE_SHIFT));
+    amounts.putLong(sequence, event.getAmount());
+    currencies.putInt(sequence, intern(event.getCurrency()));
+    messages.putLong(sequence,
+        event.getMessageId() == null ? NONE : messageIds.append(event.getMessageId()));
+
+    if (user != NONE) {
+      while (streams.size() <= user) {
+        streams.add(null);
+      }
+      Stream stream = streams.get(user);
+      if (stream == null) {
+        stream = new Stream();
+        streams.set(user, stream);
+        streamCount++;
+      }
+      if (event.getTransactionType() != null) {
+        stream.versionsByType[event.getTransactionType().ordinal()].add(stream.sequences.size);
+      }
+      stream.sequences.add(sequence);
+      maxStreamVersion = Math.max(maxStreamVersion, stream.sequences.size);
+    }
+    size++;
+  }
+
+  // Must be called under the read lock.
+  private TransactionEvent materialize(int sequence) {
+    int flags = types.getByte(sequence);
+    long time = times.getLong(sequence);
+    long message = messages.getLong(sequence);
+    return new TransactionEvent(
+        new UUID(ids.getLong(sequence), ids.getSecondLong(sequence)),
+        time == EventTimes.INVALID ? irregularTimes.get(sequence) : EventTimes.format(time),
+        name(users.getInt(sequence)),
+        message == NONE ? null : messageIds.get(message),
+        transactionType(flags),
+        amounts.getLong(sequence),
+        name(currencies.getInt(sequence)),
+        response(flags));
+  }
+
+  private int intern(String value) {
+    if (value == null) {
+      return NONE;
+    }
+    Integer ordinal = ordinals.get(value);
+    if (ordinal == null) {
+      ordinal = names.size();
+      ordinals.put(value, ordinal);
+      names.add(value);
+    }
+    return ordinal;
+  }
+
+  private String name(int ordinal) {
+    return ordinal == NONE ? null : names.get(ordinal);
+  }
+
+  private Stream stream(String userId) {
+    Integer ordinal = ordinals.get(userId);
+    return ordinal == null || ordinal >= streams.size() ? null : streams.get(ordinal);
+  }
+
+  private static int ordinal(Enum<?> value) {
+    return value == null ? 0 : value.ordinal() + 1;
+  }
+
+  private static TransactionTypeEnum transactionType(int flags) {
+    int ordinal = flags & ORDINAL_MASK;
+    return ordinal == 0 ? null : TRANSACTION_TYPES[ordinal - 1];
+  }
+
+  private static ResponseCodeEnum response(int flags) {
+    int ordinal = flags >> RESPONSE_SHIFT & ORDINAL_MASK;
+    return ordinal == 0 ? null : RESPONSE_CODES[ordinal - 1];
+  }
+
+  // Read-only view of the global log from (inclusive) to (exclusive), whose events are
+  // materialized when they are read. The columns are append-only, so the view never changes.
+  private final class EventView extends AbstractList<TransactionEvent> implements RandomAccess {
+
+    private final int from;
+    private final int to;
+
+    private EventView(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public TransactionEvent get(int index) {
+      if (index < 0 || index >= to - from) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      lock.readLock().lock();
+      try {
+        return materialize(from + index);
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+
+    @Override
+    public List<TransactionEvent> subList(int fromIndex, int toIndex) {
+      if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+        throw new IndexOutOfBoundsException(fromIndex);
+      }
+      return new EventView(from + fromIndex, from + toIndex);
+    }
+  }
+
+  // The sequences of the events of one user and the versions of its events of each type.
+  private static final class Stream {
+
+    private final IntList sequences = new IntList();
+    private final IntList[] versionsByType = new IntList[TRANSACTION_TYPES.length];
+
+    private Stream() {
+      for (int i = 0; i < versionsByType.length; i++) {
+        versionsByType[i] = new IntList();
+      }
+    }
+  }
+
+  // Growable array of ints.
+  private static final class IntList {
+
+    private int[] values = new int[4];
+    private int size;
+
+    private void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.peterso.esledgerbankingserver.repository.columnar;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Column of fixed-width values held outside the Java heap, in direct buffers of chunkSize values
+ * allocated as the column grows, so the column costs no garbage collection work however many
+ * values it holds. Values are addressed by their index in the column.
+ * Not thread safe: the {@link ColumnarEventStore} guards its columns with its lock.
+ */
+final class OffHeapColumn {
+
+  private final int width;
+  private final int shift;
+  private final int mask;
+  private ByteBuffer[] chunks = new ByteBuffer[16];
+
+  /**
+   * Creates an empty column.
+   * @param width of a value in bytes
+   * @param chunkSize number of values in one direct buffer, a power of two
+   */
+  OffHeapColumn(int width, int chunkSize) {
+    this.width = width;
+    this.shift = Integer.numberOfTrailingZeros(chunkSize);
+    this.mask = chunkSize - 1;
+  }
+
+  void putByte(long index, byte value) {
+    chunkFor(index).put(offset(index), value);
+  }
+
+  byte getByte(long index) {
+    return chunk(index).get(offset(index));
+  }
+
+  void putInt(long index, int value) {
+    chunkFor(index).putInt(offset(index), value);
+  }
+
+  int getInt(long index) {
+    return chunk(index).getInt(offset(index));
+  }
+
+  void putLong(long index, long value) {
+    chunkFor(index).putLong(offset(index), value);
+  }
+
+  long getLong(long index) {
+    return chunk(index).getLong(offset(index));
+  }
+
+  void putLongs(long index, long first, long second) {
+    ByteBuffer chunk = chunkFor(index);
+    int offset = offset(index);
+    chunk.putLong(offset, first);
+    chunk.putLong(offset + Long.BYTES, second);
+  }
+
+  long getSecondLong(long index) {
+    return chunk(index).getLong(offset(index) + Long.BYTES);
+  }
+
+  private ByteBuffer chunk(long index) {
+    return chunks[(int) (index >>> shift)];
+  }
+
+  // Returns the chunk of the index, allocating it when the index is the first of a new chunk.
+  private ByteBuffer chunkFor(long index) {
+    int chunk = (int) (index >>> shift);
+    if (chunk >= chunks.length) {
+      chunks = Arrays.copyOf(chunks, chunks.length * 2);
+    }
+    if (chunks[chunk] == null) {
+      chunks[chunk] = ByteBuffer.allocateDirect((mask + 1) * width);
+    }
+    return chunks[chunk];
+  }
+
+  private int offset(long index) {
+    return (int) (index & mask) * width;
+  }
+}
@@ -0,0 +1,59 @@
+package com.peterso.esledgerbankingserver.repository.columnar;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only heap of strings held outside the Java heap, in direct buffers of chunkSize bytes.
+ * A string is written as its UTF-8 length followed by its bytes and is addressed by the index of
+ * its buffer in the high 32 bits and its position in the buffer in the low 32 bits; a string
+ * never spans two buffers.
+ * Not thread safe: the {@link ColumnarEventStore} guards it with its lock.
+ */
+final class OffHeapStrings {
+
+  private final int chunkSize;
+  private final List<ByteBuffer> chunks = new ArrayList<>();
+  private ByteBuffer current;
+
+  /**
+   * Creates an empty heap.
+   * @param chunkSize number of bytes in one direct buffer
+   */
+  OffHeapStrings(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Appends a string.
+   * @param value to append
+   * @return the offset to read the string back from
+   */
+  long append(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    int size = Integer.BYTES + bytes.length;
+    if (current == null || current.remaining() < size) {
+      current = ByteBuffer.allocateDirect(Math.max(chunkSize, size));
+      chunks.add(current);
+    }
+    long offset = (long) (chunks.size() - 1) << 32 | current.position();
+    current.putInt(bytes.length);
+    current.put(bytes);
+    return offset;
+  }
+
+  /**
+   * Reads a string back.
+   * @param offset returned by {@link #append(String)}
+   * @return the string
+   */
+  String get(long offset) {
+    ByteBuffer chunk = chunks.get((int) (offset >>> 32));
+    int position = (int) offset;
+    byte[] bytes = new byte[chunk.getInt(position)];
+    chunk.get(position + Integer.BYTES, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
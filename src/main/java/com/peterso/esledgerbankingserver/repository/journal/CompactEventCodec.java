@@ -0,0 +1,382 @@
+package com.peterso.esledgerbankingserver.repository.journal;
+
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.EventTimes;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact, versioned binary codec for batches of {@link TransactionEvent}, used where many events
+ * are sent at once such as the feed followed by the read replicas.
+ * A batch is a frame:
+ * <pre>
+ * frame  := version:byte dictionarySize:varint (length:varint utf8)* count:varint record*
+ * record := length:varint flags:byte id:16 bytes createdTime userId:varint messageId
+ *           amount:zigzag-varint currency:varint
+ * </pre>
+ * userIds and currencies are interned in the dictionary of the frame and written as their index
+ * in it plus one (0 is null). The flags hold the transaction type and response ordinals plus one
+ * (0 is null) and whether createdTime is written as a string or, when it is in the form
+ * {@link LocalDateTime#toString()} gives, as a zigzag varint of its epoch second minus the epoch
+ * second of the previous such record of the frame followed by a varint of its nano of second.
+ * Strings are a length plus one (0 is null) followed by their UTF-8 bytes.
+ * Every record starts with its length, so fields added by a later writer at the end of a record
+ * are skipped by an older reader, and a newer reader gives the fields missing from an older
+ * record their default. The version is only changed for incompatible changes, and a frame of an
+ * unknown version is rejected.
+ * A frame is decoded with a {@link Cursor} that reads each record in place: the dictionary is
+ * decoded once per frame and the other strings, the id and the createdTime of an event are only
+ * materialized when they are asked for.
+ */
+public class CompactEventCodec {
+
+  public static final byte VERSION = 1;
+
+  private static final TransactionTypeEnum[] TRANSACTION_TYPES = TransactionTypeEnum.values();
+  private static final ResponseCodeEnum[] RESPONSE_CODES = ResponseCodeEnum.values();
+  private static final int TYPE_MASK = 0x3;
+  private static final int RESPONSE_SHIFT = 2;
+  private static final int TIME_AS_STRING = 0x10;
+  private static final int RECORD_CAPACITY = 128;
+
+  /**
+   * Encodes the events as one frame.
+   * @param events list of {@link TransactionEvent}, in the order to decode them
+   * @return the frame
+   */
+  public byte[] encode(List<TransactionEvent> events) {
+    int capacity = 16 + events.size() * RECORD_CAPACITY;
+    while (true) {
+      ByteBuffer buffer = ByteBuffer.allocate(capacity);
+      try {
+        encode(events, buffer);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+      } catch (BufferOverflowException e) {
+        capacity *= 2;
+      }
+    }
+  }
+
+  /**
+   * Encodes the events as one frame into the buffer at its current position.
+   * @param events list of {@link TransactionEvent}, in the order to decode them
+   * @param buffer to write into
+   * @throws BufferOverflowException if the buffer does not have enough remaining space
+   */
+  public void encode(List<TransactionEvent> events, ByteBuffer buffer) {
+    Map<String, Integer> dictionary = new HashMap<>();
+    List<String> entries = new ArrayList<>();
+    for (TransactionEvent event : events) {
+      intern(dictionary, entries, event.getUserId());
+      intern(dictionary, entries, event.getCurrency());
+    }
+
+    buffer.put(VERSION);
+    putVarint(buffer, entries.size());
+    for (String entry : entries) {
+      putString(buffer, entry);
+    }
+    putVarint(buffer, events.size());
+    long previousSecond = 0;
+    for (TransactionEvent event : events) {
+      // the record is written after a one byte length, moved right if the length needs more
+      int lengthPosition = buffer.position();
+      buffer.put((byte) 0);
+      int start = buffer.position();
+      previousSecond = putRecord(buffer, event, dictionary, previousSecond);
+      int length = buffer.position() - start;
+      int lengthSize = varintSize(length);
+      if (lengthSize > 1) {
+        if (buffer.remaining() < lengthSize - 1) {
+          throw new BufferOverflowException();
+        }
+        byte[] record = new byte[length];
+        buffer.get(start, record);
+        buffer.put(start + lengthSize - 1, record);
+      }
+      buffer.position(lengthPosition);
+      putVarint(buffer, length);
+      buffer.position(lengthPosition + lengthSize + length);
+    }
+  }
+
+  /**
+   * Decodes every event of a frame.
+   * @param bytes the frame
+   * @return list of {@link TransactionEvent} in the order they were encoded
+   * @throws IllegalArgumentException if the frame is of an unknown version
+   */
+  public List<TransactionEvent> decode(byte[] bytes) {
+    Cursor cursor = cursor(ByteBuffer.wrap(bytes));
+    List<TransactionEvent> events = new ArrayList<>(cursor.count());
+    while (cursor.next()) {
+      events.add(cursor.toEvent());
+    }
+    return events;
+  }
+
+  /**
+   * Opens a cursor over the frame at the buffer's current position. The cursor reads the buffer
+   * in place, which must not change while the cursor is used.
+   * @param buffer holding the frame
+   * @return a {@link Cursor} before the first event of the frame
+   * @throws IllegalArgumentException if the frame is of an unknown version
+   */
+  public Cursor cursor(ByteBuffer buffer) {
+    return new Cursor(buffer.duplicate());
+  }
+
+  /**
+   * Forward-only reader of the events of a frame. The fields needed to fold an event into a
+   * projection are read without allocating; the id, createdTime and messageId are read from the
+   * buffer when they are asked for.
+   */
+  public static final class Cursor {
+
+    private final ByteBuffer buffer;
+    private final String[] dictionary;
+    private final int count;
+    private int index = -1;
+    private int flags;
+    private int idPosition;
+    private int timePosition;
+    private long epochSecond;
+    private long previousSecond;
+    private int nano;
+    private String userId;
+    private int messagePosition;
+    private int messageLength;
+    private long amount;
+    private String currency;
+
+    private Cursor(ByteBuffer buffer) {
+      byte version = buffer.get();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported event frame version " + version);
+      }
+      this.buffer = buffer;
+      this.dictionary = new String[getVarint(buffer)];
+      for (int i = 0; i < dictionary.length; i++) {
+        dictionary[i] = getString(buffer);
+      }
+      this.count = getVarint(buffer);
+    }
+
+    /**
+     * Returns the number of events in the frame.
+     * @return the number of events
+     */
+    public int count() {
+      return count;
+    }
+
+    /**
+     * Moves to the next event of the frame.
+     * @return false if there are no more events
+     */
+    public boolean next() {
+      if (index + 1 >= count) {
+        return false;
+      }
+      index++;
+      int length = getVarint(buffer);
+      int end = buffer.position() + length;
+      flags = buffer.get();
+      idPosition = buffer.position();
+      buffer.position(idPosition + 2 * Long.BYTES);
+      timePosition = buffer.position();
+      if ((flags & TIME_AS_STRING) != 0) {
+        skipString(buffer);
+      } else {
+        epochSecond = previousSecond + getZigzag(buffer);
+        previousSecond = epochSecond;
+        nano = getVarint(buffer);
+      }
+      userId = entry(getVarint(buffer));
+      messageLength = getVarint(buffer) - 1;
+      messagePosition = buffer.position();
+      buffer.position(messagePosition + Math.max(messageLength, 0));
+      amount = getZigzag(buffer);
+      currency = entry(getVarint(buffer));
+      // skip the fields written by a later version of the codec
+      buffer.position(end);
+      return true;
+    }
+
+    public String userId() {
+      return userId;
+    }
+
+    public long amount() {
+      return amount;
+    }
+
+    public String currency() {
+      return currency;
+    }
+
+    public TransactionTypeEnum transactionType() {
+      int ordinal = flags & TYPE_MASK;
+      return ordinal == 0 ? null : TRANSACTION_TYPES[ordinal - 1];
+    }
+
+    public ResponseCodeEnum response() {
+      int ordinal = (flags >> RESPONSE_SHIFT) & TYPE_MASK;
+      return ordinal == 0 ? null : RESPONSE_CODES[ordinal - 1];
+    }
+
+    public UUID id() {
+      return new UUID(buffer.getLong(idPosition), buffer.getLong(idPosition + Long.BYTES));
+    }
+
+    public String createdTime() {
+      if ((flags & TIME_AS_STRING) != 0) {
+        return getString(buffer.duplicate().position(timePosition));
+      }
+      return EventTimes.format(epochSecond, nano);
+    }
+
+    public String messageId() {
+      return messageLength < 0 ? null : string(buffer, messagePosition, messageLength);
+    }
+
+    /**
+     * Materializes the current event.
+     * @return the {@link TransactionEvent}
+     */
+    public TransactionEvent toEvent() {
+      return new TransactionEvent(id(), createdTime(), userId, messageId(), transactionType(),
+          amount, currency, response());
+    }
+
+    private String entry(int index) {
+      return index == 0 ? null : dictionary[index - 1];
+    }
+  }
+
+  private static void intern(Map<String, Integer> dictionary, List<String> entries,
+      String value) {
+    if (value != null && !dictionary.containsKey(value)) {
+      dictionary.put(value, entries.size() + 1);
+      entries.add(value);
+    }
+  }
+
+  // Writes the record of the event and returns the epoch second the next record is written
+  // relative to.
+  private static long putRecord(ByteBuffer buffer, TransactionEvent event,
+      Map<String, Integer> dictionary, long previousSecond) {
+    long time = EventTimes.parse(event.getCreatedTime());
+    int flags = ordinal(event.getTransactionType())
+        | ordinal(event.getResponse()) << RESPONSE_SHIFT
+        | (time == EventTimes.INVALID ? TIME_AS_STRING : 0);
+    buffer.put((byte) flags);
+    buffer.putLong(event.getId().getMostSignificantBits());
+    buffer.putLong(event.getId().getLeastSignificantBits());
+    long second = previousSecond;
+    if (time == EventTimes.INVALID) {
+      putString(buffer, event.getCreatedTime());
+    } else {
+      second = Math.floorDiv(time, EventTimes.NANOS_PER_SECOND);
+      putZigzag(buffer, second - previousSecond);
+      putVarint(buffer, Math.floorMod(time, EventTimes.NANOS_PER_SECOND));
+    }
+    putVarint(buffer, event.getUserId() == null ? 0 : dictionary.get(event.getUserId()));
+    putString(buffer, event.getMessageId());
+    putZigzag(buffer, event.getAmount());
+    putVarint(buffer, event.getCurrency() == null ? 0 : dictionary.get(event.getCurrency()));
+    return second;
+  }
+
+  private static int ordinal(Enum<?> value) {
+    return value == null ? 0 : value.ordinal() + 1;
+  }
+
+  private static void putString(ByteBuffer buffer, String value) {
+    if (value == null) {
+      putVarint(buffer, 0);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    putVarint(buffer, bytes.length + 1);
+    buffer.put(bytes);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    int length = getVarint(buffer) - 1;
+    if (length < 0) {
+      return null;
+    }
+    String value = string(buffer, buffer.position(), length);
+    buffer.position(buffer.position() + length);
+    return value;
+  }
+
+  private static void skipString(ByteBuffer buffer) {
+    int length = getVarint(buffer) - 1;
+    buffer.position(buffer.position() + Math.max(length, 0));
+  }
+
+  // Decodes the bytes straight from the buffer's array when it has one.
+  private static String string(ByteBuffer buffer, int position, int length) {
+    if (buffer.hasArray()) {
+      return new String(buffer.array(), buffer.arrayOffset() + position, length,
+          StandardCharsets.UTF_8);
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(position, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static int varintSize(int value) {
+    int size = 1;
+    while ((value & ~0x7F) != 0) {
+      value >>>= 7;
+      size++;
+    }
+    return size;
+  }
+
+  private static void putVarint(ByteBuffer buffer, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  private static int getVarint(ByteBuffer buffer) {
+    return (int) getVarlong(buffer);
+  }
+
+  private static long getVarlong(ByteBuffer buffer) {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      byte b = buffer.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint");
+  }
+
+  private static void putZigzag(ByteBuffer buffer, long value) {
+    putVarint(buffer, (value << 1) ^ (value >> 63));
+  }
+
+  private static long getZigzag(ByteBuffer buffer) {
+    long value = getVarlong(buffer);
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
@@ -0,0 +1,173 @@
+package com.peterso.esledgerbankingserver.repository.journal;
+
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Batches concurrent appends into group commits.
+ * Callers submit events and receive a future; a single writer thread takes the first pending
+ * append, lingers up to maxLinger for more (stopping early once maxBatchSize events are reached),
+ * hands the whole batch to the {@link BatchSink} in one call (one write and one force) and only
+ * then completes the futures of the batch. An acknowledged event is therefore always durable.
+ * The events of one submitted list are never split between two batches.
+ * Submitting and closing take the same lock, so an append is either queued before the writer is
+ * closed, and written, or rejected.
+ */
+public class GroupCommitWriter implements Closeable {
+
+  private static final long IDLE_POLL_MILLIS = 100;
+
+  /**
+   * Durably writes a batch of events, in order, before returning.
+   */
+  @FunctionalInterface
+  public interface BatchSink {
+
+    void write(List<TransactionEvent> batch) throws IOException;
+  }
+
+  private record PendingAppend(List<TransactionEvent> events, CompletableFuture<Void> future) {
+
+  }
+
+  private final BatchSink sink;
+  private final int maxBatchSize;
+  private final long maxLingerNanos;
+  private final BlockingDeque<PendingAppend> queue = new LinkedBlockingDeque<>();
+  private final Thread writer;
+  private final Lock lock = new ReentrantLock();
+  private volatile boolean running = true;
+
+  /**
+   * Creates the writer and starts its thread.
+   * @param sink that durably writes each batch
+   * @param maxBatchSize maximum number of events written in one batch
+   * @param maxLinger maximum time to wait for more events once a batch has been started
+   */
+  public GroupCommitWriter(BatchSink sink, int maxBatchSize, Duration maxLinger) {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("maxBatchSize must be at least 1");
+    }
+    this.sink = sink;
+    this.maxBatchSize = maxBatchSize;
+    this.maxLingerNanos = maxLinger.toNanos();
+    this.writer = new Thread(this::run, "journal-group-commit");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * Queues the event for the next group commit.
+   * @param event {@link TransactionEvent} to write
+   * @return a future completed once the batch holding the event is durable
+   */
+  public CompletableFuture<Void> submit(TransactionEvent event) {
+    return submit(List.of(event));
+  }
+
+  /**
+   * Queues the events for the next group commit. The events are written in the same batch.
+   * @param events list of {@link TransactionEvent} to write
+   * @return a future completed once the batch holding the events is durable
+   */
+  public CompletableFuture<Void> submit(List<TransactionEvent> events) {
+    lock.lock();
+    try {
+      if (!running) {
+        return CompletableFuture.failedFuture(
+            new IllegalStateException("The group commit writer is closed"));
+      }
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      queue.add(new PendingAppend(events, future));
+      return future;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Stops accepting events, writes everything already queued and stops the writer thread.
+   */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      running = false;
+    } finally {
+      lock.unlock();
+    }
+    // nothing is queued from here on, and the writer thread drains the queue before it stops
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    List<PendingAppend> batch = new ArrayList<>(maxBatchSize);
+    List<TransactionEvent> events = new ArrayList<>(maxBatchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        PendingAppend first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        fill(batch, first.events().size());
+      } catch (InterruptedException e) {
+        // keep going until every queued event has been written
+      }
+      if (batch.isEmpty()) {
+        continue;
+      }
+
+      for (PendingAppend pending : batch) {
+        events.addAll(pending.events());
+      }
+      try {
+        sink.write(events);
+        batch.forEach(pending -> pending.future().complete(null));
+      } catch (Throwable e) {
+        batch.forEach(pending -> pending.future().completeExceptionally(e));
+      }
+      batch.clear();
+      events.clear();
+    }
+  }
+
+  // Adds pending appends to the batch until it is full or maxLinger has passed.
+  private void fill(List<PendingAppend> batch, int size) throws InterruptedException {
+    long deadline = System.nanoTime() + maxLingerNanos;
+    while (size < maxBatchSize) {
+      PendingAppend next = queue.poll();
+      if (next == null) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return;
+        }
+        next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+        if (next == null) {
+          return;
+        }
+      }
+      if (size + next.events().size() > maxBatchSize) {
+        // leave an append that would overflow the batch at the head for the next one
+        queue.offerFirst(next);
+        return;
+      }
+      batch.add(next);
+      size += next.events().size();
+    }
+  }
+}
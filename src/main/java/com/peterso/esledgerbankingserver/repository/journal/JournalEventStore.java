@@ -0,0 +1,343 @@
+package com.peterso.esledgerbankingserver.repository.journal;
+
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.repository.EventPosition;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.InMemoryEventStore;
+import com.peterso.esledgerbankingserver.repository.PendingEvents;
+import com.peterso.esledgerbankingserver.repository.WrongExpectedVersionException;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * A durable event store that appends every event to a {@link SegmentedJournal} before it is made
+ * visible. Reads are served from an {@link InMemoryEventStore} index that is rebuilt by replaying
+ * the journal on startup.
+ * Every batch of events is written as a single journal record, [number of events (int)] followed
+ * by the events, so that its one checksum covers the whole batch: on recovery a torn batch is
+ * discarded as a whole and a multi-event append never comes back in part.
+ * With group commit enabled, concurrent appends are batched by a {@link GroupCommitWriter} into
+ * one write and one force, and saveEvent returns once the batch holding the event is durable.
+ * Enabled with ledger.event-store.type=journal.
+ */
+@Repository
+@ConditionalOnProperty(name = "ledger.event-store.type", havingValue = "journal")
+public class JournalEventStore implements EventStore {
+
+  private static final int INITIAL_RECORD_CAPACITY = 512;
+
+  private final SegmentedJournal journal;
+  private final boolean fsync;
+  private final TransactionEventSerializer serializer = new TransactionEventSerializer();
+  private final InMemoryEventStore index = new InMemoryEventStore();
+  private final Lock lock = new ReentrantLock();
+  private final GroupCommitWriter groupCommitWriter;
+  // events queued for a group commit and not in the index yet
+  private final PendingEvents pending = new PendingEvents();
+  private final Lock pendingLock = new ReentrantLock();
+  private ByteBuffer record = ByteBuffer.allocate(INITIAL_RECORD_CAPACITY);
+
+  /**
+   * Opens the journal in the given directory and replays it into the in-memory index, with every
+   * append written and forced on the calling thread.
+   * @param directory holding the journal segments
+   * @param segmentSize size in bytes of a segment file
+   * @param fsync whether every append is forced to the storage device before it returns
+   * @throws IOException if the journal cannot be opened or replayed
+   */
+  public JournalEventStore(Path directory, int segmentSize, boolean fsync) throws IOException {
+    this(directory, segmentSize, fsync, false, 1, Duration.ZERO);
+  }
+
+  /**
+   * Opens the journal in the given directory and replays it into the in-memory index.
+   * @param directory holding the journal segments
+   * @param segmentSize size in bytes of a segment file
+   * @param fsync whether every append (or batch of appends) is forced to the storage device
+   *              before it is acknowledged
+   * @param groupCommit whether concurrent appends are batched by a {@link GroupCommitWriter}
+   * @param maxBatchSize maximum number of events in a group commit
+   * @param maxLinger maximum time a group commit waits for more events
+   * @throws IOException if the journal cannot be opened or replayed
+   */
+  @Autowired
+  public JournalEventStore(@Value("${ledger.journal.directory:data/journal}") Path directory,
+      @Value("${ledger.journal.segment-size:67108864}") int segmentSize,
+      @Value("${ledger.journal.fsync:true}") boolean fsync,
+      @Value("${ledger.journal.group-commit.enabled:true}") boolean groupCommit,
+      @Value("${ledger.journal.group-commit.max-batch-size:256}") int maxBatchSize,
+      @Value("${ledger.journal.group-commit.max-linger:0ms}") Duration maxLinger)
+      throws IOException {
+    this.journal = new SegmentedJournal(directory, segmentSize);
+    this.fsync = fsync;
+    journal.replay(this::replayBatch);
+    this.groupCommitWriter = groupCommit
+        ? new GroupCommitWriter(this::writeBatch, maxBatchSize, maxLinger)
+        : null;
+  }
+
+  @Override
+  public void saveEvent(TransactionEvent event) {
+    saveEvents(List.of(event));
+  }
+
+  @Override
+  public void saveEvents(List<TransactionEvent> events) {
+    if (groupCommitWriter == null) {
+      try {
+        writeBatch(events);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Unable to append events to the journal", e);
+      }
+      return;
+    }
+    join(queue(events));
+  }
+
+  /**
+   * Checks the version of the stream against the index and the events queued for a group commit,
+   * and queues the events behind them, so no append is queued between the check and the append.
+   * Without group commit the events are checked and written on the calling thread, under the lock
+   * batches are written under.
+   */
+  @Override
+  public EventPosition append(String userId, int expectedVersion, List<TransactionEvent> events) {
+    for (TransactionEvent event : events) {
+      if (!Objects.equals(event.getUserId(), userId)) {
+        throw new IllegalArgumentException("Event of user " + event.getUserId()
+            + " appended to the stream of user " + userId);
+      }
+    }
+    if (groupCommitWriter == null) {
+      lock.lock();
+      try {
+        EventPosition position = position(userId, expectedVersion);
+        writeBatch(events);
+        return position;
+      } catch (IOException e) {
+        throw new UncheckedIOException("Unable to append events to the journal", e);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    EventPosition position;
+    CompletableFuture<Void> written;
+    pendingLock.lock();
+    try {
+      position = position(userId, expectedVersion);
+      written = queue(events);
+    } finally {
+      pendingLock.unlock();
+    }
+    join(written);
+    return position;
+  }
+
+  /**
+   * Hands the events to the {@link GroupCommitWriter} and returns without waiting for their batch
+   * to be written, so a caller never blocks on the force. Without group commit the events are
+   * written on the calling thread.
+   */
+  @Override
+  public CompletableFuture<Void> saveEventsAsync(List<TransactionEvent> events) {
+    if (groupCommitWriter == null) {
+      return EventStore.super.saveEventsAsync(events);
+    }
+    return queue(events);
+  }
+
+  @Override
+  public List<TransactionEvent> getEventStore() {
+    return index.getEventStore();
+  }
+
+  @Override
+  public List<TransactionEvent> getEventsSince(long fromSequence) {
+    return index.getEventsSince(fromSequence);
+  }
+
+  @Override
+  public List<TransactionEvent> getEventsSince(long fromSequence, int limit) {
+    return index.getEventsSince(fromSequence, limit);
+  }
+
+  @Override
+  public long getSequence() {
+    return index.getSequence();
+  }
+
+  @Override
+  public List<TransactionEvent> getEvents(String userId, int fromVersion) {
+    return index.getEvents(userId, fromVersion);
+  }
+
+  @Override
+  public List<TransactionEvent> getEvents(String userId, int fromVersion, int limit) {
+    return index.getEvents(userId, fromVersion, limit);
+  }
+
+  @Override
+  public int[] findVersions(String userId, TransactionTypeEnum transactionType,
+      int fromVersion, int limit) {
+    return index.findVersions(userId, transactionType, fromVersion, limit);
+  }
+
+  @Override
+  public int getStreamVersion(String userId) {
+    return index.getStreamVersion(userId);
+  }
+
+  @Override
+  public int getStreamCount() {
+    return index.getStreamCount();
+  }
+
+  @Override
+  public int getMaxStreamVersion() {
+    return index.getMaxStreamVersion();
+  }
+
+  /**
+   * Flushes and closes the journal.
+   * @throws IOException if the journal cannot be closed
+   */
+  @PreDestroy
+  public void close() throws IOException {
+    if (groupCommitWriter != null) {
+      groupCommitWriter.close();
+    }
+    lock.lock();
+    try {
+      journal.close();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Appends the events to the journal as one record with a single force and then makes them
+  // visible. A batch that fails partway is truncated from the journal, so that what was written of
+  // it does not come back on restart after the appends were failed.
+  private void writeBatch(List<TransactionEvent> batch) throws IOException {
+    lock.lock();
+    try {
+      long mark = journal.mark();
+      try {
+        journal.append(serialize(batch));
+        if (fsync) {
+          journal.force();
+        }
+      } catch (IOException | RuntimeException e) {
+        try {
+          journal.truncate(mark);
+        } catch (IOException | RuntimeException truncateFailure) {
+          e.addSuppressed(truncateFailure);
+        }
+        publish(batch, false);
+        throw e;
+      }
+      publish(batch, true);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Makes a written batch visible in the index and stops counting its events as pending in one
+  // step, so a conditional append sees every event exactly once.
+  private void publish(List<TransactionEvent> batch, boolean written) {
+    pendingLock.lock();
+    try {
+      if (written) {
+        batch.forEach(index::saveEvent);
+      }
+      if (groupCommitWriter != null) {
+        pending.remove(batch);
+      }
+    } finally {
+      pendingLock.unlock();
+    }
+  }
+
+  // Hands the events to the group commit writer, counting them as pending until their batch is
+  // written or fails. The writer cannot finish the batch before they are counted, since it needs
+  // the pending lock to do so.
+  private CompletableFuture<Void> queue(List<TransactionEvent> events) {
+    pendingLock.lock();
+    try {
+      CompletableFuture<Void> written = groupCommitWriter.submit(events);
+      if (!written.isCompletedExceptionally()) {
+        // a closed writer refuses the events right away
+        pending.add(events);
+      }
+      return written;
+    } finally {
+      pendingLock.unlock();
+    }
+  }
+
+  // Checks the version the stream will have once the pending events are written and returns the
+  // position the events appended next will be at.
+  private EventPosition position(String userId, int expectedVersion) {
+    pendingLock.lock();
+    try {
+      int version = index.getStreamVersion(userId) + pending.count(userId);
+      if (version != expectedVersion) {
+        throw new WrongExpectedVersionException(userId, expectedVersion, version);
+      }
+      return new EventPosition(index.getSequence() + pending.size(), version);
+    } finally {
+      pendingLock.unlock();
+    }
+  }
+
+  private static void join(CompletableFuture<Void> written) {
+    try {
+      written.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof IOException cause) {
+        throw new UncheckedIOException("Unable to append events to the journal", cause);
+      }
+      throw e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+  }
+
+  // Restores the events of a batch record into the index.
+  private void replayBatch(ByteBuffer payload) {
+    int count = payload.getInt();
+    for (int i = 0; i < count; i++) {
+      index.saveEvent(serializer.read(payload));
+    }
+  }
+
+  // Serializes the batch into the reusable record buffer, growing it when the batch does not fit.
+  private ByteBuffer serialize(List<TransactionEvent> batch) {
+    while (true) {
+      record.clear();
+      try {
+        record.putInt(batch.size());
+        for (TransactionEvent event : batch) {
+          serializer.write(event, record);
+        }
+        return record.flip();
+      } catch (BufferOverflowException e) {
+        record = ByteBuffer.allocate(record.capacity() * 2);
+      }
+    }
+  }
+}
@@ -0,0 +1,236 @@
+package com.peterso.esledgerbankingserver.repository.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal made of fixed-size, memory-mapped segment files.
+ * Each record is written as [length (int)][CRC32C of the payload (int)][payload]. A length of 0
+ * marks the end of the records in a segment, which is why the unused tail of a freshly mapped
+ * (zero-filled) segment needs no terminator. When a record does not fit in the current segment
+ * the journal rolls over to a new segment.
+ * On open, the last segment is scanned and a torn or corrupted tail (e.g. from a crash in the
+ * middle of a write) is discarded and forced, so appends continue after the last valid record.
+ * Not thread-safe, callers are expected to serialize appends.
+ */
+public class SegmentedJournal implements Closeable {
+
+  static final int HEADER_SIZE = 2 * Integer.BYTES;
+  private static final String SEGMENT_SUFFIX = ".segment";
+  private static final byte[] ZEROS = new byte[4096];
+
+  private final Path directory;
+  private final int segmentSize;
+  private final List<Path> segments = new ArrayList<>();
+  private final CRC32C crc = new CRC32C();
+
+  private FileChannel channel;
+  private MappedByteBuffer buffer;
+  private int forcedPosition;
+
+  /**
+   * Opens the journal in the given directory, creating it if needed.
+   * @param directory holding the segment files
+   * @param segmentSize size in bytes of every segment file
+   * @throws IOException if the segments cannot be opened
+   */
+  public SegmentedJournal(Path directory, int segmentSize) throws IOException {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    Files.createDirectories(directory);
+    try (Stream<Path> files = Files.list(directory)) {
+      files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+          .sorted()
+          .forEach(segments::add);
+    }
+
+    if (segments.isEmpty()) {
+      openSegment(segmentPath(0));
+    } else {
+      openSegment(segments.get(segments.size() - 1));
+      int end = scan(buffer.duplicate(), true, record -> { });
+      clearTail(end);
+    }
+  }
+
+  /**
+   * Passes every valid record of every segment, oldest first, to the consumer.
+   * The records are read-only slices of the mapped segments, so nothing is copied; a record must
+   * not be used after the consumer returns.
+   * @param consumer of the record payloads
+   * @throws IOException if a segment cannot be read
+   */
+  public void replay(Consumer<ByteBuffer> consumer) throws IOException {
+    for (int i = 0; i < segments.size(); i++) {
+      boolean last = i == segments.size() - 1;
+      if (last) {
+        scan(buffer.duplicate(), true, consumer);
+      } else {
+        try (FileChannel readChannel = FileChannel.open(segments.get(i),
+            StandardOpenOption.READ)) {
+          scan(readChannel.map(MapMode.READ_ONLY, 0, readChannel.size()), false, consumer);
+        }
+      }
+    }
+  }
+
+  /**
+   * Appends a record holding the remaining bytes of the payload.
+   * @param payload to append
+   * @throws IOException if a new segment cannot be created
+   */
+  public void append(ByteBuffer payload) throws IOException {
+    int length = payload.remaining();
+    if (length == 0 || HEADER_SIZE + length > segmentSize) {
+      throw new IllegalArgumentException(
+          "Record of " + length + " bytes does not fit in a segment of " + segmentSize + " bytes");
+    }
+    if (buffer.remaining() < HEADER_SIZE + length) {
+      roll();
+    }
+
+    crc.reset();
+    crc.update(payload.duplicate());
+    buffer.putInt(length);
+    buffer.putInt((int) crc.getValue());
+    buffer.put(payload);
+  }
+
+  /**
+   * Returns the end of the journal, the position the next record is appended at.
+   * @return the index of the last segment in the upper 32 bits and the position in it in the
+   * lower ones, for {@link #truncate(long)}
+   */
+  public long mark() {
+    return (long) (segments.size() - 1) << 32 | buffer.position();
+  }
+
+  /**
+   * Discards every record appended after the mark, e.g. the records of a batch that failed
+   * partway, and forces the discarded bytes so the records do not come back on restart. Segments
+   * created since the mark are deleted.
+   * @param mark returned by {@link #mark()}
+   * @throws IOException if a segment cannot be deleted or reopened
+   */
+  public void truncate(long mark) throws IOException {
+    int segment = (int) (mark >>> 32);
+    int position = (int) mark;
+    if (segment < segments.size() - 1) {
+      channel.close();
+      while (segments.size() - 1 > segment) {
+        Files.delete(segments.remove(segments.size() - 1));
+      }
+      openSegment(segments.get(segment));
+    }
+    clearTail(position);
+  }
+
+  /**
+   * Flushes every record appended since the last call to the storage device.
+   */
+  public void force() {
+    int position = buffer.position();
+    if (position > forcedPosition) {
+      buffer.force(forcedPosition, position - forcedPosition);
+      forcedPosition = position;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    force();
+    channel.close();
+  }
+
+  // Scans the records of a segment, returning the position after the last valid record.
+  // Corruption is only tolerated at the tail of the last segment.
+  private int scan(ByteBuffer segment, boolean last, Consumer<ByteBuffer> consumer) {
+    int position = 0;
+    while (position + HEADER_SIZE <= segment.limit()) {
+      int length = segment.getInt(position);
+      if (length == 0) {
+        break;
+      }
+      int checksum = segment.getInt(position + Integer.BYTES);
+      boolean valid = length > 0 && position + HEADER_SIZE + length <= segment.limit();
+      ByteBuffer record = null;
+      if (valid) {
+        record = segment.slice(position + HEADER_SIZE, length).asReadOnlyBuffer();
+        crc.reset();
+        crc.update(record.duplicate());
+        valid = (int) crc.getValue() == checksum;
+      }
+      if (!valid) {
+        if (last) {
+          break;
+        }
+        throw new IllegalStateException("Corrupted journal record at position " + position);
+      }
+      consumer.accept(record);
+      position += HEADER_SIZE + length;
+    }
+    return position;
+  }
+
+  // Discards whatever follows the end of the valid records, so that it is never mistaken for a
+  // record once appends continue, and forces the cleared bytes so that a second crash cannot bring
+  // it back. Only the bytes that can hold data are cleared: the records after end are followed
+  // through their length headers until a zero length, and the header of a torn record is cleared
+  // up to the end of the length it gives, or on its own when that length cannot be a record.
+  private void clearTail(int end) {
+    int extent = end;
+    int position = end;
+    while (position + HEADER_SIZE <= buffer.limit()) {
+      int length = buffer.getInt(position);
+      if (length == 0) {
+        break;
+      }
+      if (length < 0 || length > buffer.limit() - position - HEADER_SIZE) {
+        extent = position + HEADER_SIZE;
+        break;
+      }
+      position += HEADER_SIZE + length;
+      extent = position;
+    }
+    for (int i = end; i < extent; i += ZEROS.length) {
+      buffer.put(i, ZEROS, 0, Math.min(ZEROS.length, extent - i));
+    }
+    if (extent > end) {
+      buffer.force(end, extent - end);
+    }
+    buffer.position(end);
+    forcedPosition = end;
+  }
+
+  private void roll() throws IOException {
+    force();
+    channel.close();
+    openSegment(segmentPath(segments.size()));
+  }
+
+  private void openSegment(Path path) throws IOException {
+    if (!segments.contains(path)) {
+      segments.add(path);
+    }
+    channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    buffer = channel.map(MapMode.READ_WRITE, 0, Math.max(channel.size(), segmentSize));
+    forcedPosition = 0;
+  }
+
+  private Path segmentPath(int index) {
+    return directory.resolve(String.format("%020d%s", index, SEGMENT_SUFFIX));
+  }
+}
@@ -0,0 +1,85 @@
+package com.peterso.esledgerbankingserver.repository.journal;
+
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Binary serializer for {@link TransactionEvent} used by the journal.
+ * Events are written field by field into a ByteBuffer so that no reflection or JSON is involved
+ * when appending or replaying the journal. Amounts are written as their long of minor units,
+ * strings as a length followed by their UTF-8 bytes (a length of -1 is null) and enums as their
+ * ordinal (-1 is null).
+ */
+public class TransactionEventSerializer {
+
+  private static final TransactionTypeEnum[] TRANSACTION_TYPES = TransactionTypeEnum.values();
+  private static final ResponseCodeEnum[] RESPONSE_CODES = ResponseCodeEnum.values();
+
+  /**
+   * Writes the event into the buffer at its current position.
+   * @param event {@link TransactionEvent} to write
+   * @param buffer to write into, must have enough remaining space
+   */
+  public void write(TransactionEvent event, ByteBuffer buffer) {
+    buffer.putLong(event.getId().getMostSignificantBits());
+    buffer.putLong(event.getId().getLeastSignificantBits());
+    putString(buffer, event.getCreatedTime());
+    putString(buffer, event.getUserId());
+    putString(buffer, event.getMessageId());
+    putEnum(buffer, event.getTransactionType());
+    buffer.putLong(event.getAmount());
+    putString(buffer, event.getCurrency());
+    putEnum(buffer, event.getResponse());
+  }
+
+  /**
+   * Reads an event from the buffer at its current position.
+   * @param buffer to read from
+   * @return the restored {@link TransactionEvent}
+   */
+  public TransactionEvent read(ByteBuffer buffer) {
+    UUID id = new UUID(buffer.getLong(), buffer.getLong());
+    String createdTime = getString(buffer);
+    String userId = getString(buffer);
+    String messageId = getString(buffer);
+    TransactionTypeEnum transactionType = getEnum(buffer, TRANSACTION_TYPES);
+    long amount = buffer.getLong();
+    String currency = getString(buffer);
+    ResponseCodeEnum response = getEnum(buffer, RESPONSE_CODES);
+    return new TransactionEvent(id, createdTime, userId, messageId, transactionType, amount,
+        currency, response);
+  }
+
+  private static void putString(ByteBuffer buffer, String value) {
+    if (value == null) {
+      buffer.putInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    buffer.putInt(bytes.length);
+    buffer.put(bytes);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void putEnum(ByteBuffer buffer, Enum<?> value) {
+    buffer.put((byte) (value == null ? -1 : value.ordinal()));
+  }
+
+  private static <E extends Enum<E>> E getEnum(ByteBuffer buffer, E[] values) {
+    byte ordinal = buffer.get();
+    return ordinal < 0 ? null : values[ordinal];
+  }
+}
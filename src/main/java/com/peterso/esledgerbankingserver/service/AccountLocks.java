@@ -0,0 +1,74 @@
+package com.peterso.esledgerbankingserver.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Striped locks used to serialize the transactions of a single account.
+ * Each userId hashes to one of a fixed number of locks, so transactions of different users
+ * proceed in parallel (unless they share a stripe) while the decisions for one user are made one
+ * at a time.
+ */
+@Component
+public class AccountLocks {
+
+  private static final int DEFAULT_STRIPES = 1024;
+
+  private final Lock[] stripes;
+  private final int mask;
+
+  public AccountLocks() {
+    this(DEFAULT_STRIPES);
+  }
+
+  /**
+   * Creates the locks with the given number of stripes, rounded up to a power of two.
+   * @param stripes number of locks to share between all users
+   */
+  @Autowired
+  public AccountLocks(@Value("${ledger.account-locks.stripes:1024}") int stripes) {
+    int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+    this.stripes = new Lock[size];
+    for (int i = 0; i < size; i++) {
+      this.stripes[i] = new ReentrantLock();
+    }
+    this.mask = size - 1;
+  }
+
+  /**
+   * Returns the lock guarding the given user's account.
+   * @param userId
+   * @return {@link Lock} of the stripe the user belongs to
+   */
+  public Lock lockFor(String userId) {
+    return stripes[stripe(userId)];
+  }
+
+  /**
+   * Returns the distinct locks guarding the given users' accounts, always in the same (stripe)
+   * order so that threads locking several accounts cannot deadlock each other.
+   * @param userIds
+   * @return list of {@link Lock} to acquire in order
+   */
+  public List<Lock> locksFor(Collection<String> userIds) {
+    BitSet used = new BitSet(stripes.length);
+    userIds.forEach(userId -> used.set(stripe(userId)));
+    List<Lock> locks = new ArrayList<>(used.cardinality());
+    for (int i = used.nextSetBit(0); i >= 0; i = used.nextSetBit(i + 1)) {
+      locks.add(stripes[i]);
+    }
+    return locks;
+  }
+
+  private int stripe(String userId) {
+    int hash = userId.hashCode();
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+}
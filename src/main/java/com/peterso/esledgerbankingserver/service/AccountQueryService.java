@@ -0,0 +1,193 @@
+package com.peterso.esledgerbankingserver.service;
+
+import com.peterso.esledgerbankingserver.model.Money;
+import com.peterso.esledgerbankingserver.model.dto.AccountBalance;
+import com.peterso.esledgerbankingserver.model.dto.AccountEvent;
+import com.peterso.esledgerbankingserver.model.dto.AccountEvents;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.replica.ReplicaTailer;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.stereotype.Service;
+
+/**
+ * The service for the account queries: a user's balance, read from the
+ * {@link BalanceProjection}, and pages of a user's history, read from the user's stream in the
+ * EventStore.
+ * A page of history costs O(page size) whatever the size of the ledger: pages are addressed by an
+ * opaque cursor holding the stream version to continue from, the type filter is answered from
+ * the EventStore's index of versions by type, and the bounds of a time range are found with a
+ * binary search of the stream.
+ * The binary search relies on the events of a stream being in createdTime order, which holds
+ * because the TransactionService builds each event while it owns the user's account and the
+ * {@link com.peterso.esledgerbankingserver.time.LedgerClock} never goes back. The createdTime is
+ * a local time though, so when the clocks go back at the end of daylight saving time the repeated
+ * hour is out of order, and a bound falling in or around it may be off by the events of that
+ * hour.
+ * On a read replica every result carries the sequence of the primary's log it reflects; on the
+ * primary it is the sequence of the local log.
+ */
+@Service
+public class AccountQueryService {
+
+  private final EventStore eventStore;
+  private final BalanceProjection balanceProjection;
+  private final Optional<ReplicaTailer> replicaTailer;
+
+  public AccountQueryService(EventStore eventStore, BalanceProjection balanceProjection,
+      Optional<ReplicaTailer> replicaTailer) {
+    this.eventStore = eventStore;
+    this.balanceProjection = balanceProjection;
+    this.replicaTailer = replicaTailer;
+  }
+
+  /**
+   * Returns the balance of the given user, in the currency of the user's latest event.
+   * On a read replica the balance reflects at least every event before its sequence. On the
+   * primary it reflects no event at or after its sequence, but may miss an event saved just
+   * before it and not applied to the projection yet.
+   * @param userId
+   * @return {@link AccountBalance}, empty if the user has no event
+   */
+  public Optional<AccountBalance> getBalance(String userId) {
+    // a replica only advances its sequence once the events before it are applied, so it is read
+    // before the balance; the primary saves events before applying them, so there it is read
+    // after the balance
+    boolean replica = replicaTailer.isPresent();
+    long sequence = replica ? getSequence() : 0;
+    long balance = balanceProjection.getBalance(userId);
+    int version = eventStore.getStreamVersion(userId);
+    if (!replica) {
+      sequence = getSequence();
+    }
+    if (version == 0) {
+      return Optional.empty();
+    }
+    String currency = eventStore.getEvents(userId, version - 1, 1).get(0).getCurrency();
+    return Optional.of(AccountBalance.builder()
+        .userId(userId)
+        .balance(new Amount(Money.format(balance), currency, DebitCreditEnum.CREDIT))
+        .sequence(sequence)
+        .build());
+  }
+
+  /**
+   * Returns a page of the history of the given user, oldest event first.
+   * @param userId
+   * @param transactionType only return events of this type, any type if null
+   * @param from only return events created at or after this time, no lower bound if null
+   * @param to only return events created before this time, no upper bound if null
+   * @param cursor nextCursor of the previous page, null for the first page
+   * @param limit maximum number of events to return
+   * @return {@link AccountEvents} whose nextCursor is null on the last page
+   * @throws IllegalArgumentException if the cursor is not one returned by this service
+   */
+  public AccountEvents getEvents(String userId, TransactionTypeEnum transactionType,
+      LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+    long sequence = getSequence();
+    int version = eventStore.getStreamVersion(userId);
+    int start = cursor == null ? 0 : decodeCursor(cursor);
+    if (from != null) {
+      start = Math.max(start, firstVersionAtOrAfter(userId, from, version));
+    }
+    int end = to == null ? version : firstVersionAtOrAfter(userId, to, version);
+
+    // one more event than the page is read to know whether there is a next page
+    List<AccountEvent> events = new ArrayList<>();
+    if (start < end) {
+      if (transactionType == null) {
+        List<TransactionEvent> stream = eventStore.getEvents(userId, start,
+            Math.min(limit + 1, end - start));
+        for (int i = 0; i < stream.size(); i++) {
+          events.add(accountEvent(stream.get(i), start + i));
+        }
+      } else {
+        for (int eventVersion : eventStore.findVersions(userId, transactionType, start,
+            limit + 1)) {
+          if (eventVersion >= end) {
+            break;
+          }
+          events.add(accountEvent(eventStore.getEvents(userId, eventVersion, 1).get(0),
+              eventVersion));
+        }
+      }
+    }
+
+    String nextCursor = null;
+    if (events.size() > limit) {
+      events = events.subList(0, limit);
+      nextCursor = encodeCursor(events.get(limit - 1).getVersion() + 1);
+    }
+    return AccountEvents.builder()
+        .userId(userId)
+        .events(events)
+        .nextCursor(nextCursor)
+        .sequence(sequence)
+        .build();
+  }
+
+  // Returns the sequence of the primary's log on a replica, or of the local log otherwise.
+  private long getSequence() {
+    return replicaTailer.map(ReplicaTailer::getAppliedSequence)
+        .orElseGet(eventStore::getSequence);
+  }
+
+  // Binary search of the first version of the stream created at or after the given time, or the
+  // stream version if there is none. Only exact while the stream is in createdTime order.
+  private int firstVersionAtOrAfter(String userId, LocalDateTime time, int version) {
+    int low = 0;
+    int high = version;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      LocalDateTime createdTime = LocalDateTime.parse(
+          eventStore.getEvents(userId, middle, 1).get(0).getCreatedTime());
+      if (createdTime.isBefore(time)) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static String encodeCursor(int version) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(Integer.toString(version).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static int decodeCursor(String cursor) {
+    try {
+      int version = Integer.parseInt(
+          new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+      if (version < 0) {
+        throw new IllegalArgumentException("cursor is not valid");
+      }
+      return version;
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("cursor is not valid", e);
+    }
+  }
+
+  private static AccountEvent accountEvent(TransactionEvent event, int version) {
+    DebitCreditEnum debitOrCredit = event.getTransactionType() == TransactionTypeEnum.LOAD
+        ? DebitCreditEnum.CREDIT : DebitCreditEnum.DEBIT;
+    return AccountEvent.builder()
+        .version(version)
+        .id(event.getId().toString())
+        .createdTime(event.getCreatedTime())
+        .messageId(event.getMessageId())
+        .transactionType(event.getTransactionType())
+        .amount(new Amount(Money.format(event.getAmount()), event.getCurrency(), debitOrCredit))
+        .responseCode(event.getResponse())
+        .build();
+  }
+}
@@ -0,0 +1,214 @@
+package com.peterso.esledgerbankingserver.service;
+
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded index of the recently processed messages, keyed on (userId, messageId, transactionType),
+ * used to answer a retried request with its original outcome instead of appending a new event. A
+ * messageId reused under the other transaction type is a different message, and remembering it
+ * does not replace the outcome of the first one.
+ * Contains the:
+ * - event that was saved for the message
+ * - balance of the user right after that event
+ * Entries are evicted once they are older than the time to live or once the index holds more than
+ * its maximum size, oldest first. On creation the index is rebuilt from the tail of the
+ * {@link EventStore}.
+ */
+@Component
+public class IdempotencyCache {
+
+  private static final int SEGMENTS = 64;
+
+  private final Segment[] segments;
+  private final int segmentCapacity;
+  private final long ttlMillis;
+
+  /**
+   * Creates the index and rebuilds it from the last events of the given EventStore.
+   * @param eventStore {@link EventStore} to rebuild the index from
+   * @param balanceProjection {@link BalanceProjection} up to date with the eventStore
+   * @param maxSize maximum number of remembered messages, 0 disables deduplication
+   * @param ttl how long a message is remembered
+   */
+  @Autowired
+  public IdempotencyCache(EventStore eventStore, BalanceProjection balanceProjection,
+      @Value("${ledger.dedup.max-size:1000000}") int maxSize,
+      @Value("${ledger.dedup.ttl:24h}") Duration ttl) {
+    this.segments = new Segment[maxSize > 0 ? SEGMENTS : 0];
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = new Segment();
+    }
+    this.segmentCapacity = Math.max(1, (maxSize + SEGMENTS - 1) / SEGMENTS);
+    this.ttlMillis = ttl.toMillis();
+    if (maxSize > 0) {
+      rebuild(eventStore, balanceProjection, maxSize);
+    }
+  }
+
+  /**
+   * Returns the entry remembered for the given message.
+   * @param userId
+   * @param messageId
+   * @param transactionType of the message
+   * @return {@link Entry}, or null if the message was not processed or has been evicted
+   */
+  public Entry get(String userId, String messageId, TransactionTypeEnum transactionType) {
+    if (segments.length == 0) {
+      return null;
+    }
+    Key key = new Key(userId, messageId, transactionType);
+    Segment segment = segmentFor(key);
+    segment.lock.lock();
+    try {
+      Entry entry = segment.entries.get(key);
+      return entry == null || entry.expiresAt < System.currentTimeMillis() ? null : entry;
+    } finally {
+      segment.lock.unlock();
+    }
+  }
+
+  /**
+   * Remembers the outcome of a message once its event has been saved.
+   * @param event {@link TransactionEvent} saved for the message
+   * @param balance balance of the user right after the event, in minor units
+   */
+  public void put(TransactionEvent event, long balance) {
+    put(event, balance, System.currentTimeMillis() + ttlMillis);
+  }
+
+  /**
+   * Forgets the outcome remembered for the message of the given event, if that event is still the
+   * one remembered, so a retry of a message whose event could not be saved is processed again.
+   * @param event {@link TransactionEvent} that was remembered but not saved
+   */
+  public void remove(TransactionEvent event) {
+    if (segments.length == 0) {
+      return;
+    }
+    Key key = new Key(event.getUserId(), event.getMessageId(), event.getTransactionType());
+    Segment segment = segmentFor(key);
+    segment.lock.lock();
+    try {
+      Entry entry = segment.entries.get(key);
+      if (entry != null && entry.event() == event) {
+        segment.entries.remove(key);
+      }
+    } finally {
+      segment.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of remembered messages, including expired ones not evicted yet.
+   * @return number of entries
+   */
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      segment.lock.lock();
+      try {
+        size += segment.entries.size();
+      } finally {
+        segment.lock.unlock();
+      }
+    }
+    return size;
+  }
+
+  private void put(TransactionEvent event, long balance, long expiresAt) {
+    if (segments.length == 0) {
+      return;
+    }
+    Key key = new Key(event.getUserId(), event.getMessageId(), event.getTransactionType());
+    Segment segment = segmentFor(key);
+    segment.lock.lock();
+    try {
+      // re-inserted keys move to the tail so the insertion order stays the expiry order
+      segment.entries.remove(key);
+      segment.entries.put(key, new Entry(event, balance, expiresAt));
+      // entries are kept in insertion order, so the expired ones are always at the head
+      long now = System.currentTimeMillis();
+      Iterator<Entry> iterator = segment.entries.values().iterator();
+      while (iterator.hasNext()) {
+        Entry eldest = iterator.next();
+        if (segment.entries.size() <= segmentCapacity && eldest.expiresAt >= now) {
+          break;
+        }
+        iterator.remove();
+      }
+    } finally {
+      segment.lock.unlock();
+    }
+  }
+
+  // Walks the last events backwards from the current balances so the balance right after each
+  // event is known without replaying the whole log, then inserts them oldest first.
+  private void rebuild(EventStore eventStore, BalanceProjection balanceProjection, int maxSize) {
+    List<TransactionEvent> tail = eventStore.getEventsSince(
+        Math.max(0, eventStore.getSequence() - maxSize));
+    long[] balances = new long[tail.size()];
+    Map<String, Long> runningBalances = new HashMap<>();
+    for (int i = tail.size() - 1; i >= 0; i--) {
+      TransactionEvent event = tail.get(i);
+      long balance = runningBalances.computeIfAbsent(event.getUserId(),
+          balanceProjection::getBalance);
+      balances[i] = balance;
+      runningBalances.put(event.getUserId(), balance - BalanceProjection.signedAmount(event));
+    }
+
+    long now = System.currentTimeMillis();
+    for (int i = 0; i < tail.size(); i++) {
+      TransactionEvent event = tail.get(i);
+      long expiresAt = createdMillis(event) + ttlMillis;
+      if (expiresAt >= now) {
+        put(event, balances[i], expiresAt);
+      }
+    }
+  }
+
+  private static long createdMillis(TransactionEvent event) {
+    return LocalDateTime.parse(event.getCreatedTime())
+        .atZone(ZoneId.systemDefault())
+        .toInstant()
+        .toEpochMilli();
+  }
+
+  private Segment segmentFor(Key key) {
+    int hash = key.hashCode();
+    return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+  }
+
+  /**
+   * Outcome of a processed message.
+   * @param event {@link TransactionEvent} saved for the message
+   * @param balance balance of the user right after the event, in minor units
+   * @param expiresAt epoch millis after which the entry is no longer used
+   */
+  public record Entry(TransactionEvent event, long balance, long expiresAt) {
+  }
+
+  private record Key(String userId, String messageId, TransactionTypeEnum transactionType) {
+  }
+
+  private static final class Segment {
+
+    private final Lock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>();
+  }
+}
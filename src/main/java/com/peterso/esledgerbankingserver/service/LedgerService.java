@@ -1,7 +1,6 @@
 package com.peterso.esledgerbankingserver.service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import com.peterso.esledgerbankingserver.time.LedgerClock;
 import lombok.NoArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,13 +12,11 @@ import org.springframework.stereotype.Service;
 public class LedgerService {
 
   /**
-   * Returns the local date time as a string formatted to fit the schema guideline.
+   * Returns the local date time as a string formatted to fit the schema guideline, taken from
+   * the {@link LedgerClock} which formats it once per millisecond.
    * @return
    */
   public String getServerTime() {
-    LocalDateTime serverTime = LocalDateTime.now();
-
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-    return serverTime.format(formatter);
+    return LedgerClock.serverTime();
   }
 }
\ No newline at end of file
@@ -0,0 +1,359 @@
+package com.peterso.esledgerbankingserver.service;
+
+import com.peterso.esledgerbankingserver.model.dto.BatchItem;
+import com.peterso.esledgerbankingserver.model.dto.BatchItemResult;
+import com.peterso.esledgerbankingserver.model.dto.PipelineStats;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Single-writer command pipeline in front of the transaction processing, in the style of the LMAX
+ * disruptor. Users are spread over a fixed number of partitions by userId, and each partition owns
+ * a pre-allocated ring buffer of command slots and the one thread that decides the transactions
+ * of its users, so balance checks need no lock.
+ * Publishers claim a slot by sequence, write their items into it and wait for the reply in the
+ * same slot, which is only reused once the publisher has read it. The partition thread drains
+ * every published command at once and runs them through the processor as one batch: deciding them
+ * in sequence order, saving their events as one append, applying them to the projection and
+ * finally replying to each publisher. Each partition also keeps its queue depth, throughput and
+ * busiest users for the '/ledger/pipeline' admin view.
+ * The partitions only split the deciding of transactions: they all append to the same event log
+ * and fold into the same balance projection, whose single sequence the snapshots, the dedup
+ * rebuild and the replica feed rely on, so throughput stops growing with partitions once the
+ * shared append is the bottleneck.
+ */
+final class TransactionPipeline implements Closeable {
+
+  private static final int SPINS = 100;
+  private static final int HOT_ACCOUNTS = 8;
+  private static final long STATS_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+  // claimed sequence of a partition whose thread has stopped, no sequence is claimed after it
+  private static final long CLOSED = Long.MIN_VALUE;
+
+  private final Function<List<BatchItem>, List<BatchItemResult>> processor;
+  private final Partition[] partitions;
+
+  /**
+   * Creates the partitions and starts their threads.
+   * @param processor decides, saves and applies a batch of items, all owned by one partition
+   * @param partitions number of partitions, and of business logic threads
+   * @param ringSize number of slots of each ring buffer, rounded up to a power of two
+   */
+  TransactionPipeline(Function<List<BatchItem>, List<BatchItemResult>> processor, int partitions,
+      int ringSize) {
+    this.processor = processor;
+    this.partitions = new Partition[partitions];
+    int size = Integer.highestOneBit(Math.max(2, ringSize) - 1) << 1;
+    for (int i = 0; i < partitions; i++) {
+      this.partitions[i] = new Partition(i, size);
+    }
+  }
+
+  /**
+   * Returns the partition owning the given user's account.
+   * @param userId
+   * @return index of the partition
+   */
+  int partition(String userId) {
+    int hash = userId.hashCode();
+    return Math.floorMod(hash ^ (hash >>> 16), partitions.length);
+  }
+
+  /**
+   * Publishes the items into the partition's ring buffer and waits for their results.
+   * @param partition index of the partition owning every item's user
+   * @param items to process in order
+   * @return list of {@link BatchItemResult} in the same order as the items
+   */
+  List<BatchItemResult> submit(int partition, List<BatchItem> items) {
+    Partition owner = partitions[partition];
+    long sequence = owner.publish(items, null);
+    Slot slot = owner.slot(sequence);
+    while (!slot.done) {
+      LockSupport.park(this);
+    }
+
+    List<BatchItemResult> results = slot.results;
+    RuntimeException failure = slot.failure;
+    owner.release(slot, sequence);
+    if (failure != null) {
+      throw failure;
+    }
+    return results;
+  }
+
+  /**
+   * Publishes the items into the partition's ring buffer without waiting for their results.
+   * @param partition index of the partition owning every item's user
+   * @param items to process in order
+   * @return future of the list of {@link BatchItemResult} in the same order as the items
+   */
+  CompletableFuture<List<BatchItemResult>> submitAsync(int partition, List<BatchItem> items) {
+    CompletableFuture<List<BatchItemResult>> reply = new CompletableFuture<>();
+    partitions[partition].publish(items, reply);
+    return reply;
+  }
+
+  /**
+   * Returns the statistics of every partition, read without stopping the partition threads.
+   * @return list of {@link PipelineStats} ordered by partition index
+   */
+  List<PipelineStats> stats() {
+    List<PipelineStats> stats = new ArrayList<>(partitions.length);
+    long now = System.nanoTime();
+    for (int i = 0; i < partitions.length; i++) {
+      Partition partition = partitions[i];
+      // a partition that has been idle for a whole window has had no throughput since
+      boolean recent = now - partition.windowEnd < 2 * STATS_WINDOW_NANOS;
+      stats.add(PipelineStats.builder()
+          .partition(i)
+          .queueDepth(Math.max(0, partition.claimed.get() - partition.consumed))
+          .processedItems(partition.processedItems)
+          .throughput(recent ? partition.throughput : 0)
+          .hotAccounts(recent ? partition.hotAccounts : List.of())
+          .build());
+    }
+    return stats;
+  }
+
+  /**
+   * Stops the partition threads once every claimed command has been processed. A command claimed
+   * while the pipeline closes is still processed, and a later one is refused.
+   */
+  @Override
+  public void close() {
+    for (Partition partition : partitions) {
+      partition.running = false;
+      LockSupport.unpark(partition.thread);
+    }
+    for (Partition partition : partitions) {
+      try {
+        partition.thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private static void idle(int spins) {
+    if (spins < SPINS) {
+      Thread.onSpinWait();
+    } else {
+      Thread.yield();
+    }
+  }
+
+  // A reusable command slot. For round r of a ring of size n, slot i holds sequence s = r * n + i:
+  // it is free for s while sequence == s, published while sequence == s + 1, and freed for the
+  // next round by setting sequence to s + n.
+  private static final class Slot {
+
+    private volatile long sequence;
+    private volatile boolean done;
+    private List<BatchItem> items;
+    private CompletableFuture<List<BatchItemResult>> reply;
+    private Thread waiter;
+    private List<BatchItemResult> results;
+    private RuntimeException failure;
+  }
+
+  private final class Partition implements Runnable {
+
+    private final Slot[] ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean waiting;
+    private volatile long consumed;
+    private volatile long processedItems;
+    private volatile long windowEnd = System.nanoTime();
+    private volatile double throughput;
+    private volatile List<PipelineStats.HotAccount> hotAccounts = List.of();
+    // only touched by the partition thread
+    private final Map<String, Long> windowAccounts = new HashMap<>();
+    private long windowItems;
+
+    private Partition(int index, int size) {
+      this.ring = new Slot[size];
+      for (int i = 0; i < size; i++) {
+        ring[i] = new Slot();
+        ring[i].sequence = i;
+      }
+      this.mask = size - 1;
+      this.thread = new Thread(this, "transaction-pipeline-" + index);
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    private Slot slot(long sequence) {
+      return ring[(int) sequence & mask];
+    }
+
+    // Claims the next sequence, waits for its slot to be free and publishes the command in it.
+    private long publish(List<BatchItem> items,
+        CompletableFuture<List<BatchItemResult>> reply) {
+      // the partition thread only stops once it has closed the claims, so a claimed sequence is
+      // always consumed
+      long sequence;
+      do {
+        sequence = claimed.get();
+        if (sequence == CLOSED || !running) {
+          throw new IllegalStateException("Transaction pipeline is closed");
+        }
+      } while (!claimed.compareAndSet(sequence, sequence + 1));
+      Slot slot = slot(sequence);
+      for (int spins = 0; slot.sequence != sequence; spins++) {
+        idle(spins);
+      }
+
+      slot.items = items;
+      slot.reply = reply;
+      slot.waiter = reply == null ? Thread.currentThread() : null;
+      slot.done = false;
+      slot.sequence = sequence + 1;
+      if (waiting) {
+        LockSupport.unpark(thread);
+      }
+      return sequence;
+    }
+
+    private void release(Slot slot, long sequence) {
+      slot.items = null;
+      slot.reply = null;
+      slot.waiter = null;
+      slot.results = null;
+      slot.failure = null;
+      slot.sequence = sequence + ring.length;
+    }
+
+    @Override
+    public void run() {
+      Slot[] batch = new Slot[ring.length];
+      List<BatchItem> items = new ArrayList<>();
+      long next = 0;
+      int spins = 0;
+      while (true) {
+        // drain every command published so far, in sequence order
+        int count = 0;
+        while (count < ring.length && slot(next + count).sequence == next + count + 1) {
+          batch[count] = slot(next + count);
+          count++;
+        }
+
+        if (count == 0) {
+          // stops unless a publisher claimed a sequence it has not published yet
+          if (!running && claimed.compareAndSet(next, CLOSED)) {
+            return;
+          }
+          if (spins++ < SPINS) {
+            Thread.onSpinWait();
+            continue;
+          }
+          // re-check after announcing the wait so a publisher either sees it or is seen
+          waiting = true;
+          if (slot(next).sequence != next + 1 && running) {
+            LockSupport.park(this);
+          }
+          waiting = false;
+          continue;
+        }
+        spins = 0;
+
+        items.clear();
+        for (int i = 0; i < count; i++) {
+          items.addAll(batch[i].items);
+        }
+        List<BatchItemResult> results = null;
+        RuntimeException failure = null;
+        try {
+          results = processor.apply(items);
+        } catch (RuntimeException e) {
+          failure = e;
+        } catch (Error e) {
+          // keep the partition alive so its publishers are answered rather than left waiting
+          failure = new IllegalStateException("Unable to process transactions", e);
+        }
+
+        record(items);
+        // counted as consumed before the replies so a publisher never sees its own command queued
+        consumed = next + count;
+
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+          Slot slot = batch[i];
+          int size = slot.items.size();
+          reply(slot, next + i, results == null ? null : results.subList(offset, offset + size),
+              failure);
+          offset += size;
+          batch[i] = null;
+        }
+        next += count;
+      }
+    }
+
+    // Counts the processed items and their users, publishing the throughput and the hot accounts
+    // once per window. Users are counted with the space-saving algorithm, which keeps the few
+    // busiest users of the window in a fixed number of counters.
+    private void record(List<BatchItem> items) {
+      for (BatchItem item : items) {
+        String userId = TransactionService.userId(item);
+        Long count = windowAccounts.get(userId);
+        if (count != null || windowAccounts.size() < HOT_ACCOUNTS) {
+          windowAccounts.put(userId, count == null ? 1 : count + 1);
+        } else {
+          Map.Entry<String, Long> coldest = Collections.min(windowAccounts.entrySet(),
+              Map.Entry.comparingByValue());
+          windowAccounts.remove(coldest.getKey());
+          windowAccounts.put(userId, coldest.getValue() + 1);
+        }
+      }
+      windowItems += items.size();
+      processedItems += items.size();
+
+      long now = System.nanoTime();
+      long elapsed = now - windowEnd;
+      if (elapsed >= STATS_WINDOW_NANOS) {
+        throughput = windowItems * 1e9 / elapsed;
+        hotAccounts = windowAccounts.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .map(entry -> new PipelineStats.HotAccount(entry.getKey(), entry.getValue()))
+            .toList();
+        windowAccounts.clear();
+        windowItems = 0;
+        windowEnd = now;
+      }
+    }
+
+    private void reply(Slot slot, long sequence, List<BatchItemResult> results,
+        RuntimeException failure) {
+      CompletableFuture<List<BatchItemResult>> reply = slot.reply;
+      if (reply != null) {
+        // nobody waits on the slot, so it is freed before the reply runs its callbacks
+        release(slot, sequence);
+        if (failure != null) {
+          reply.completeExceptionally(failure);
+        } else {
+          reply.complete(results);
+        }
+        return;
+      }
+
+      Thread waiter = slot.waiter;
+      slot.results = results;
+      slot.failure = failure;
+      slot.done = true;
+      LockSupport.unpark(waiter);
+    }
+  }
+}
@@ -1,145 +1,586 @@
 package com.peterso.esledgerbankingserver.service;
 
+import com.peterso.esledgerbankingserver.metrics.LedgerMetrics;
+import com.peterso.esledgerbankingserver.model.Money;
 import com.peterso.esledgerbankingserver.model.dto.Amount;
 import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
 import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.BatchItem;
+import com.peterso.esledgerbankingserver.model.dto.BatchItemResult;
 import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
 import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
 import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.model.dto.PipelineStats;
 import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
 import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
 import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
 import com.peterso.esledgerbankingserver.repository.EventStore;
-import java.math.BigDecimal;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import lombok.AllArgsConstructor;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Lock;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
  * The service for the transaction business logic of the ledger service.
+ * Amounts are parsed into minor units (see {@link Money}) once when a request enters the service
+ * and are only formatted back to strings when the response is built.
  */
 @Service
-@AllArgsConstructor
 public class TransactionService {
 
+  private final EventStore inMemoryEventStore;
+  private final BalanceProjection balanceProjection;
+  private final AccountLocks accountLocks;
+  private final IdempotencyCache idempotencyCache;
+  private final TransactionPipeline pipeline;
+  private final LedgerMetrics metrics;
+
+  /**
+   * Creates the service with a {@link BalanceProjection} and an {@link IdempotencyCache} rebuilt
+   * from the given EventStore.
+   *
+   * @param inMemoryEventStore {@link EventStore}
+   */
+  public TransactionService(EventStore inMemoryEventStore) {
+    this(inMemoryEventStore, new BalanceProjection(inMemoryEventStore));
+  }
+
+  private TransactionService(EventStore inMemoryEventStore, BalanceProjection balanceProjection) {
+    this(inMemoryEventStore, balanceProjection, new AccountLocks(),
+        new IdempotencyCache(inMemoryEventStore, balanceProjection, 1_000_000,
+            Duration.ofHours(24)));
+  }
+
+  public TransactionService(EventStore inMemoryEventStore, BalanceProjection balanceProjection,
+      AccountLocks accountLocks, IdempotencyCache idempotencyCache) {
+    this(inMemoryEventStore, balanceProjection, accountLocks, idempotencyCache, 0, 0);
+  }
+
+  public TransactionService(EventStore inMemoryEventStore, BalanceProjection balanceProjection,
+      AccountLocks accountLocks, IdempotencyCache idempotencyCache, int pipelinePartitions,
+      int pipelineRingSize) {
+    this(inMemoryEventStore, balanceProjection, accountLocks, idempotencyCache, pipelinePartitions,
+        pipelineRingSize, LedgerMetrics.NOOP);
+  }
+
+  /**
+   * Creates the service, serving transactions either under the {@link AccountLocks} or, with
+   * pipeline partitions, through a {@link TransactionPipeline} in which each partition thread
+   * owns the accounts of its users.
+   *
+   * @param inMemoryEventStore {@link EventStore}
+   * @param balanceProjection {@link BalanceProjection} up to date with the eventStore
+   * @param accountLocks {@link AccountLocks}
+   * @param idempotencyCache {@link IdempotencyCache}
+   * @param pipelinePartitions number of pipeline partitions, 0 serves transactions under locks
+   * @param pipelineRingSize number of command slots of each partition
+   * @param metrics {@link LedgerMetrics} recording balance reads, appends and authorizations
+   */
   @Autowired
-  private EventStore inMemoryEventStore;
+  public TransactionService(EventStore inMemoryEventStore, BalanceProjection balanceProjection,
+      AccountLocks accountLocks, IdempotencyCache idempotencyCache,
+      @Value("${ledger.pipeline.partitions:0}") int pipelinePartitions,
+      @Value("${ledger.pipeline.ring-size:1024}") int pipelineRingSize, LedgerMetrics metrics) {
+    this.inMemoryEventStore = inMemoryEventStore;
+    this.balanceProjection = balanceProjection;
+    this.accountLocks = accountLocks;
+    this.idempotencyCache = idempotencyCache;
+    this.metrics = metrics;
+    this.pipeline = pipelinePartitions > 0
+        ? new TransactionPipeline(this::process, pipelinePartitions, pipelineRingSize)
+        : null;
+  }
 
   /**
    * Processes a LoadRequest made by the client by making a representative event, saving the event
    * in the eventStore, and responding with a LoadResponse with the user's updated balance.
+   * A retried request (same userId and messageId) is answered with its original response.
    *
    * @param command {@link LoadRequest}
    * @return {@link LoadResponse}
    */
   public LoadResponse handleLoadRequest(LoadRequest command) {
     String userId = command.getUserId();
-    String messageId = command.getMessageId();
-    Amount commandAmount = command.getTransactionAmount();
-
-    // create event with corresponding data
-    TransactionEvent event = TransactionEvent.builder()
-        .transactionType(TransactionTypeEnum.LOAD)
-        .messageId(command.getMessageId())
-        .amount(commandAmount)
-        .userId(userId)
-        .response(ResponseCodeEnum.APPROVED)
-        .build();
+    if (pipeline != null) {
+      return pipeline.submit(pipeline.partition(userId),
+          List.of(BatchItem.builder().load(command).build())).get(0).getLoad();
+    }
 
-    // save event to eventStore
-    inMemoryEventStore.saveEvent(event);
+    // create the event, save it to eventStore, fold it into the balance projection and retrieve
+    // the updated user balance while holding the user's lock, unless the message was already
+    // processed; the event is created under the lock so the user's events are in time order
+    TransactionEvent event;
+    long newUserBalance;
+    Lock lock = accountLocks.lockFor(userId);
+    lock.lock();
+    try {
+      IdempotencyCache.Entry processed = processed(userId, command.getMessageId(),
+          TransactionTypeEnum.LOAD);
+      if (processed != null) {
+        return loadResponse(processed.event(), processed.balance());
+      }
 
-    // retrieve updated user balance
-    BigDecimal newUserBalance = this.getBalance(userId);
+      int version = inMemoryEventStore.getStreamVersion(userId);
+      event = loadEvent(command);
+      saveEvent(event, version);
+      balanceProjection.apply(event);
+      newUserBalance = this.getBalance(userId);
+      idempotencyCache.put(event, newUserBalance);
+    } finally {
+      lock.unlock();
+    }
 
     // return with the corresponding LoadResponse
-    return LoadResponse.builder()
-        .userId(event.getUserId())
-        .messageId(event.getMessageId())
-        .balance(Amount.builder()
-            .amount(newUserBalance.toPlainString())
-            .currency(event.getAmount().getCurrency())
-            .debitOrCredit(DebitCreditEnum.CREDIT)
-            .build())
-        .build();
+    return loadResponse(event, newUserBalance);
   }
 
   /**
    * Processes an AuthorizationRequest made by the client by making a representative event, saving
    * the event in the eventStore, and responding with a LoadResponse with the user's updated
-   * balance.
+   * balance. A retried request (same userId and messageId) is answered with its original response.
    *
    * @param command {@link AuthorizationRequest}
    * @return {@link AuthorizationResponse}
    */
   public AuthorizationResponse handleAuthorizationRequest(AuthorizationRequest command) {
     String userId = command.getUserId();
-    String messageId = command.getMessageId();
-    Amount commandAmount = command.getTransactionAmount();
+    if (pipeline != null) {
+      return pipeline.submit(pipeline.partition(userId),
+          List.of(BatchItem.builder().authorization(command).build())).get(0).getAuthorization();
+    }
 
-    // Build base event for authorization
-    TransactionEvent event = TransactionEvent.builder()
-        .messageId(command.getMessageId())
-        .userId(userId)
-        .transactionType(TransactionTypeEnum.AUTHORIZATION)
-        .amount(commandAmount)
-        .build();
+    // the balance check and the save are done while holding the user's lock so that concurrent
+    // authorizations cannot both spend the same balance
+    TransactionEvent event;
+    long newUserBalance;
+    Lock lock = accountLocks.lockFor(userId);
+    lock.lock();
+    try {
+      IdempotencyCache.Entry processed = processed(userId, command.getMessageId(),
+          TransactionTypeEnum.AUTHORIZATION);
+      if (processed != null) {
+        return authorizationResponse(processed.event(), processed.balance());
+      }
+
+      // retrieve current user balance and build the approved or declined event
+      int version = inMemoryEventStore.getStreamVersion(userId);
+      event = authorizationEvent(command, this.getBalance(userId));
 
-    // retrieve current user balance
-    BigDecimal userBalance = this.getBalance(userId);
+      // save event into the eventStore, unless another writer appended to the user's stream since
+      // the balance was read, and fold it into the balance projection
+      saveEvent(event, version);
+      metrics.countAuthorization(event.getResponse());
+      balanceProjection.apply(event);
 
-    // retrieve authorization amount
-    BigDecimal commandAmountBD = new BigDecimal(commandAmount.getAmount());
+      // retrieve updated user balance
+      newUserBalance = this.getBalance(userId);
+      idempotencyCache.put(event, newUserBalance);
+    } finally {
+      lock.unlock();
+    }
 
-    // compare authorization amount with current balance to decide if authorization
-    // is approved or declined and update the event.
-    if (commandAmountBD.compareTo(userBalance) > 0) {
-      event = event.withResponse(ResponseCodeEnum.DECLINED);
-    } else {
-      event = event.withResponse(ResponseCodeEnum.APPROVED);
+    // return the corresponding AuthorizationResponse
+    return authorizationResponse(event, newUserBalance);
+  }
+
+  /**
+   * Processes a LoadRequest like {@link #handleLoadRequest(LoadRequest)} without waiting for the
+   * event to be saved. The event is folded into the balance projection as soon as its append is
+   * made, so the user's next request is decided against it, and the response is completed once
+   * the append completes. If the append fails, the event is taken back out of the projection and
+   * its message is forgotten before the returned future fails, so a retry is processed again;
+   * requests of the user decided against it in the meantime are not revisited.
+   *
+   * @param command {@link LoadRequest}
+   * @return future of the {@link LoadResponse}
+   */
+  public CompletableFuture<LoadResponse> handleLoadRequestAsync(LoadRequest command) {
+    String userId = command.getUserId();
+    if (pipeline != null) {
+      return pipeline.submitAsync(pipeline.partition(userId),
+              List.of(BatchItem.builder().load(command).build()))
+          .thenApply(results -> results.get(0).getLoad());
     }
 
-    // save event into the eventStore
-    inMemoryEventStore.saveEvent(event);
+    TransactionEvent event;
+    CompletableFuture<Void> saved;
+    long newUserBalance;
+    Lock lock = accountLocks.lockFor(userId);
+    lock.lock();
+    try {
+      IdempotencyCache.Entry processed = processed(userId, command.getMessageId(),
+          TransactionTypeEnum.LOAD);
+      if (processed != null) {
+        return CompletableFuture.completedFuture(
+            loadResponse(processed.event(), processed.balance()));
+      }
 
-    // retrieve updated user balance
-    BigDecimal newUserBalance = this.getBalance(userId);
+      event = loadEvent(command);
+      saved = saveEventsAsync(List.of(event));
+      if (saved.isCompletedExceptionally()) {
+        return saved.thenApply(ignored -> null);
+      }
+      balanceProjection.apply(event);
+      newUserBalance = this.getBalance(userId);
+      idempotencyCache.put(event, newUserBalance);
+    } finally {
+      lock.unlock();
+    }
 
-    // return the corresponding AuthorizationResponse
+    TransactionEvent savedEvent = event;
+    long balance = newUserBalance;
+    return saved
+        .whenComplete((ignored, failure) -> {
+          if (failure != null) {
+            revert(savedEvent);
+          }
+        })
+        .thenApply(ignored -> loadResponse(savedEvent, balance));
+  }
+
+  /**
+   * Processes an AuthorizationRequest like
+   * {@link #handleAuthorizationRequest(AuthorizationRequest)} without waiting for the event to be
+   * saved, in the same way as {@link #handleLoadRequestAsync(LoadRequest)}.
+   *
+   * @param command {@link AuthorizationRequest}
+   * @return future of the {@link AuthorizationResponse}
+   */
+  public CompletableFuture<AuthorizationResponse> handleAuthorizationRequestAsync(
+      AuthorizationRequest command) {
+    String userId = command.getUserId();
+    if (pipeline != null) {
+      return pipeline.submitAsync(pipeline.partition(userId),
+              List.of(BatchItem.builder().authorization(command).build()))
+          .thenApply(results -> results.get(0).getAuthorization());
+    }
+
+    TransactionEvent event;
+    CompletableFuture<Void> saved;
+    long newUserBalance;
+    Lock lock = accountLocks.lockFor(userId);
+    lock.lock();
+    try {
+      IdempotencyCache.Entry processed = processed(userId, command.getMessageId(),
+          TransactionTypeEnum.AUTHORIZATION);
+      if (processed != null) {
+        return CompletableFuture.completedFuture(
+            authorizationResponse(processed.event(), processed.balance()));
+      }
+
+      event = authorizationEvent(command, this.getBalance(userId));
+      saved = saveEventsAsync(List.of(event));
+      if (saved.isCompletedExceptionally()) {
+        return saved.thenApply(ignored -> null);
+      }
+      metrics.countAuthorization(event.getResponse());
+      balanceProjection.apply(event);
+      newUserBalance = this.getBalance(userId);
+      idempotencyCache.put(event, newUserBalance);
+    } finally {
+      lock.unlock();
+    }
+
+    TransactionEvent savedEvent = event;
+    long balance = newUserBalance;
+    return saved
+        .whenComplete((ignored, failure) -> {
+          if (failure != null) {
+            revert(savedEvent);
+          }
+        })
+        .thenApply(ignored -> authorizationResponse(savedEvent, balance));
+  }
+
+  /**
+   * Processes an ordered batch of loads and authorizations. The accounts of every user in the
+   * batch are locked for the whole batch, the items are decided in order against a running
+   * balance per user, and all the resulting events are saved in the eventStore as a single
+   * append. Items whose message was already processed, before or earlier in the batch, are
+   * answered with the original response and save no event.
+   * With the pipeline, the items are split by partition and each partition's items are decided on
+   * its thread and saved as their own append, so a batch spanning partitions is durable per
+   * partition rather than as a whole. Every item only touches its own user's account, so the
+   * decisions are the same either way.
+   *
+   * @param items list of {@link BatchItem}, each holding exactly one valid request
+   * @return list of {@link BatchItemResult} in the same order as the items
+   */
+  public List<BatchItemResult> handleBatch(List<BatchItem> items) {
+    if (pipeline != null) {
+      return handleBatchInPipeline(items);
+    }
+
+    List<String> userIds = new ArrayList<>(items.size());
+    for (BatchItem item : items) {
+      userIds.add(userId(item));
+    }
+
+    List<Lock> locks = accountLocks.locksFor(userIds);
+    locks.forEach(Lock::lock);
+    try {
+      return process(items);
+    } finally {
+      for (int i = locks.size() - 1; i >= 0; i--) {
+        locks.get(i).unlock();
+      }
+    }
+  }
+
+  /**
+   * Stops the pipeline threads, if any, once the transactions published to them are processed.
+   */
+  @PreDestroy
+  public void close() {
+    if (pipeline != null) {
+      pipeline.close();
+    }
+  }
+
+  // Splits the batch by pipeline partition, processes the parts in parallel, each saved as one
+  // append, and puts the results back in the order of the items.
+  private List<BatchItemResult> handleBatchInPipeline(List<BatchItem> items) {
+    Map<Integer, List<Integer>> indexesByPartition = new HashMap<>();
+    for (int i = 0; i < items.size(); i++) {
+      indexesByPartition.computeIfAbsent(pipeline.partition(userId(items.get(i))),
+          partition -> new ArrayList<>()).add(i);
+    }
+    if (indexesByPartition.size() <= 1) {
+      return indexesByPartition.isEmpty() ? List.of()
+          : pipeline.submit(indexesByPartition.keySet().iterator().next(), items);
+    }
+
+    Map<Integer, CompletableFuture<List<BatchItemResult>>> replies = new HashMap<>();
+    indexesByPartition.forEach((partition, indexes) -> replies.put(partition,
+        pipeline.submitAsync(partition, indexes.stream().map(items::get).toList())));
+    BatchItemResult[] results = new BatchItemResult[items.size()];
+    indexesByPartition.forEach((partition, indexes) -> {
+      List<BatchItemResult> partitionResults = join(replies.get(partition));
+      for (int i = 0; i < indexes.size(); i++) {
+        results[indexes.get(i)] = partitionResults.get(i);
+      }
+    });
+    return Arrays.asList(results);
+  }
+
+  // Decides the items in order against a running balance per user, saves their events as one
+  // append, folds them into the balance projection and remembers their messages. The caller
+  // must own the accounts of every item, either by holding their locks or by being the pipeline
+  // thread of their partition.
+  private List<BatchItemResult> process(List<BatchItem> items) {
+    // decide every item in order against a running balance per user
+    Map<String, Long> balances = new HashMap<>();
+    Map<String, IdempotencyCache.Entry> decided = new HashMap<>();
+    List<TransactionEvent> events = new ArrayList<>(items.size());
+    List<IdempotencyCache.Entry> entries = new ArrayList<>(items.size());
+    List<BatchItemResult> results = new ArrayList<>(items.size());
+    for (BatchItem item : items) {
+      if (item.getLoad() != null) {
+        LoadRequest load = item.getLoad();
+        IdempotencyCache.Entry entry = batchProcessed(decided, load.getUserId(),
+            load.getMessageId(), TransactionTypeEnum.LOAD);
+        if (entry == null) {
+          TransactionEvent event = loadEvent(load);
+          long balance = balances.computeIfAbsent(event.getUserId(), this::getBalance)
+              + BalanceProjection.signedAmount(event);
+          balances.put(event.getUserId(), balance);
+          events.add(event);
+          entry = new IdempotencyCache.Entry(event, balance, 0);
+          entries.add(entry);
+          decided.put(messageKey(load.getUserId(), load.getMessageId(),
+              TransactionTypeEnum.LOAD), entry);
+        }
+        results.add(BatchItemResult.builder()
+            .load(loadResponse(entry.event(), entry.balance()))
+            .build());
+      } else {
+        AuthorizationRequest authorization = item.getAuthorization();
+        String userId = authorization.getUserId();
+        IdempotencyCache.Entry entry = batchProcessed(decided, userId,
+            authorization.getMessageId(), TransactionTypeEnum.AUTHORIZATION);
+        if (entry == null) {
+          TransactionEvent event = authorizationEvent(authorization,
+              balances.computeIfAbsent(userId, this::getBalance));
+          long balance = balances.get(userId) + BalanceProjection.signedAmount(event);
+          balances.put(userId, balance);
+          events.add(event);
+          entry = new IdempotencyCache.Entry(event, balance, 0);
+          entries.add(entry);
+          decided.put(messageKey(userId, authorization.getMessageId(),
+              TransactionTypeEnum.AUTHORIZATION), entry);
+        }
+        results.add(BatchItemResult.builder()
+            .authorization(authorizationResponse(entry.event(), entry.balance()))
+            .build());
+      }
+    }
+
+    // save every event as one append, fold them into the balance projection and remember
+    // their messages
+    if (!events.isEmpty()) {
+      long start = System.nanoTime();
+      inMemoryEventStore.saveEvents(events);
+      metrics.recordAppend(System.nanoTime() - start);
+      for (TransactionEvent event : events) {
+        if (event.getTransactionType() == TransactionTypeEnum.AUTHORIZATION) {
+          metrics.countAuthorization(event.getResponse());
+        }
+        balanceProjection.apply(event);
+      }
+      entries.forEach(entry -> idempotencyCache.put(entry.event(), entry.balance()));
+    }
+    return results;
+  }
+
+  /**
+   * Returns the statistics of every pipeline partition, used to spot hot partitions and accounts.
+   *
+   * @return list of {@link PipelineStats} ordered by partition index, empty when transactions are
+   * served under the account locks
+   */
+  public List<PipelineStats> getPipelineStats() {
+    return pipeline != null ? pipeline.stats() : List.of();
+  }
+
+  /**
+   * Returns the balance for the given user from the {@link BalanceProjection}, which is kept up to
+   * date with the events in the eventStore.
+   *
+   * @param userId
+   * @return the final balance of the user in minor units
+   */
+  public long getBalance(String userId) {
+    long start = System.nanoTime();
+    long balance = balanceProjection.getBalance(userId);
+    metrics.recordBalanceRead(System.nanoTime() - start);
+    return balance;
+  }
+
+  // Saves the event in the eventStore if its user's stream is still at the version it was decided
+  // on, timing the append. The user's lock keeps out the other requests of this service, so the
+  // check only fails on a writer outside it, such as the service of an ended cluster leadership.
+  private void saveEvent(TransactionEvent event, int expectedVersion) {
+    long start = System.nanoTime();
+    inMemoryEventStore.append(event.getUserId(), expectedVersion, List.of(event));
+    metrics.recordAppend(System.nanoTime() - start);
+  }
+
+  // Makes the append of the events, timing how long the call takes rather than the completion of
+  // the append.
+  private CompletableFuture<Void> saveEventsAsync(List<TransactionEvent> events) {
+    long start = System.nanoTime();
+    CompletableFuture<Void> saved = inMemoryEventStore.saveEventsAsync(events);
+    metrics.recordAppend(System.nanoTime() - start);
+    return saved;
+  }
+
+  // Takes back an event whose asynchronous append failed, under its user's lock: the balance
+  // projection stops counting it and a retry of its message is processed again. Requests of the
+  // user decided while the append was in flight are not revisited.
+  private void revert(TransactionEvent event) {
+    Lock lock = accountLocks.lockFor(event.getUserId());
+    lock.lock();
+    try {
+      balanceProjection.revert(event);
+      idempotencyCache.remove(event);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Returns the outcome of an already processed message of the same transaction type, a messageId
+  // reused under the other transaction type is a different message.
+  private IdempotencyCache.Entry processed(String userId, String messageId,
+      TransactionTypeEnum transactionType) {
+    return idempotencyCache.get(userId, messageId, transactionType);
+  }
+
+  private IdempotencyCache.Entry batchProcessed(Map<String, IdempotencyCache.Entry> decided,
+      String userId, String messageId, TransactionTypeEnum transactionType) {
+    IdempotencyCache.Entry entry = decided.get(messageKey(userId, messageId, transactionType));
+    return entry != null ? entry : processed(userId, messageId, transactionType);
+  }
+
+  static String userId(BatchItem item) {
+    return item.getLoad() != null ? item.getLoad().getUserId()
+        : item.getAuthorization().getUserId();
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+  }
+
+  private static String messageKey(String userId, String messageId,
+      TransactionTypeEnum transactionType) {
+    return userId + '\n' + messageId + '\n' + transactionType;
+  }
+
+  // Builds the approved event of a load.
+  private TransactionEvent loadEvent(LoadRequest command) {
+    Amount commandAmount = command.getTransactionAmount();
+    return TransactionEvent.builder()
+        .transactionType(TransactionTypeEnum.LOAD)
+        .messageId(command.getMessageId())
+        .amount(Money.parse(commandAmount.getAmount()))
+        .currency(commandAmount.getCurrency())
+        .userId(command.getUserId())
+        .response(ResponseCodeEnum.APPROVED)
+        .build();
+  }
+
+  // Builds the event of an authorization, which is declined when its amount is more than the
+  // user's current balance.
+  private TransactionEvent authorizationEvent(AuthorizationRequest command, long userBalance) {
+    Amount commandAmount = command.getTransactionAmount();
+    long authorizationAmount = Money.parse(commandAmount.getAmount());
+    return TransactionEvent.builder()
+        .messageId(command.getMessageId())
+        .userId(command.getUserId())
+        .transactionType(TransactionTypeEnum.AUTHORIZATION)
+        .amount(authorizationAmount)
+        .currency(commandAmount.getCurrency())
+        .response(authorizationAmount > userBalance ? ResponseCodeEnum.DECLINED
+            : ResponseCodeEnum.APPROVED)
+        .build();
+  }
+
+  private static LoadResponse loadResponse(TransactionEvent event, long balance) {
+    return LoadResponse.builder()
+        .userId(event.getUserId())
+        .messageId(event.getMessageId())
+        .balance(Amount.builder()
+            .amount(Money.format(balance))
+            .currency(event.getCurrency())
+            .debitOrCredit(DebitCreditEnum.CREDIT)
+            .build())
+        .build();
+  }
+
+  private static AuthorizationResponse authorizationResponse(TransactionEvent event,
+      long balance) {
     return AuthorizationResponse.builder()
         .userId(event.getUserId())
         .messageId(event.getMessageId())
         .responseCode(event.getResponse())
         .balance(Amount.builder()
-            .amount(newUserBalance.toPlainString())
-            .currency(event.getAmount().getCurrency())
+            .amount(Money.format(balance))
+            .currency(event.getCurrency())
             .debitOrCredit(DebitCreditEnum.DEBIT)
             .build())
         .build();
   }
-
-  /**
-   * Calculates the balance for the given user by recreating the user's balance through the events
-   *
-   * @param userId
-   * @return the final balance of the user as a BigDecimal
-   */
-  public BigDecimal getBalance(String userId) {
-    List<TransactionEvent> events = inMemoryEventStore.getEventStore();
-
-    BigDecimal userBalance = events.stream()
-        .filter(event -> event.getUserId().equals(userId) &&
-            ResponseCodeEnum.APPROVED == event.getResponse())
-        .map(event -> {
-          BigDecimal amount = new BigDecimal(event.getAmount().getAmount());
-          return switch (event.getTransactionType()) {
-            case LOAD -> amount;
-            case AUTHORIZATION -> amount.negate();
-          };
-        })
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-    return userBalance.setScale(2);
-  }
 }
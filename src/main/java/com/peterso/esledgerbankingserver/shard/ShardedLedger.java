@@ -0,0 +1,127 @@
+package com.peterso.esledgerbankingserver.shard;
+
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.model.dto.PipelineStats;
+import com.peterso.esledgerbankingserver.model.dto.ShardStats;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.InMemoryEventStore;
+import com.peterso.esledgerbankingserver.service.TransactionService;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A ledger split by hash of userId into shards that share nothing: every shard has its own
+ * {@link EventStore}, and a TransactionService with its own balance projection and deduplication
+ * whose single pipeline thread owns the accounts of the shard's users. A request is routed to the
+ * shard of its user, so shards never contend with each other and throughput grows with the
+ * number of shards up to the number of cores.
+ * Each shard's log has its own sequence; there is no global log across the shards.
+ */
+public class ShardedLedger implements Closeable {
+
+  private final List<EventStore> eventStores;
+  private final List<TransactionService> services;
+
+  /**
+   * Creates the shards, each with an empty {@link InMemoryEventStore}.
+   * @param shards number of shards
+   * @param serviceFactory creates the TransactionService of a shard over the shard's EventStore,
+   * expected to serve transactions through a pipeline of one partition
+   */
+  public ShardedLedger(int shards, Function<EventStore, TransactionService> serviceFactory) {
+    if (shards < 1) {
+      throw new IllegalArgumentException("A sharded ledger needs at least one shard");
+    }
+    this.eventStores = new ArrayList<>(shards);
+    this.services = new ArrayList<>(shards);
+    for (int i = 0; i < shards; i++) {
+      EventStore eventStore = new InMemoryEventStore();
+      eventStores.add(eventStore);
+      services.add(serviceFactory.apply(eventStore));
+    }
+  }
+
+  /**
+   * Returns the shard owning the given user's account.
+   * @param userId
+   * @return index of the shard
+   */
+  public int shard(String userId) {
+    int hash = userId.hashCode();
+    return Math.floorMod(hash ^ (hash >>> 16), services.size());
+  }
+
+  /**
+   * Processes a LoadRequest on the shard of its user.
+   * @param request {@link LoadRequest}
+   * @return {@link LoadResponse}
+   */
+  public LoadResponse handleLoadRequest(LoadRequest request) {
+    return services.get(shard(request.getUserId())).handleLoadRequest(request);
+  }
+
+  /**
+   * Processes an AuthorizationRequest on the shard of its user.
+   * @param request {@link AuthorizationRequest}
+   * @return {@link AuthorizationResponse}
+   */
+  public AuthorizationResponse handleAuthorizationRequest(AuthorizationRequest request) {
+    return services.get(shard(request.getUserId())).handleAuthorizationRequest(request);
+  }
+
+  /**
+   * Returns the balance of the given user from the projection of their shard.
+   * @param userId
+   * @return the balance of the user in minor units
+   */
+  public long getBalance(String userId) {
+    return services.get(shard(userId)).getBalance(userId);
+  }
+
+  /**
+   * Returns the EventStore of a shard.
+   * @param shard index of the shard
+   * @return the shard's {@link EventStore}
+   */
+  public EventStore getEventStore(int shard) {
+    return eventStores.get(shard);
+  }
+
+  /**
+   * Returns the statistics of every shard, used to spot hot shards and accounts.
+   * @return list of {@link ShardStats} ordered by shard index
+   */
+  public List<ShardStats> getShardStats() {
+    List<ShardStats> stats = new ArrayList<>(services.size());
+    for (int i = 0; i < services.size(); i++) {
+      EventStore eventStore = eventStores.get(i);
+      List<PipelineStats> pipeline = services.get(i).getPipelineStats();
+      PipelineStats partition = pipeline.isEmpty()
+          ? new PipelineStats(0, 0, 0, 0, List.of())
+          : pipeline.get(0);
+      stats.add(ShardStats.builder()
+          .shard(i)
+          .sequence(eventStore.getSequence())
+          .accounts(eventStore.getStreamCount())
+          .queueDepth(partition.getQueueDepth())
+          .processedItems(partition.getProcessedItems())
+          .throughput(partition.getThroughput())
+          .hotAccounts(partition.getHotAccounts())
+          .build());
+    }
+    return stats;
+  }
+
+  /**
+   * Stops the pipeline thread of every shard once the transactions published to it are processed.
+   */
+  @Override
+  public void close() {
+    services.forEach(TransactionService::close);
+  }
+}
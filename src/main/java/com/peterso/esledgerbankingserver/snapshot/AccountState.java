@@ -0,0 +1,18 @@
+package com.peterso.esledgerbankingserver.snapshot;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The state of one account captured in a {@link BalanceSnapshot}.
+ * Contains the:
+ * balance of the account in minor units (long),
+ * version of the user's stream the balance covers (int)
+ */
+@Getter
+@AllArgsConstructor
+public class AccountState {
+
+  private final long balance;
+  private final int version;
+}
@@ -0,0 +1,21 @@
+package com.peterso.esledgerbankingserver.snapshot;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A point-in-time copy of every account's balance.
+ * Contains the:
+ * sequence of the global event log the snapshot covers (every event before it is folded in),
+ * accounts by userId (Map of {@link AccountState})
+ */
+@Getter
+@AllArgsConstructor
+public class BalanceSnapshot {
+
+  public static final BalanceSnapshot EMPTY = new BalanceSnapshot(0, Map.of());
+
+  private final long sequence;
+  private final Map<String, AccountState> accounts;
+}
@@ -0,0 +1,146 @@
+package com.peterso.esledgerbankingserver.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores {@link BalanceSnapshot}s as files named after the sequence they cover.
+ * A snapshot is written to a temporary file, forced to disk and atomically renamed, and the
+ * directory is forced after the rename, so a crash never leaves a partial snapshot behind nor
+ * loses a saved one. Only the newest snapshots are kept. The latest snapshot is also kept in
+ * memory so that accounts can be rehydrated without reading the file again.
+ * Enabled with ledger.snapshot.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.snapshot.enabled", havingValue = "true")
+public class SnapshotStore {
+
+  private static final int FORMAT_VERSION = 2;
+  private static final String PREFIX = "snapshot-";
+  private static final String SUFFIX = ".bin";
+
+  private final Path directory;
+  private final int retain;
+  private volatile BalanceSnapshot latest;
+
+  /**
+   * Creates the store and loads the latest snapshot found in the directory, if any.
+   * @param directory holding the snapshot files
+   * @param retain number of snapshot files to keep
+   */
+  @Autowired
+  public SnapshotStore(@Value("${ledger.snapshot.directory:data/snapshots}") Path directory,
+      @Value("${ledger.snapshot.retain:2}") int retain) {
+    this.directory = directory;
+    this.retain = Math.max(1, retain);
+    this.latest = loadLatest();
+  }
+
+  /**
+   * Returns the latest snapshot that was loaded or saved.
+   * @return the latest {@link BalanceSnapshot}, empty if there is none
+   */
+  public Optional<BalanceSnapshot> latest() {
+    return Optional.ofNullable(latest);
+  }
+
+  /**
+   * Durably saves the snapshot and makes it the latest one.
+   * @param snapshot {@link BalanceSnapshot} to save
+   * @throws IOException if the snapshot cannot be written
+   */
+  public void save(BalanceSnapshot snapshot) throws IOException {
+    Files.createDirectories(directory);
+    Path file = directory.resolve(String.format("%s%020d%s", PREFIX, snapshot.getSequence(),
+        SUFFIX));
+    Path temporary = directory.resolve(file.getFileName() + ".tmp");
+
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+      out.writeInt(FORMAT_VERSION);
+      out.writeLong(snapshot.getSequence());
+      out.writeInt(snapshot.getAccounts().size());
+      for (Map.Entry<String, AccountState> account : snapshot.getAccounts().entrySet()) {
+        out.writeUTF(account.getKey());
+        out.writeLong(account.getValue().getBalance());
+        out.writeInt(account.getValue().getVersion());
+      }
+    }
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+      channel.force(true);
+    }
+    Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+    // the rename is only durable once the directory entry is
+    try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    }
+    latest = snapshot;
+
+    List<Path> files = snapshotFiles();
+    for (Path old : files.subList(0, Math.max(0, files.size() - retain))) {
+      Files.deleteIfExists(old);
+    }
+  }
+
+  private BalanceSnapshot loadLatest() {
+    List<Path> files = snapshotFiles();
+    if (files.isEmpty()) {
+      return null;
+    }
+
+    Path file = files.get(files.size() - 1);
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(file)))) {
+      int formatVersion = in.readInt();
+      if (formatVersion != FORMAT_VERSION) {
+        throw new IOException("Unsupported snapshot format " + formatVersion + " in " + file);
+      }
+      long sequence = in.readLong();
+      int size = in.readInt();
+      Map<String, AccountState> accounts = new HashMap<>(size * 2);
+      for (int i = 0; i < size; i++) {
+        String userId = in.readUTF();
+        accounts.put(userId, new AccountState(in.readLong(), in.readInt()));
+      }
+      return new BalanceSnapshot(sequence, accounts);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to read snapshot " + file, e);
+    }
+  }
+
+  // Returns the snapshot files ordered from oldest to newest.
+  private List<Path> snapshotFiles() {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> {
+            String name = file.getFileName().toString();
+            return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+          })
+          .sorted()
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to list snapshots in " + directory, e);
+    }
+  }
+}
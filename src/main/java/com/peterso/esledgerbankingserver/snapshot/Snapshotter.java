@@ -0,0 +1,98 @@
+package com.peterso.esledgerbankingserver.snapshot;
+
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically writes a {@link BalanceSnapshot} on a background thread.
+ * A new snapshot is built by folding the events appended since the latest snapshot into a copy
+ * of it, so the request path is never blocked and the snapshot always matches an exact sequence
+ * of the event log. A snapshot is only taken once at least minEvents have been appended since
+ * the previous one.
+ * Enabled with ledger.snapshot.enabled=true.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ledger.snapshot.enabled", havingValue = "true")
+public class Snapshotter {
+
+  private final EventStore eventStore;
+  private final SnapshotStore snapshotStore;
+  private final Duration interval;
+  private final long minEvents;
+  private ScheduledExecutorService scheduler;
+
+  @Autowired
+  public Snapshotter(EventStore eventStore, SnapshotStore snapshotStore,
+      @Value("${ledger.snapshot.interval:60s}") Duration interval,
+      @Value("${ledger.snapshot.min-events:10000}") long minEvents) {
+    this.eventStore = eventStore;
+    this.snapshotStore = snapshotStore;
+    this.interval = interval;
+    this.minEvents = minEvents;
+  }
+
+  @PostConstruct
+  public void start() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "balance-snapshotter");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(() -> {
+      try {
+        takeSnapshot();
+      } catch (Exception e) {
+        log.error("Unable to take a balance snapshot", e);
+      }
+    }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    scheduler.shutdown();
+    scheduler.awaitTermination(interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Writes a new snapshot if at least minEvents were appended since the latest one.
+   * @return true if a snapshot was written
+   * @throws IOException if the snapshot cannot be written
+   */
+  public boolean takeSnapshot() throws IOException {
+    BalanceSnapshot previous = snapshotStore.latest()
+        .filter(snapshot -> snapshot.getSequence() <= eventStore.getSequence())
+        .orElse(BalanceSnapshot.EMPTY);
+    long sequence = eventStore.getSequence();
+    long tail = sequence - previous.getSequence();
+    if (tail <= 0 || tail < minEvents) {
+      return false;
+    }
+
+    Map<String, AccountState> accounts = new HashMap<>(previous.getAccounts());
+    eventStore.scan(previous.getSequence(), sequence,
+        (userId, transactionType, amount, response) -> {
+          AccountState state = accounts.getOrDefault(userId, new AccountState(0, 0));
+          accounts.put(userId, new AccountState(
+              state.getBalance() + BalanceProjection.signedAmount(transactionType, amount,
+                  response),
+              state.getVersion() + 1));
+        });
+    snapshotStore.save(new BalanceSnapshot(sequence, accounts));
+    return true;
+  }
+}
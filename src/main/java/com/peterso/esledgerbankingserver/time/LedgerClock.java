@@ -0,0 +1,116 @@
+package com.peterso.esledgerbankingserver.time;
+
+import com.peterso.esledgerbankingserver.model.event.EventTimes;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Time source shared by the ledger: the server time of /ping, the createdTime of events and the
+ * ids of events.
+ * The clock ticks in milliseconds and never goes back, even when the system clock does; times
+ * are given in the local time zone, as LocalDateTime.now gave them. Both time strings are cached
+ * with their millisecond and handed out as is to the callers within it, instead of building a
+ * LocalDateTime and formatting it on each call. The first callers of a new millisecond may each
+ * format it before one of them publishes it.
+ * Event ids are UUIDs of version 7, ordered by the time they were made: the millisecond and a
+ * counter within it come from a single atomic, so they are unique and increasing across threads
+ * without drawing from SecureRandom, and the rest of the bits are random once per process to
+ * keep the ids of different nodes apart.
+ */
+public final class LedgerClock {
+
+  private static final ZoneId ZONE = ZoneId.systemDefault();
+
+  // bits of the id counter within a millisecond, the rand_a field of a version 7 UUID
+  private static final int COUNTER_BITS = 12;
+  private static final long VERSION = 7L << COUNTER_BITS;
+  private static final long VARIANT = 0x8000_0000_0000_0000L;
+  private static final long NODE = new SecureRandom().nextLong() >>> 2 | VARIANT;
+
+  // last id as milliseconds << COUNTER_BITS | counter
+  private static final AtomicLong lastTick = new AtomicLong();
+
+  private static final AtomicReference<Time> time =
+      new AtomicReference<>(new Time(Long.MIN_VALUE, null, null));
+
+  private LedgerClock() {
+  }
+
+  /**
+   * Returns the current local time as yyyy-MM-dd'T'HH:mm:ss.SSS'Z', the server time of /ping.
+   * @return the server time
+   */
+  public static String serverTime() {
+    return now().serverTime;
+  }
+
+  /**
+   * Returns the current local time as LocalDateTime.toString gives it for a time truncated to
+   * milliseconds, the createdTime of a new event.
+   * @return the event time
+   */
+  public static String eventTime() {
+    return now().eventTime;
+  }
+
+  /**
+   * Returns milliseconds since the epoch, never less than a previous call returned.
+   * @return the current time
+   */
+  public static long millis() {
+    return now().millis;
+  }
+
+  /**
+   * Creates an id greater than every id created before by this process.
+   * @return a version 7 UUID
+   */
+  public static UUID nextId() {
+    long floor = millis() << COUNTER_BITS;
+    long tick = lastTick.accumulateAndGet(floor, (last, now) -> Math.max(last + 1, now));
+    // more than 4096 ids in a millisecond borrow from the next milliseconds
+    long mostSignificantBits = (tick >>> COUNTER_BITS) << 16 | VERSION
+        | tick & ((1 << COUNTER_BITS) - 1);
+    return new UUID(mostSignificantBits, NODE);
+  }
+
+  private static Time now() {
+    Time current = time.get();
+    long millis = System.currentTimeMillis();
+    if (millis <= current.millis) {
+      return current;
+    }
+    Time next = Time.of(millis);
+    // a thread that formatted an earlier millisecond must not overwrite a later one
+    while (!time.compareAndSet(current, next)) {
+      current = time.get();
+      if (current.millis >= next.millis) {
+        return current;
+      }
+    }
+    return next;
+  }
+
+  private record Time(long millis, String eventTime, String serverTime) {
+
+    private static Time of(long millis) {
+      ZoneOffset offset = ZONE.getRules().getOffset(Instant.ofEpochMilli(millis));
+      String eventTime = EventTimes.format(Math.floorDiv(millis, 1000) + offset.getTotalSeconds(),
+          Math.floorMod(millis, 1000) * 1_000_000);
+      // the event time leaves out a zero second and fraction, the server time always has them
+      StringBuilder serverTime = new StringBuilder(24).append(eventTime);
+      if (serverTime.length() == 16) {
+        serverTime.append(":00");
+      }
+      if (serverTime.length() == 19) {
+        serverTime.append(".000");
+      }
+      return new Time(millis, eventTime, serverTime.append('Z').toString());
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.peterso.esledgerbankingserver.validation;
+
+import com.peterso.esledgerbankingserver.metrics.LedgerMetrics;
+import com.peterso.esledgerbankingserver.model.dto.BatchItem;
+import com.peterso.esledgerbankingserver.model.dto.Error;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates the items of a batch one by one so that an invalid item only rejects itself.
+ * The requests of an item are checked by the {@link TransactionRequestValidator}, like the bodies
+ * of the single-transaction endpoints, and the error messages are formatted like the ones of
+ * GlobalExceptionHandler.
+ */
+@Component
+@AllArgsConstructor
+public class BatchItemValidator {
+
+  static final String ONE_REQUEST_MESSAGE =
+      "Batch item must contain exactly one of load or authorization";
+
+  private final LedgerMetrics metrics;
+
+  /**
+   * Validates the item.
+   * @param item {@link BatchItem}
+   * @return an {@link Error} describing every violation, empty if the item is valid
+   */
+  public Optional<Error> validate(BatchItem item) {
+    if (item == null || (item.getLoad() == null) == (item.getAuthorization() == null)) {
+      return Optional.of(badRequest(ONE_REQUEST_MESSAGE));
+    }
+
+    long start = System.nanoTime();
+    int violations = item.getLoad() != null
+        ? TransactionRequestValidator.violations(item.getLoad())
+        : TransactionRequestValidator.violations(item.getAuthorization());
+    metrics.recordValidation(System.nanoTime() - start);
+    if (violations == 0) {
+      return Optional.empty();
+    }
+    return Optional.of(badRequest(TransactionRequestValidator.message(violations)));
+  }
+
+  private static Error badRequest(String message) {
+    return new Error(message, Optional.of(HttpStatus.BAD_REQUEST.toString()));
+  }
+}
@@ -21,8 +21,7 @@ import java.lang.annotation.Target;
 )
 public @interface CheckAmountType {
 
-  String message() default "Transaction type does not match amount type. Ensure that a Load request "
-      + "contains CREDIT and an Authorization request contains DEBIT";
+  String message() default TransactionRequestValidator.AMOUNT_TYPE_MESSAGE;
 
   Class<?>[] groups() default {};
 
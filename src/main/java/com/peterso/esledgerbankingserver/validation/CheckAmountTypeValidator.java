@@ -23,12 +23,13 @@ public class CheckAmountTypeValidator implements ConstraintValidator<CheckAmount
 
   /**
    * Determines if the validation is met by checking that the type in the amount matches the given type.
+   * A missing amount does not match any type.
    * @param value {@link Amount}
    * @param context {@link ConstraintValidatorContext}
    * @return boolean
    */
   @Override
   public boolean isValid(Amount value, ConstraintValidatorContext context) {
-    return value.getDebitOrCredit() == amountType;
+    return value != null && value.getDebitOrCredit() == amountType;
   }
 }
\ No newline at end of file
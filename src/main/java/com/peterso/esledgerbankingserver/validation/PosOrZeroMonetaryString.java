@@ -17,7 +17,7 @@ import java.lang.annotation.Target;
 )
 public @interface PosOrZeroMonetaryString {
 
-  String message() default "String must be zero or a positive numerical monetary representation";
+  String message() default TransactionRequestValidator.AMOUNT_MESSAGE;
 
   Class<?>[] groups() default {};
 
@@ -0,0 +1,170 @@
+package com.peterso.esledgerbankingserver.validation;
+
+import com.peterso.esledgerbankingserver.model.Money;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * Hand-written validator of the {@link LoadRequest} and {@link AuthorizationRequest} bodies,
+ * checking the same constraints as their annotations with the same messages, without going
+ * through the reflective Bean Validation pipeline.
+ * A request is checked in a single pass over its fields: blank strings are found by scanning
+ * their characters and the amount is parsed with {@link Money#parseOrInvalid(CharSequence)}, so
+ * a valid request allocates nothing. The violations are collected as a bit mask and only turned
+ * into errors and messages when there are some.
+ * Other bodies are passed on to the delegate validator.
+ */
+public class TransactionRequestValidator implements SmartValidator {
+
+  public static final String USER_ID_MESSAGE = "userId must not be blank";
+  public static final String MESSAGE_ID_MESSAGE = "messageId must not be blank";
+  public static final String AMOUNT_TYPE_MESSAGE = "Transaction type does not match amount type. "
+      + "Ensure that a Load request contains CREDIT and an Authorization request contains DEBIT";
+  public static final String AMOUNT_MESSAGE =
+      "String must be zero or a positive numerical monetary representation";
+  public static final String CURRENCY_MESSAGE = "currency must not be blank";
+
+  // a bit of the violation mask per constraint, in the order of the fields of the request
+  private static final int USER_ID = 1;
+  private static final int MESSAGE_ID = 1 << 1;
+  private static final int AMOUNT_TYPE = 1 << 2;
+  private static final int AMOUNT = 1 << 3;
+  private static final int CURRENCY = 1 << 4;
+
+  private static final String[] FIELDS = {"userId", "messageId", "transactionAmount",
+      "transactionAmount.amount", "transactionAmount.currency"};
+  private static final String[] CODES = {"NotBlank", "NotBlank", "CheckAmountType",
+      "PosOrZeroMonetaryString", "NotBlank"};
+  private static final String[] MESSAGES = {USER_ID_MESSAGE, MESSAGE_ID_MESSAGE,
+      AMOUNT_TYPE_MESSAGE, AMOUNT_MESSAGE, CURRENCY_MESSAGE};
+
+  private final SmartValidator delegate;
+
+  /**
+   * Creates the validator.
+   * @param delegate validator of the bodies other than transaction requests
+   */
+  public TransactionRequestValidator(SmartValidator delegate) {
+    this.delegate = delegate;
+  }
+
+  /**
+   * Checks a load request.
+   * @param request {@link LoadRequest}
+   * @return the mask of the violated constraints, 0 if the request is valid
+   */
+  public static int violations(LoadRequest request) {
+    return violations(request.getUserId(), request.getMessageId(),
+        request.getTransactionAmount(), DebitCreditEnum.CREDIT);
+  }
+
+  /**
+   * Checks an authorization request.
+   * @param request {@link AuthorizationRequest}
+   * @return the mask of the violated constraints, 0 if the request is valid
+   */
+  public static int violations(AuthorizationRequest request) {
+    return violations(request.getUserId(), request.getMessageId(),
+        request.getTransactionAmount(), DebitCreditEnum.DEBIT);
+  }
+
+  /**
+   * Formats violations like GlobalExceptionHandler does, as their messages separated by commas.
+   * @param violations mask of violated constraints, as returned by violations
+   * @return the messages of the violations
+   */
+  public static String message(int violations) {
+    StringBuilder message = new StringBuilder();
+    for (int i = 0; i < MESSAGES.length; i++) {
+      if ((violations & 1 << i) != 0) {
+        if (!message.isEmpty()) {
+          message.append(',');
+        }
+        message.append(MESSAGES[i]);
+      }
+    }
+    return message.toString();
+  }
+
+  @Override
+  public boolean supports(Class<?> clazz) {
+    return clazz == LoadRequest.class || clazz == AuthorizationRequest.class
+        || delegate.supports(clazz);
+  }
+
+  @Override
+  public void validate(Object target, Errors errors) {
+    if (target instanceof LoadRequest request) {
+      reject(violations(request), errors);
+    } else if (target instanceof AuthorizationRequest request) {
+      reject(violations(request), errors);
+    } else {
+      delegate.validate(target, errors);
+    }
+  }
+
+  // The transaction requests have no validation groups, so the hints only matter to the
+  // delegate.
+  @Override
+  public void validate(Object target, Errors errors, Object... validationHints) {
+    if (target instanceof LoadRequest || target instanceof AuthorizationRequest) {
+      validate(target, errors);
+    } else {
+      delegate.validate(target, errors, validationHints);
+    }
+  }
+
+  @Override
+  public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors,
+      Object... validationHints) {
+    delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+  }
+
+  private static int violations(String userId, String messageId, Amount amount,
+      DebitCreditEnum amountType) {
+    int violations = 0;
+    if (isBlank(userId)) {
+      violations |= USER_ID;
+    }
+    if (isBlank(messageId)) {
+      violations |= MESSAGE_ID;
+    }
+    if (amount == null || amount.getDebitOrCredit() != amountType) {
+      violations |= AMOUNT_TYPE;
+    }
+    if (amount != null) {
+      if (Money.parseOrInvalid(amount.getAmount()) < 0) {
+        violations |= AMOUNT;
+      }
+      if (isBlank(amount.getCurrency())) {
+        violations |= CURRENCY;
+      }
+    }
+    return violations;
+  }
+
+  // Same as @NotBlank: null or only characters up to the space, the ones String.trim removes.
+  private static boolean isBlank(String value) {
+    if (value == null) {
+      return true;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) > ' ') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void reject(int violations, Errors errors) {
+    for (int i = 0; i < FIELDS.length; i++) {
+      if ((violations & 1 << i) != 0) {
+        errors.rejectValue(FIELDS[i], CODES[i], MESSAGES[i]);
+      }
+    }
+  }
+}
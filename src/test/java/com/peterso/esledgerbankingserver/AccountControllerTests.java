@@ -0,0 +1,163 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peterso.esledgerbankingserver.model.dto.AccountBalance;
+import com.peterso.esledgerbankingserver.model.dto.AccountEvent;
+import com.peterso.esledgerbankingserver.model.dto.AccountEvents;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AccountControllerTests {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  private static Amount amount(String value, DebitCreditEnum debitOrCredit) {
+    return Amount.builder().amount(value).currency("USD").debitOrCredit(debitOrCredit).build();
+  }
+
+  private void load(String userId, String messageId, String value) throws Exception {
+    LoadRequest request = LoadRequest.builder()
+        .userId(userId)
+        .messageId(messageId)
+        .transactionAmount(amount(value, DebitCreditEnum.CREDIT))
+        .build();
+    mockMvc.perform(MockMvcRequestBuilders.put("/load")
+            .content(objectMapper.writeValueAsString(request))
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isCreated());
+  }
+
+  private void authorize(String userId, String messageId, String value) throws Exception {
+    AuthorizationRequest request = AuthorizationRequest.builder()
+        .userId(userId)
+        .messageId(messageId)
+        .transactionAmount(amount(value, DebitCreditEnum.DEBIT))
+        .build();
+    mockMvc.perform(MockMvcRequestBuilders.put("/authorization")
+            .content(objectMapper.writeValueAsString(request))
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isCreated());
+  }
+
+  private <T> T get(String path, Class<T> type) throws Exception {
+    String body = mockMvc.perform(MockMvcRequestBuilders.get(path))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    return objectMapper.readValue(body, type);
+  }
+
+  @Test
+  void whenTransactionsProcessed_thenBalanceShouldBeServedFromProjection() throws Exception {
+    String userId = UUID.randomUUID().toString();
+    load(userId, "1", "10.00");
+    authorize(userId, "2", "2.50");
+
+    AccountBalance balance = get("/accounts/" + userId + "/balance", AccountBalance.class);
+
+    assertThat(balance.getUserId()).isEqualTo(userId);
+    assertThat(balance.getBalance().getAmount()).isEqualTo("7.50");
+    assertThat(balance.getSequence()).isPositive();
+  }
+
+  @Test
+  void whenUnknownUser_thenBalanceShouldBeNotFound() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/accounts/" + UUID.randomUUID() + "/balance"))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void whenFollowingCursors_thenShouldReturnEveryEventOnceInOrder() throws Exception {
+    String userId = UUID.randomUUID().toString();
+    for (int i = 0; i < 7; i++) {
+      load(userId, String.valueOf(i), "1.00");
+    }
+
+    List<String> messageIds = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      AccountEvents page = get("/accounts/" + userId + "/events?limit=3"
+          + (cursor == null ? "" : "&cursor=" + cursor), AccountEvents.class);
+      page.getEvents().forEach(event -> messageIds.add(event.getMessageId()));
+      cursor = page.getNextCursor();
+      pages++;
+    } while (cursor != null);
+
+    assertThat(pages).isEqualTo(3);
+    assertThat(messageIds).containsExactly("0", "1", "2", "3", "4", "5", "6");
+  }
+
+  @Test
+  void whenFilteringByType_thenShouldReturnOnlyThatType() throws Exception {
+    String userId = UUID.randomUUID().toString();
+    load(userId, "1", "10.00");
+    authorize(userId, "2", "1.00");
+    load(userId, "3", "10.00");
+    authorize(userId, "4", "100.00");
+
+    AccountEvents first = get("/accounts/" + userId + "/events?type=AUTHORIZATION&limit=1",
+        AccountEvents.class);
+    AccountEvents second = get("/accounts/" + userId + "/events?type=AUTHORIZATION&limit=1"
+        + "&cursor=" + first.getNextCursor(), AccountEvents.class);
+
+    assertThat(first.getEvents()).extracting(AccountEvent::getVersion).containsExactly(1);
+    assertThat(first.getEvents().get(0).getAmount().getDebitOrCredit())
+        .isEqualTo(DebitCreditEnum.DEBIT);
+    assertThat(second.getEvents()).extracting(AccountEvent::getMessageId).containsExactly("4");
+    assertThat(second.getEvents().get(0).getTransactionType())
+        .isEqualTo(TransactionTypeEnum.AUTHORIZATION);
+    assertThat(second.getNextCursor()).isNull();
+  }
+
+  @Test
+  void whenFilteringByTimeRange_thenShouldReturnOnlyEventsInRange() throws Exception {
+    String userId = UUID.randomUUID().toString();
+    load(userId, "before", "1.00");
+    Thread.sleep(5);
+    LocalDateTime from = LocalDateTime.now();
+    load(userId, "during", "1.00");
+    Thread.sleep(5);
+    LocalDateTime to = LocalDateTime.now();
+    load(userId, "after", "1.00");
+
+    AccountEvents events = get("/accounts/" + userId + "/events?from=" + from + "&to=" + to,
+        AccountEvents.class);
+
+    assertThat(events.getEvents()).extracting(AccountEvent::getMessageId)
+        .containsExactly("during");
+  }
+
+  @Test
+  void whenQueryIsInvalid_thenShouldReturnBadRequest() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/accounts/1/events?type=REFUND"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(MockMvcRequestBuilders.get("/accounts/1/events?limit=0"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(MockMvcRequestBuilders.get("/accounts/1/events?cursor=%21%21"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(MockMvcRequestBuilders.get("/accounts/1/events?from=yesterday"))
+        .andExpect(status().isBadRequest());
+  }
+}
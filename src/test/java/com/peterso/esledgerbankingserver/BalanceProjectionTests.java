@@ -0,0 +1,65 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.peterso.esledgerbankingserver.model.Money;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.InMemoryEventStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BalanceProjectionTests {
+
+  private EventStore inMemoryEventStore;
+
+  @BeforeEach
+  void setUp() {
+    inMemoryEventStore = new InMemoryEventStore();
+  }
+
+  private static TransactionEvent event(String userId, TransactionTypeEnum type, String amount,
+      ResponseCodeEnum response) {
+    return TransactionEvent.builder()
+        .userId(userId)
+        .messageId("1")
+        .transactionType(type)
+        .amount(Money.parse(amount))
+        .currency("USD")
+        .response(response)
+        .build();
+  }
+
+  @Test
+  void whenCreatedFromExistingEvents_thenShouldRebuildBalances() {
+    inMemoryEventStore.saveEvent(
+        event("1", TransactionTypeEnum.LOAD, "100", ResponseCodeEnum.APPROVED));
+    inMemoryEventStore.saveEvent(
+        event("1", TransactionTypeEnum.AUTHORIZATION, "30.5", ResponseCodeEnum.APPROVED));
+    inMemoryEventStore.saveEvent(
+        event("1", TransactionTypeEnum.AUTHORIZATION, "500", ResponseCodeEnum.DECLINED));
+    inMemoryEventStore.saveEvent(
+        event("2", TransactionTypeEnum.LOAD, "1.01", ResponseCodeEnum.APPROVED));
+
+    BalanceProjection projection = new BalanceProjection(inMemoryEventStore);
+
+    assertThat(Money.format(projection.getBalance("1"))).isEqualTo("69.50");
+    assertThat(Money.format(projection.getBalance("2"))).isEqualTo("1.01");
+    assertThat(Money.format(projection.getBalance("3"))).isEqualTo("0.00");
+  }
+
+  @Test
+  void whenEventApplied_thenShouldUpdateOnlyThatUser() {
+    BalanceProjection projection = new BalanceProjection(inMemoryEventStore);
+
+    projection.apply(event("1", TransactionTypeEnum.LOAD, "10", ResponseCodeEnum.APPROVED));
+    projection.apply(event("1", TransactionTypeEnum.AUTHORIZATION, "2.25",
+        ResponseCodeEnum.APPROVED));
+
+    assertThat(Money.format(projection.getBalance("1"))).isEqualTo("7.75");
+    assertThat(Money.format(projection.getBalance("2"))).isEqualTo("0.00");
+  }
+}
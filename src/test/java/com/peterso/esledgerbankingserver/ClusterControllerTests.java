@@ -0,0 +1,157 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.peterso.esledgerbankingserver.cluster.ClusterCodec;
+import com.peterso.esledgerbankingserver.cluster.ClusterTransport;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.model.dto.PartitionStatus;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tests of a three node cluster on localhost, each node a separate application context talking
+ * to the others over HTTP.
+ */
+class ClusterControllerTests {
+
+  private static final int PARTITIONS = 4;
+  private static final int USERS = 8;
+
+  private final RestTemplate restTemplate = new RestTemplate();
+  private final List<String> urls = new ArrayList<>();
+  private final Map<String, ConfigurableApplicationContext> nodes = new HashMap<>();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    List<Integer> ports = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      try (ServerSocket socket = new ServerSocket(0)) {
+        ports.add(socket.getLocalPort());
+      }
+    }
+    ports.forEach(port -> urls.add("http://localhost:" + port));
+    for (int i = 0; i < ports.size(); i++) {
+      nodes.put(urls.get(i), new SpringApplicationBuilder(EsLedgerBankingServerApplication.class)
+          .run("--server.port=" + ports.get(i),
+              "--ledger.cluster.enabled=true",
+              "--ledger.cluster.nodes=" + String.join(",", urls),
+              "--ledger.cluster.node-id=" + urls.get(i),
+              "--ledger.cluster.partitions=" + PARTITIONS,
+              "--ledger.cluster.request-timeout=1s"));
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    nodes.values().forEach(ConfigurableApplicationContext::close);
+  }
+
+  private ResponseEntity<LoadResponse> load(String url, String userId, String messageId) {
+    LoadRequest request = LoadRequest.builder()
+        .userId(userId)
+        .messageId(messageId)
+        .transactionAmount(Amount.builder()
+            .amount("1.00")
+            .currency("USD")
+            .debitOrCredit(DebitCreditEnum.CREDIT)
+            .build())
+        .build();
+    return restTemplate.exchange(url + "/load", HttpMethod.PUT, new HttpEntity<>(request),
+        LoadResponse.class);
+  }
+
+  // loads one unit per user through every live node in turn, retrying a load until it succeeds
+  private void loadEveryUser(String round) {
+    List<String> live = new ArrayList<>(nodes.keySet());
+    for (int user = 0; user < USERS; user++) {
+      for (int attempt = 0; ; attempt++) {
+        String url = live.get((user + attempt) % live.size());
+        try {
+          ResponseEntity<LoadResponse> response = load(url, "user-" + user, round + "-" + user);
+          assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+          break;
+        } catch (RuntimeException e) {
+          assertThat(attempt).isLessThan(10);
+        }
+      }
+    }
+  }
+
+  private List<PartitionStatus> partitions(String url) {
+    return Arrays.asList(restTemplate.getForObject(url + "/cluster/partitions",
+        PartitionStatus[].class));
+  }
+
+  @Test
+  void whenLeaderNodeStops_thenOtherNodesShouldKeepServingAcknowledgedBalances() {
+    loadEveryUser("first");
+
+    // stop the node leading partition 0, which leads it from the start
+    String leader = urls.stream()
+        .filter(url -> partitions(url).stream()
+            .anyMatch(status -> status.getPartition() == 0 && status.isLeader()))
+        .findFirst()
+        .orElseThrow();
+    nodes.remove(leader).close();
+
+    loadEveryUser("second");
+
+    for (String url : nodes.keySet()) {
+      for (int user = 0; user < USERS; user++) {
+        // a retried load is answered with the balance right after its first application
+        ResponseEntity<LoadResponse> response = load(url, "user-" + user, "second-" + user);
+        assertThat(response.getBody().getBalance().getAmount()).isEqualTo("2.00");
+      }
+      assertThat(partitions(url)).isNotEmpty();
+    }
+    assertThat(nodes.keySet().stream()
+        .flatMap(url -> partitions(url).stream())
+        .filter(status -> status.getPartition() == 0 && status.isLeader())
+        .count()).isEqualTo(1);
+  }
+
+  @Test
+  void whenMessageBodyNamesAnotherPartition_thenShouldRefuseIt() {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+    byte[] body = new ClusterCodec().encode(new ClusterTransport.PromiseRequest(1, 1, 0));
+
+    assertThatThrownBy(() -> restTemplate.postForEntity(
+        urls.get(0) + "/cluster/partitions/0/promise", new HttpEntity<>(body, headers),
+        byte[].class))
+        .isInstanceOfSatisfying(HttpClientErrorException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+  }
+
+  @Test
+  void whenClustered_thenShouldNotServeTheLocalLedgerEndpoints() {
+    for (String path : List.of("/ledger/events", "/ledger/pipeline")) {
+      assertThatThrownBy(() -> restTemplate.getForEntity(urls.get(0) + path, byte[].class))
+          .isInstanceOfSatisfying(HttpClientErrorException.class,
+              e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+  }
+}
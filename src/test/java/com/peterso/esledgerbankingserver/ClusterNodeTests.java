@@ -0,0 +1,240 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.peterso.esledgerbankingserver.cluster.ClusterNode;
+import com.peterso.esledgerbankingserver.cluster.ClusterTopology;
+import com.peterso.esledgerbankingserver.cluster.InMemoryClusterNetwork;
+import com.peterso.esledgerbankingserver.model.Money;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.repository.EventPosition;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.WrongExpectedVersionException;
+import com.peterso.esledgerbankingserver.service.TransactionService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of a three node cluster running inside the JVM, every partition replicated on all nodes.
+ */
+class ClusterNodeTests {
+
+  private static final List<String> NODES = List.of("node-0", "node-1", "node-2");
+  private static final int PARTITIONS = 4;
+  private static final int USERS = 16;
+  private static final int CLIENTS = 4;
+  private static final int LOADS_PER_CLIENT = 150;
+
+  private ClusterTopology topology;
+  private InMemoryClusterNetwork network;
+  private List<ClusterNode> nodes;
+
+  @BeforeEach
+  void setUp() {
+    topology = new ClusterTopology(NODES, PARTITIONS, 3);
+    network = new InMemoryClusterNetwork();
+    nodes = new ArrayList<>();
+    for (String nodeId : NODES) {
+      ClusterNode node = new ClusterNode(nodeId, topology, network.transport(nodeId));
+      network.register(node);
+      nodes.add(node);
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    nodes.forEach(ClusterNode::close);
+  }
+
+  private static LoadRequest load(String userId, String messageId) {
+    return LoadRequest.builder()
+        .userId(userId)
+        .messageId(messageId)
+        .transactionAmount(Amount.builder()
+            .amount("1.00")
+            .currency("USD")
+            .debitOrCredit(DebitCreditEnum.CREDIT)
+            .build())
+        .build();
+  }
+
+  private static TransactionEvent loadEvent(String userId, String messageId) {
+    return TransactionEvent.builder()
+        .userId(userId)
+        .messageId(messageId)
+        .transactionType(TransactionTypeEnum.LOAD)
+        .amount(Money.parse("1"))
+        .currency("USD")
+        .response(ResponseCodeEnum.APPROVED)
+        .build();
+  }
+
+  // a killed node keeps believing it leads, as nobody can tell it otherwise
+  private ClusterNode leaderOf(int partition) {
+    return nodes.stream()
+        .filter(node -> network.isAlive(node.getNodeId()) && node.isLeader(partition))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  @Test
+  void whenRequestReachesAFollower_thenShouldBeServedByTheLeader() {
+    String userId = "user";
+    for (ClusterNode node : nodes) {
+      node.handleLoadRequest(load(userId, "load-" + node.getNodeId()));
+    }
+
+    int partition = topology.partition(userId);
+    for (ClusterNode node : nodes) {
+      assertThat(Money.format(node.getBalance(userId))).isEqualTo("3.00");
+    }
+    assertThat(leaderOf(partition).getCommittedEvents(partition))
+        .extracting(TransactionEvent::getMessageId)
+        .containsExactly("load-node-0", "load-node-1", "load-node-2");
+  }
+
+  @Test
+  void whenLeaderIsKilledMidStream_thenShouldNotLoseAcknowledgedEvents() throws Exception {
+    int partition = topology.partition("0");
+    String killedLeader = leaderOf(partition).getNodeId();
+    Map<String, String> acknowledged = new ConcurrentHashMap<>();
+    AtomicInteger sent = new AtomicInteger();
+    CountDownLatch halfway = new CountDownLatch(CLIENTS * LOADS_PER_CLIENT / 2);
+
+    // every client retries a load on random live nodes until it is acknowledged, so each load is
+    // eventually applied exactly once thanks to the messageId deduplication
+    ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int client = 0; client < CLIENTS; client++) {
+      futures.add(clients.submit(() -> {
+        for (int i = 0; i < LOADS_PER_CLIENT; i++) {
+          int message = sent.incrementAndGet();
+          String userId = String.valueOf(message % USERS);
+          String messageId = "load-" + message;
+          for (int attempt = 0; ; attempt++) {
+            List<ClusterNode> alive = nodes.stream()
+                .filter(node -> network.isAlive(node.getNodeId()))
+                .toList();
+            ClusterNode node = alive.get(ThreadLocalRandom.current().nextInt(alive.size()));
+            try {
+              LoadResponse response = node.handleLoadRequest(load(userId, messageId));
+              assertThat(response.getMessageId()).isEqualTo(messageId);
+              acknowledged.put(messageId, userId);
+              break;
+            } catch (RuntimeException e) {
+              assertThat(attempt).isLessThan(50);
+              Thread.sleep(10);
+            }
+          }
+          halfway.countDown();
+        }
+        return null;
+      }));
+    }
+
+    assertThat(halfway.await(30, TimeUnit.SECONDS)).isTrue();
+    network.kill(killedLeader);
+    for (Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+    clients.shutdown();
+
+    assertThat(acknowledged).hasSize(CLIENTS * LOADS_PER_CLIENT);
+    List<ClusterNode> survivors = nodes.stream()
+        .filter(node -> !node.getNodeId().equals(killedLeader))
+        .toList();
+    for (int user = 0; user < USERS; user++) {
+      String userId = String.valueOf(user);
+      long loads = acknowledged.values().stream().filter(userId::equals).count();
+      for (ClusterNode node : survivors) {
+        assertThat(node.getBalance(userId)).isEqualTo(loads * 100);
+      }
+    }
+    ClusterNode newLeader = leaderOf(partition);
+    assertThat(newLeader.getNodeId()).isNotEqualTo(killedLeader);
+    for (int p = 0; p < PARTITIONS; p++) {
+      int owner = p;
+      Set<String> expected = acknowledged.entrySet().stream()
+          .filter(entry -> topology.partition(entry.getValue()) == owner)
+          .map(Map.Entry::getKey)
+          .collect(Collectors.toSet());
+      List<String> committed = leaderOf(p).getCommittedEvents(p).stream()
+          .map(TransactionEvent::getMessageId)
+          .toList();
+      assertThat(committed).doesNotHaveDuplicates();
+      assertThat(committed).containsExactlyInAnyOrderElementsOf(expected);
+    }
+  }
+
+  @Test
+  void whenQuorumIsLost_thenShouldRejectRequests() {
+    String userId = "user";
+    int partition = topology.partition(userId);
+    ClusterNode leader = leaderOf(partition);
+    leader.handleLoadRequest(load(userId, "before"));
+    nodes.stream()
+        .filter(node -> node != leader)
+        .forEach(node -> network.kill(node.getNodeId()));
+
+    assertThatThrownBy(() -> leader.handleLoadRequest(load(userId, "after")))
+        .isInstanceOf(RuntimeException.class);
+    assertThat(leader.isLeader(partition)).isFalse();
+    assertThat(leader.getCommittedEvents(partition))
+        .extracting(TransactionEvent::getMessageId)
+        .containsExactly("before");
+  }
+
+  @Test
+  void whenAppendingThroughALeader_thenShouldCheckTheVersionOfTheReplicatedStream() {
+    nodes.forEach(ClusterNode::close);
+    List<EventStore> stores = new CopyOnWriteArrayList<>();
+    network = new InMemoryClusterNetwork();
+    nodes = new ArrayList<>();
+    for (String nodeId : NODES) {
+      ClusterNode node = new ClusterNode(nodeId, topology, network.transport(nodeId), store -> {
+        stores.add(store);
+        return new TransactionService(store);
+      });
+      network.register(node);
+      nodes.add(node);
+    }
+
+    nodes.get(0).handleLoadRequest(load("user", "1"));
+    EventStore store = stores.stream()
+        .filter(candidate -> candidate.getStreamVersion("user") == 1)
+        .findFirst()
+        .orElseThrow();
+
+    assertThatThrownBy(() -> store.append("user", 0, List.of(loadEvent("user", "2"))))
+        .isInstanceOf(WrongExpectedVersionException.class);
+    assertThat(store.append("user", 1, List.of(loadEvent("user", "3"))))
+        .isEqualTo(new EventPosition(1, 1));
+    nodes.get(1).handleLoadRequest(load("user", "4"));
+    assertThat(leaderOf(topology.partition("user")).getCommittedEvents(
+        topology.partition("user")))
+        .extracting(TransactionEvent::getMessageId)
+        .containsExactly("1", "3", "4");
+  }
+}
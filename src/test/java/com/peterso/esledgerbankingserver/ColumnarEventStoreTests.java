@@ -0,0 +1,158 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.peterso.esledgerbankingserver.model.Money;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.repository.EventPosition;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.WrongExpectedVersionException;
+import com.peterso.esledgerbankingserver.repository.columnar.ColumnarEventStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ColumnarEventStoreTests {
+
+  // small chunks so that the tests cross chunk boundaries
+  private static final int CHUNK_SIZE = 4;
+
+  private EventStore columnarEventStore;
+
+  @BeforeEach
+  void setUp() {
+    columnarEventStore = new ColumnarEventStore(CHUNK_SIZE);
+  }
+
+  private static TransactionEvent event(String userId, String messageId,
+      TransactionTypeEnum transactionType, String amount) {
+    return TransactionEvent.builder()
+        .userId(userId)
+        .messageId(messageId)
+        .transactionType(transactionType)
+        .amount(Money.parse(amount))
+        .currency("USD")
+        .response(ResponseCodeEnum.APPROVED)
+        .build();
+  }
+
+  @Test
+  void whenEventsSaved_thenShouldReadBackEqualEvents() {
+    List<TransactionEvent> events = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      events.add(event(String.valueOf(i % 3), UUID.randomUUID().toString(),
+          i % 2 == 0 ? TransactionTypeEnum.LOAD : TransactionTypeEnum.AUTHORIZATION, "1." + i));
+    }
+    events.add(new TransactionEvent(UUID.randomUUID(), "not a time", "é", null, null, -5, null,
+        ResponseCodeEnum.DECLINED));
+    events.add(new TransactionEvent(UUID.randomUUID(), "2021-01-01T10:00", "1", "m", null, 0,
+        "EUR", null));
+    columnarEventStore.saveEvents(events);
+
+    assertThat(columnarEventStore.getSequence()).isEqualTo(12);
+    assertThat(columnarEventStore.getEventStore()).usingRecursiveFieldByFieldElementComparator()
+        .containsExactlyElementsOf(events);
+    assertThat(columnarEventStore.getEventsSince(9)).usingRecursiveFieldByFieldElementComparator()
+        .containsExactlyElementsOf(events.subList(9, 12));
+    assertThat(columnarEventStore.getEventsSince(2, 3))
+        .usingRecursiveFieldByFieldElementComparator()
+        .containsExactlyElementsOf(events.subList(2, 5));
+    assertThat(columnarEventStore.getEventsSince(12)).isEmpty();
+  }
+
+  @Test
+  void whenEventsSaved_thenShouldPartitionByUser() {
+    columnarEventStore.saveEvent(event("1", "1", TransactionTypeEnum.LOAD, "1"));
+    columnarEventStore.saveEvent(event("2", "2", TransactionTypeEnum.LOAD, "1"));
+    columnarEventStore.saveEvent(event("1", "3", TransactionTypeEnum.LOAD, "1"));
+
+    assertThat(columnarEventStore.getEvents("1"))
+        .extracting(TransactionEvent::getMessageId).containsExactly("1", "3");
+    assertThat(columnarEventStore.getEvents("1", 1, 5))
+        .extracting(TransactionEvent::getMessageId).containsExactly("3");
+    assertThat(columnarEventStore.getEvents("2"))
+        .extracting(TransactionEvent::getMessageId).containsExactly("2");
+    assertThat(columnarEventStore.getEvents("unknown", 0)).isEmpty();
+    assertThat(columnarEventStore.getStreamVersion("1")).isEqualTo(2);
+    assertThat(columnarEventStore.getStreamVersion("3")).isZero();
+  }
+
+  @Test
+  void whenFindingVersionsByType_thenShouldReturnOnlyVersionsOfThatType() {
+    for (int i = 0; i < 9; i++) {
+      columnarEventStore.saveEvent(event("1", String.valueOf(i),
+          i % 3 == 0 ? TransactionTypeEnum.LOAD : TransactionTypeEnum.AUTHORIZATION, "1"));
+    }
+
+    assertThat(columnarEventStore.findVersions("1", TransactionTypeEnum.LOAD, 0, 10))
+        .containsExactly(0, 3, 6);
+    assertThat(columnarEventStore.findVersions("1", TransactionTypeEnum.LOAD, 1, 1))
+        .containsExactly(3);
+    assertThat(columnarEventStore.findVersions("1", TransactionTypeEnum.AUTHORIZATION, 7, 10))
+        .containsExactly(7, 8);
+    assertThat(columnarEventStore.findVersions("2", TransactionTypeEnum.LOAD, 0, 10)).isEmpty();
+  }
+
+  @Test
+  void whenScanning_thenShouldVisitTheRangeInOrder() {
+    for (int i = 0; i < 10; i++) {
+      columnarEventStore.saveEvent(event(String.valueOf(i), String.valueOf(i),
+          TransactionTypeEnum.LOAD, String.valueOf(i)));
+    }
+
+    List<String> userIds = new ArrayList<>();
+    List<Long> amounts = new ArrayList<>();
+    columnarEventStore.scan(3, 7, (userId, transactionType, amount, response) -> {
+      userIds.add(userId);
+      amounts.add(amount);
+    });
+
+    assertThat(userIds).containsExactly("3", "4", "5", "6");
+    assertThat(amounts).containsExactly(Money.parse("3"), Money.parse("4"), Money.parse("5"),
+        Money.parse("6"));
+  }
+
+  @Test
+  void whenProjectionRebuilt_thenShouldFoldTheColumns() {
+    columnarEventStore.saveEvent(event("1", "1", TransactionTypeEnum.LOAD, "10"));
+    columnarEventStore.saveEvent(event("1", "2", TransactionTypeEnum.AUTHORIZATION, "4"));
+    columnarEventStore.saveEvent(event("2", "3", TransactionTypeEnum.LOAD, "1.5"));
+
+    BalanceProjection balanceProjection = new BalanceProjection(columnarEventStore);
+
+    assertThat(balanceProjection.getBalance("1")).isEqualTo(Money.parse("6"));
+    assertThat(balanceProjection.getBalance("2")).isEqualTo(Money.parse("1.5"));
+  }
+
+  @Test
+  void whenReadingTheLog_thenShouldReturnAFixedView() {
+    columnarEventStore.saveEvent(event("1", "1", TransactionTypeEnum.LOAD, "1"));
+    List<TransactionEvent> log = columnarEventStore.getEventStore();
+    columnarEventStore.saveEvent(event("1", "2", TransactionTypeEnum.LOAD, "1"));
+
+    assertThat(log).extracting(TransactionEvent::getMessageId).containsExactly("1");
+    assertThat(columnarEventStore.getEventStore().subList(1, 2))
+        .extracting(TransactionEvent::getMessageId).containsExactly("2");
+  }
+
+  @Test
+  void whenAppendingAtAStaleVersion_thenShouldSaveNothing() {
+    columnarEventStore.append("1", 0, List.of(event("1", "1", TransactionTypeEnum.LOAD, "1")));
+
+    assertThatThrownBy(() -> columnarEventStore.append("1", 0,
+        List.of(event("1", "2", TransactionTypeEnum.LOAD, "1"))))
+        .isInstanceOf(WrongExpectedVersionException.class);
+    EventPosition position = columnarEventStore.append("1", 1,
+        List.of(event("1", "3", TransactionTypeEnum.LOAD, "1")));
+
+    assertThat(position).isEqualTo(new EventPosition(1, 1));
+    assertThat(columnarEventStore.getEvents("1"))
+        .extracting(TransactionEvent::getMessageId).containsExactly("1", "3");
+  }
+}
@@ -0,0 +1,171 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.repository.journal.CompactEventCodec;
+import com.peterso.esledgerbankingserver.repository.journal.TransactionEventSerializer;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class CompactEventCodecTests {
+
+  private final CompactEventCodec codec = new CompactEventCodec();
+
+  private static TransactionEvent event(String userId, String messageId, long amount) {
+    return TransactionEvent.builder()
+        .userId(userId)
+        .messageId(messageId)
+        .transactionType(TransactionTypeEnum.AUTHORIZATION)
+        .amount(amount)
+        .currency("USD")
+        .response(ResponseCodeEnum.DECLINED)
+        .build();
+  }
+
+  private static void assertSameEvent(TransactionEvent actual, TransactionEvent expected) {
+    assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+  }
+
+  @Test
+  void whenEventsEncoded_thenShouldDecodeToTheSameEvents() {
+    List<TransactionEvent> events = List.of(
+        event("1", "1", 1234),
+        event("2", "2", Long.MIN_VALUE),
+        new TransactionEvent(UUID.randomUUID(), "not a time", null, null, null, -5, null, null),
+        new TransactionEvent(UUID.randomUUID(), "2024-05-01T10:00:00", "1", "1", null, 0,
+            "USD", null),
+        new TransactionEvent(UUID.randomUUID(), "2024-02-30T10:00:01.5", "1", "1", null, 0,
+            "USD", null),
+        new TransactionEvent(UUID.randomUUID(), "1999-12-31T23:59:59.123456789", "1", "1",
+            null, 0, "USD", null),
+        new TransactionEvent(UUID.randomUUID(), "2024-05-01T10:00:01.000100", "1", "1", null, 0,
+            "USD", null),
+        new TransactionEvent(UUID.randomUUID(), "2024-05-01T10:00", "é-user", "m",
+            TransactionTypeEnum.LOAD, Long.MAX_VALUE, "EUR", ResponseCodeEnum.APPROVED));
+
+    List<TransactionEvent> decoded = codec.decode(codec.encode(events));
+
+    assertThat(decoded).hasSize(events.size());
+    for (int i = 0; i < events.size(); i++) {
+      assertSameEvent(decoded.get(i), events.get(i));
+    }
+  }
+
+  @Test
+  void whenTimesAreInAnyLocalDateTimeForm_thenShouldDecodeToTheSameTimes() {
+    Random random = new Random(42);
+    List<TransactionEvent> events = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      int nano = switch (i % 4) {
+        case 0 -> 0;
+        case 1 -> random.nextInt(1000) * 1_000_000;
+        case 2 -> random.nextInt(1_000_000) * 1000;
+        default -> random.nextInt(1_000_000_000);
+      };
+      LocalDateTime time = LocalDateTime.of(1700 + random.nextInt(600), 1, 1, 0, 0)
+          .plusSeconds(random.nextInt(366 * 86_400) * (i % 8 == 0 ? 0 : 1))
+          .withNano(nano);
+      events.add(new TransactionEvent(UUID.randomUUID(), time.toString(), "1", "1", null, 0,
+          "USD", null));
+    }
+
+    assertThat(codec.decode(codec.encode(events))).extracting(TransactionEvent::getCreatedTime)
+        .containsExactlyElementsOf(events.stream().map(TransactionEvent::getCreatedTime).toList());
+  }
+
+  @Test
+  void whenUserRepeats_thenShouldBeSmallerThanTheJournalFormat() {
+    List<TransactionEvent> events = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      events.add(event("a-rather-long-user-identifier", String.valueOf(i), 1000 + i));
+    }
+    ByteBuffer journal = ByteBuffer.allocate(64 * 1024);
+    TransactionEventSerializer serializer = new TransactionEventSerializer();
+    events.forEach(event -> serializer.write(event, journal));
+
+    byte[] frame = codec.encode(events);
+
+    assertThat(frame.length).isLessThan(journal.position() / 2);
+  }
+
+  @Test
+  void whenRecordIsLong_thenShouldStillDecode() {
+    String messageId = "m".repeat(300);
+
+    List<TransactionEvent> decoded = codec.decode(codec.encode(
+        List.of(event("1", messageId, 1), event("2", "2", 2))));
+
+    assertThat(decoded).extracting(TransactionEvent::getMessageId)
+        .containsExactly(messageId, "2");
+  }
+
+  @Test
+  void whenRecordHasFieldsOfALaterVersion_thenShouldSkipThem() {
+    TransactionEvent event = event("1", "1", 42);
+    byte[] frame = codec.encode(List.of(event));
+    // the single record is at the end of the frame, after a one byte length
+    int length = recordLength(frame);
+    byte[] evolved = Arrays.copyOf(frame, frame.length + 2);
+    evolved[frame.length - 1 - length] = (byte) (length + 2);
+    evolved[frame.length] = 7;
+    evolved[frame.length + 1] = 9;
+
+    List<TransactionEvent> decoded = codec.decode(evolved);
+
+    assertThat(decoded).hasSize(1);
+    assertSameEvent(decoded.get(0), event);
+  }
+
+  // Reads the length of the only record of a frame, written as one byte right before it, past
+  // the version, the dictionary and the count, all small enough to be written on one byte each.
+  private static int recordLength(byte[] frame) {
+    int position = 1;
+    int entries = frame[position++];
+    for (int i = 0; i < entries; i++) {
+      position += frame[position];
+    }
+    position++;
+    int length = frame[position];
+    assertThat(position + 1 + length).isEqualTo(frame.length);
+    return length;
+  }
+
+  @Test
+  void whenFrameIsOfAnUnknownVersion_thenShouldBeRejected() {
+    byte[] frame = codec.encode(List.of(event("1", "1", 1)));
+    frame[0] = CompactEventCodec.VERSION + 1;
+
+    assertThrows(IllegalArgumentException.class, () -> codec.decode(frame));
+  }
+
+  @Test
+  void whenReadWithCursor_thenShouldReadFieldsInPlace() {
+    TransactionEvent first = event("1", "1", 10);
+    TransactionEvent second = event("2", "2", 20);
+    byte[] frame = codec.encode(List.of(first, second));
+    ByteBuffer direct = ByteBuffer.allocateDirect(frame.length).put(frame).flip();
+
+    CompactEventCodec.Cursor cursor = codec.cursor(direct);
+
+    assertThat(cursor.count()).isEqualTo(2);
+    assertThat(cursor.next()).isTrue();
+    assertThat(cursor.userId()).isEqualTo("1");
+    assertThat(cursor.amount()).isEqualTo(10);
+    assertThat(cursor.next()).isTrue();
+    assertThat(cursor.transactionType()).isEqualTo(TransactionTypeEnum.AUTHORIZATION);
+    assertThat(cursor.response()).isEqualTo(ResponseCodeEnum.DECLINED);
+    assertSameEvent(cursor.toEvent(), second);
+    assertThat(cursor.next()).isFalse();
+    assertThat(direct.position()).isZero();
+  }
+}
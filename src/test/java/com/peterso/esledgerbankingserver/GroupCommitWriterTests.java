@@ -0,0 +1,117 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.repository.journal.GroupCommitWriter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class GroupCommitWriterTests {
+
+  private static TransactionEvent event(String messageId) {
+    return TransactionEvent.builder()
+        .userId("1")
+        .messageId(messageId)
+        .transactionType(TransactionTypeEnum.LOAD)
+        .response(ResponseCodeEnum.APPROVED)
+        .build();
+  }
+
+  @Test
+  void whenEventsQueueUpDuringACommit_thenShouldWriteThemAsOneBatch() throws Exception {
+    CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+    List<List<String>> batches = new CopyOnWriteArrayList<>();
+    GroupCommitWriter writer = new GroupCommitWriter(batch -> {
+      batches.add(batch.stream().map(TransactionEvent::getMessageId).toList());
+      firstBatchStarted.countDown();
+      try {
+        releaseFirstBatch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }, 3, Duration.ZERO);
+
+    CompletableFuture<Void> first = writer.submit(event("1"));
+    assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    List<CompletableFuture<Void>> queued = new ArrayList<>();
+    for (int i = 2; i <= 6; i++) {
+      queued.add(writer.submit(event(String.valueOf(i))));
+    }
+
+    // nothing is acknowledged before its batch has been written
+    assertThat(first).isNotDone();
+    assertThat(queued).noneMatch(CompletableFuture::isDone);
+
+    releaseFirstBatch.countDown();
+    CompletableFuture.allOf(queued.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+    writer.close();
+
+    assertThat(first).isDone();
+    assertThat(batches).containsExactly(List.of("1"), List.of("2", "3", "4"), List.of("5", "6"));
+  }
+
+  @Test
+  void whenBatchFails_thenShouldFailEveryCallerOfTheBatch() {
+    GroupCommitWriter writer = new GroupCommitWriter(batch -> {
+      throw new java.io.IOException("disk full");
+    }, 16, Duration.ofMillis(5));
+
+    CompletableFuture<Void> first = writer.submit(event("1"));
+    CompletableFuture<Void> second = writer.submit(event("2"));
+
+    assertThat(first).failsWithin(5, TimeUnit.SECONDS);
+    assertThat(second).failsWithin(5, TimeUnit.SECONDS);
+    writer.close();
+    assertThat(writer.submit(event("3"))).isCompletedExceptionally();
+  }
+
+  @Test
+  void whenSubmittingAList_thenShouldNeverSplitItBetweenBatches() throws Exception {
+    List<List<String>> batches = new CopyOnWriteArrayList<>();
+    GroupCommitWriter writer = new GroupCommitWriter(
+        batch -> batches.add(batch.stream().map(TransactionEvent::getMessageId).toList()),
+        2, Duration.ofMillis(20));
+
+    CompletableFuture<Void> single = writer.submit(event("1"));
+    CompletableFuture<Void> list = writer.submit(List.of(event("2"), event("3"), event("4")));
+    CompletableFuture.allOf(single, list).get(5, TimeUnit.SECONDS);
+    writer.close();
+
+    assertThat(batches).containsExactly(List.of("1"), List.of("2", "3", "4"));
+  }
+
+  @Test
+  void whenClosingWhileSubmitting_thenShouldCompleteEverySubmittedAppend() throws Exception {
+    for (int round = 0; round < 50; round++) {
+      GroupCommitWriter writer = new GroupCommitWriter(batch -> { }, 4, Duration.ZERO);
+      List<CompletableFuture<Void>> futures = new CopyOnWriteArrayList<>();
+      CountDownLatch submitting = new CountDownLatch(1);
+      Thread submitter = new Thread(() -> {
+        submitting.countDown();
+        for (int i = 0; i < 10_000; i++) {
+          futures.add(writer.submit(event(String.valueOf(i))));
+        }
+      });
+      submitter.start();
+      submitting.await();
+      writer.close();
+      submitter.join();
+
+      // every append is either written or rejected, none is left pending
+      CompletableFuture.allOf(futures.stream()
+              .map(future -> future.exceptionally(e -> null))
+              .toArray(CompletableFuture[]::new))
+          .get(5, TimeUnit.SECONDS);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.InMemoryEventStore;
+import com.peterso.esledgerbankingserver.service.IdempotencyCache;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class IdempotencyCacheTests {
+
+  private final EventStore eventStore = new InMemoryEventStore();
+
+  private static TransactionEvent load(String userId, String messageId) {
+    return TransactionEvent.builder()
+        .userId(userId)
+        .messageId(messageId)
+        .transactionType(TransactionTypeEnum.LOAD)
+        .amount(100)
+        .currency("USD")
+        .response(ResponseCodeEnum.APPROVED)
+        .build();
+  }
+
+  @Test
+  void whenMoreMessagesThanMaxSize_thenShouldEvictOldest() {
+    IdempotencyCache cache = new IdempotencyCache(eventStore, new BalanceProjection(eventStore),
+        64, Duration.ofHours(1));
+
+    for (int i = 0; i < 1000; i++) {
+      cache.put(load("1", String.valueOf(i)), i);
+    }
+
+    assertThat(cache.size()).isLessThanOrEqualTo(64);
+    assertThat(cache.get("1", "999", TransactionTypeEnum.LOAD).balance()).isEqualTo(999);
+    assertThat(cache.get("1", "0", TransactionTypeEnum.LOAD)).isNull();
+  }
+
+  @Test
+  void whenTtlElapsed_thenShouldForgetMessage() {
+    IdempotencyCache cache = new IdempotencyCache(eventStore, new BalanceProjection(eventStore),
+        64, Duration.ofMillis(-1));
+
+    cache.put(load("1", "1"), 100);
+
+    assertThat(cache.get("1", "1", TransactionTypeEnum.LOAD)).isNull();
+  }
+
+  @Test
+  void whenRebuilt_thenShouldRecoverBalanceAfterEachEvent() {
+    eventStore.saveEvent(load("1", "1"));
+    eventStore.saveEvent(load("2", "2"));
+    eventStore.saveEvent(load("1", "3"));
+
+    IdempotencyCache cache = new IdempotencyCache(eventStore, new BalanceProjection(eventStore),
+        64, Duration.ofHours(1));
+
+    assertThat(cache.get("1", "1", TransactionTypeEnum.LOAD).balance()).isEqualTo(100);
+    assertThat(cache.get("2", "2", TransactionTypeEnum.LOAD).balance()).isEqualTo(100);
+    assertThat(cache.get("1", "3", TransactionTypeEnum.LOAD).balance()).isEqualTo(200);
+    assertThat(cache.get("2", "1", TransactionTypeEnum.LOAD)).isNull();
+  }
+
+  @Test
+  void whenDisabled_thenShouldRememberNothing() {
+    eventStore.saveEvent(load("1", "1"));
+    IdempotencyCache cache = new IdempotencyCache(eventStore, new BalanceProjection(eventStore),
+        0, Duration.ofHours(1));
+
+    cache.put(load("1", "2"), 100);
+
+    assertThat(cache.get("1", "1", TransactionTypeEnum.LOAD)).isNull();
+    assertThat(cache.get("1", "2", TransactionTypeEnum.LOAD)).isNull();
+    assertThat(cache.size()).isZero();
+  }
+}
@@ -0,0 +1,169 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.peterso.esledgerbankingserver.model.Money;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.repository.EventPosition;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.InMemoryEventStore;
+import com.peterso.esledgerbankingserver.repository.WrongExpectedVersionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryEventStoreTests {
+
+  private EventStore inMemoryEventStore;
+
+  @BeforeEach
+  void setUp() {
+    inMemoryEventStore = new InMemoryEventStore();
+  }
+
+  private static TransactionEvent loadEvent(String userId, String messageId) {
+    return TransactionEvent.builder()
+        .userId(userId)
+        .messageId(messageId)
+        .transactionType(TransactionTypeEnum.LOAD)
+        .amount(Money.parse("1"))
+        .currency("USD")
+        .response(ResponseCodeEnum.APPROVED)
+        .build();
+  }
+
+  @Test
+  void whenEventsSaved_thenShouldPartitionByUser() {
+    inMemoryEventStore.saveEvent(loadEvent("1", "1"));
+    inMemoryEventStore.saveEvent(loadEvent("2", "2"));
+    inMemoryEventStore.saveEvent(loadEvent("1", "3"));
+
+    assertThat(inMemoryEventStore.getEventStore()).hasSize(3);
+    assertThat(inMemoryEventStore.getEvents("1"))
+        .extracting(TransactionEvent::getMessageId).containsExactly("1", "3");
+    assertThat(inMemoryEventStore.getEvents("2"))
+        .extracting(TransactionEvent::getMessageId).containsExactly("2");
+    assertThat(inMemoryEventStore.getStreamVersion("1")).isEqualTo(2);
+    assertThat(inMemoryEventStore.getStreamVersion("3")).isZero();
+  }
+
+  @Test
+  void whenReadingSinceVersion_thenShouldReturnOnlyTheTail() {
+    inMemoryEventStore.saveEvent(loadEvent("1", "1"));
+    inMemoryEventStore.saveEvent(loadEvent("1", "2"));
+    inMemoryEventStore.saveEvent(loadEvent("1", "3"));
+
+    assertThat(inMemoryEventStore.getEvents("1", 1))
+        .extracting(TransactionEvent::getMessageId).containsExactly("2", "3");
+    assertThat(inMemoryEventStore.getEvents("1", 3)).isEmpty();
+    assertThat(inMemoryEventStore.getEvents("unknown", 0)).isEmpty();
+  }
+
+  @Test
+  void whenReadingAPage_thenShouldReturnAtMostLimitEvents() {
+    for (int i = 0; i < 5; i++) {
+      inMemoryEventStore.saveEvent(loadEvent("1", String.valueOf(i)));
+    }
+
+    assertThat(inMemoryEventStore.getEvents("1", 1, 2))
+        .extracting(TransactionEvent::getMessageId).containsExactly("1", "2");
+    assertThat(inMemoryEventStore.getEvents("1", 4, 2))
+        .extracting(TransactionEvent::getMessageId).containsExactly("4");
+    assertThat(inMemoryEventStore.getEventsSince(3, 10)).hasSize(2);
+  }
+
+  @Test
+  void whenFindingVersionsByType_thenShouldReturnOnlyVersionsOfThatType() {
+    for (int i = 0; i < 6; i++) {
+      TransactionEvent event = loadEvent("1", String.valueOf(i));
+      inMemoryEventStore.saveEvent(i % 3 == 0 ? TransactionEvent.builder()
+          .userId("1")
+          .messageId(String.valueOf(i))
+          .transactionType(TransactionTypeEnum.AUTHORIZATION)
+          .amount(0)
+          .currency("USD")
+          .response(ResponseCodeEnum.APPROVED)
+          .build() : event);
+    }
+
+    assertThat(inMemoryEventStore.findVersions("1", TransactionTypeEnum.AUTHORIZATION, 0, 10))
+        .containsExactly(0, 3);
+    assertThat(inMemoryEventStore.findVersions("1", TransactionTypeEnum.LOAD, 2, 2))
+        .containsExactly(2, 4);
+    assertThat(inMemoryEventStore.findVersions("1", TransactionTypeEnum.LOAD, 6, 2)).isEmpty();
+    assertThat(inMemoryEventStore.findVersions("2", TransactionTypeEnum.LOAD, 0, 2)).isEmpty();
+  }
+
+  @Test
+  void whenAppendingAtTheExpectedVersion_thenShouldSaveTheEventsAndReturnTheirPosition() {
+    inMemoryEventStore.saveEvent(loadEvent("2", "0"));
+
+    EventPosition first = inMemoryEventStore.append("1", 0,
+        List.of(loadEvent("1", "1"), loadEvent("1", "2")));
+    EventPosition second = inMemoryEventStore.append("1", 2, List.of(loadEvent("1", "3")));
+
+    assertThat(first).isEqualTo(new EventPosition(1, 0));
+    assertThat(second).isEqualTo(new EventPosition(3, 2));
+    assertThat(inMemoryEventStore.getEvents("1"))
+        .extracting(TransactionEvent::getMessageId).containsExactly("1", "2", "3");
+  }
+
+  @Test
+  void whenAppendingAtAStaleVersion_thenShouldSaveNothing() {
+    inMemoryEventStore.saveEvent(loadEvent("1", "1"));
+
+    assertThatThrownBy(() -> inMemoryEventStore.append("1", 0, List.of(loadEvent("1", "2"))))
+        .isInstanceOfSatisfying(WrongExpectedVersionException.class, e -> {
+          assertThat(e.getExpectedVersion()).isZero();
+          assertThat(e.getActualVersion()).isEqualTo(1);
+        });
+    assertThatThrownBy(() -> inMemoryEventStore.append("1", 1, List.of(loadEvent("2", "2"))))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(inMemoryEventStore.getSequence()).isEqualTo(1);
+  }
+
+  @Test
+  void whenWritersRaceOnAStream_thenShouldAppendEachEventOnce() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Set<Integer> versions = ConcurrentHashMap.newKeySet();
+      List<Future<?>> futures = new ArrayList<>();
+      for (int writer = 0; writer < 4; writer++) {
+        int id = writer;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 250; i++) {
+            TransactionEvent event = loadEvent("1", id + "-" + i);
+            while (true) {
+              try {
+                versions.add(inMemoryEventStore.append("1",
+                    inMemoryEventStore.getStreamVersion("1"), List.of(event)).streamVersion());
+                break;
+              } catch (WrongExpectedVersionException e) {
+                // another writer appended first, read the new version and retry
+              }
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+
+      assertThat(inMemoryEventStore.getEvents("1")).hasSize(1000);
+      assertThat(versions).containsExactlyInAnyOrderElementsOf(
+          IntStream.range(0, 1000).boxed().toList());
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,292 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.peterso.esledgerbankingserver.model.Money;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.repository.EventPosition;
+import com.peterso.esledgerbankingserver.repository.WrongExpectedVersionException;
+import com.peterso.esledgerbankingserver.repository.journal.JournalEventStore;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalEventStoreTests {
+
+  private static final int SEGMENT_SIZE = 4096;
+
+  @TempDir
+  Path directory;
+
+  private static TransactionEvent event(String userId, String messageId) {
+    return TransactionEvent.builder()
+        .userId(userId)
+        .messageId(messageId)
+        .transactionType(TransactionTypeEnum.AUTHORIZATION)
+        .amount(Money.parse("12.34"))
+        .currency("USD")
+        .response(ResponseCodeEnum.DECLINED)
+        .build();
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.sorted().toList();
+    }
+  }
+
+  @Test
+  void whenReopened_thenShouldReplayEveryEvent() throws IOException {
+    JournalEventStore store = new JournalEventStore(directory, SEGMENT_SIZE, true);
+    TransactionEvent first = event("1", "1");
+    TransactionEvent second = event("2", "2");
+    store.saveEvent(first);
+    store.saveEvent(second);
+    store.close();
+
+    JournalEventStore reopened = new JournalEventStore(directory, SEGMENT_SIZE, true);
+    List<TransactionEvent> events = reopened.getEventStore();
+
+    assertThat(events).hasSize(2);
+    assertThat(events.get(0)).usingRecursiveComparison().isEqualTo(first);
+    assertThat(events.get(1)).usingRecursiveComparison().isEqualTo(second);
+    assertThat(reopened.getStreamVersion("1")).isEqualTo(1);
+    reopened.close();
+  }
+
+  @Test
+  void whenSegmentIsFull_thenShouldRollToANewSegment() throws IOException {
+    JournalEventStore store = new JournalEventStore(directory, SEGMENT_SIZE, false);
+    for (int i = 0; i < 200; i++) {
+      store.saveEvent(event(String.valueOf(i % 3), String.valueOf(i)));
+    }
+    store.close();
+
+    assertThat(segments().size()).isGreaterThan(1);
+
+    JournalEventStore reopened = new JournalEventStore(directory, SEGMENT_SIZE, false);
+    assertThat(reopened.getEventStore())
+        .extracting(TransactionEvent::getMessageId)
+        .containsExactlyElementsOf(Stream.iterate(0, i -> i + 1).limit(200)
+            .map(String::valueOf).toList());
+    reopened.close();
+  }
+
+  @Test
+  void whenTailIsTorn_thenShouldDiscardItAndKeepAppending() throws IOException {
+    JournalEventStore store = new JournalEventStore(directory, SEGMENT_SIZE, true);
+    store.saveEvent(event("1", "1"));
+    store.saveEvent(event("1", "2"));
+    store.close();
+
+    // corrupt the payload of the second record as a crash mid-write would
+    try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+      int firstLength = file.readInt();
+      long secondPayload = 8L + firstLength + 8L;
+      file.seek(secondPayload + 4);
+      file.writeLong(0x7FFF_FFFF_FFFF_FFFFL);
+    }
+
+    JournalEventStore recovered = new JournalEventStore(directory, SEGMENT_SIZE, true);
+    assertThat(recovered.getEventStore())
+        .extracting(TransactionEvent::getMessageId).containsExactly("1");
+    recovered.saveEvent(event("1", "3"));
+    recovered.close();
+
+    JournalEventStore reopened = new JournalEventStore(directory, SEGMENT_SIZE, true);
+    assertThat(reopened.getEventStore())
+        .extracting(TransactionEvent::getMessageId).containsExactly("1", "3");
+    reopened.close();
+  }
+
+  @Test
+  void whenTailIsTorn_thenShouldClearEveryRecordAfterIt() throws IOException {
+    JournalEventStore store = new JournalEventStore(directory, SEGMENT_SIZE, true);
+    for (int i = 1; i <= 3; i++) {
+      store.saveEvent(event("1", String.valueOf(i)));
+    }
+    store.close();
+
+    long firstEnd;
+    long end;
+    try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+      firstEnd = 8L + file.readInt();
+      end = firstEnd;
+      for (int i = 0; i < 2; i++) {
+        file.seek(end);
+        end += 8L + file.readInt();
+      }
+      // corrupt the checksum of the second record, leaving the third one intact after it
+      file.seek(firstEnd + 4);
+      file.writeInt(~file.readInt());
+    }
+
+    new JournalEventStore(directory, SEGMENT_SIZE, true).close();
+
+    try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "r")) {
+      byte[] tail = new byte[(int) (end - firstEnd)];
+      file.seek(firstEnd);
+      file.readFully(tail);
+      assertThat(tail).containsOnly(0);
+    }
+  }
+
+  @Test
+  void whenABatchRecordIsTorn_thenShouldDiscardTheWholeBatch() throws IOException {
+    JournalEventStore store = new JournalEventStore(directory, SEGMENT_SIZE, true);
+    store.saveEvent(event("1", "1"));
+    store.saveEvents(List.of(event("1", "2"), event("2", "3"), event("1", "4")));
+    store.close();
+
+    // corrupt the last byte of the batch record, leaving its first events intact
+    try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+      long batchRecord = 8L + file.readInt();
+      file.seek(batchRecord);
+      long lastByte = batchRecord + 8L + file.readInt() - 1;
+      file.seek(lastByte);
+      int last = file.read();
+      file.seek(lastByte);
+      file.write(~last);
+    }
+
+    JournalEventStore recovered = new JournalEventStore(directory, SEGMENT_SIZE, true);
+    assertThat(recovered.getEventStore())
+        .extracting(TransactionEvent::getMessageId).containsExactly("1");
+    assertThat(recovered.getStreamVersion("2")).isZero();
+    recovered.close();
+  }
+
+  @Test
+  void whenABatchFailsPartway_thenShouldNotKeepItsRecords() throws IOException {
+    JournalEventStore store = new JournalEventStore(directory, SEGMENT_SIZE, true, true, 16,
+        Duration.ofMillis(1));
+    store.saveEvent(event("1", "1"));
+    // the batch does not fit in a segment because of its second event
+    List<TransactionEvent> batch = List.of(event("1", "2"), event("1", "x".repeat(SEGMENT_SIZE)));
+
+    assertThatThrownBy(() -> store.saveEvents(batch))
+        .isInstanceOf(IllegalArgumentException.class);
+    store.saveEvent(event("1", "3"));
+    store.close();
+
+    JournalEventStore reopened = new JournalEventStore(directory, SEGMENT_SIZE, true);
+    assertThat(reopened.getEventStore())
+        .extracting(TransactionEvent::getMessageId).containsExactly("1", "3");
+    reopened.close();
+  }
+
+  @Test
+  void whenABatchDoesNotFitInASegment_thenShouldWriteNoneOfIt() throws IOException {
+    JournalEventStore store = new JournalEventStore(directory, SEGMENT_SIZE, true);
+    List<TransactionEvent> batch = new ArrayList<>();
+    // more than a segment of events, none of which is too large on its own
+    for (int i = 0; i < 80; i++) {
+      batch.add(event("1", String.valueOf(i)));
+    }
+
+    assertThatThrownBy(() -> store.saveEvents(batch))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(segments()).hasSize(1);
+    store.saveEvent(event("1", "after"));
+    store.close();
+
+    JournalEventStore reopened = new JournalEventStore(directory, SEGMENT_SIZE, true);
+    assertThat(reopened.getEventStore())
+        .extracting(TransactionEvent::getMessageId).containsExactly("after");
+    reopened.close();
+  }
+
+  @Test
+  void whenGroupCommitting_thenShouldPersistEveryAcknowledgedEvent() throws Exception {
+    JournalEventStore store = new JournalEventStore(directory, SEGMENT_SIZE, true, true, 8,
+        Duration.ofMillis(1));
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 400; i++) {
+      String messageId = String.valueOf(i);
+      futures.add(executor.submit(() -> store.saveEvent(event(messageId, messageId))));
+    }
+    for (Future<?> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+    assertThat(store.getEventStore()).hasSize(400);
+    store.close();
+
+    JournalEventStore reopened = new JournalEventStore(directory, SEGMENT_SIZE, true);
+    assertThat(reopened.getEventStore())
+        .extracting(TransactionEvent::getMessageId)
+        .containsExactlyInAnyOrderElementsOf(Stream.iterate(0, i -> i + 1).limit(400)
+            .map(String::valueOf).toList());
+    reopened.close();
+  }
+
+  @Test
+  void whenSavingAsync_thenShouldCompleteInAppendOrder() throws Exception {
+    JournalEventStore store = new JournalEventStore(directory, SEGMENT_SIZE, true, true, 8,
+        Duration.ofMillis(1));
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      futures.add(store.saveEventsAsync(List.of(event("1", String.valueOf(i)))));
+    }
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+    assertThat(store.getEvents("1"))
+        .extracting(TransactionEvent::getMessageId)
+        .containsExactlyElementsOf(Stream.iterate(0, i -> i + 1).limit(100)
+            .map(String::valueOf).toList());
+    store.close();
+  }
+
+  @Test
+  void whenAppendingAtAStaleVersion_thenShouldNotWriteTheEvents() throws IOException {
+    JournalEventStore store = new JournalEventStore(directory, SEGMENT_SIZE, true, true, 16,
+        Duration.ZERO);
+    store.saveEvent(event("1", "1"));
+    store.append("1", 1, List.of(event("1", "2")));
+
+    assertThatThrownBy(() -> store.append("1", 1, List.of(event("1", "3"))))
+        .isInstanceOf(WrongExpectedVersionException.class);
+    store.close();
+
+    JournalEventStore reopened = new JournalEventStore(directory, SEGMENT_SIZE, true);
+    assertThat(reopened.getEvents("1"))
+        .extracting(TransactionEvent::getMessageId).containsExactly("1", "2");
+    reopened.close();
+  }
+
+  @Test
+  void whenAppendingBehindQueuedEvents_thenShouldCountThem() throws Exception {
+    JournalEventStore store = new JournalEventStore(directory, SEGMENT_SIZE, true, true, 16,
+        Duration.ofMillis(200));
+    store.saveEvent(event("2", "0"));
+    CompletableFuture<Void> queued = store.saveEventsAsync(
+        List.of(event("1", "1"), event("2", "2"), event("1", "3")));
+
+    assertThatThrownBy(() -> store.append("1", 0, List.of(event("1", "4"))))
+        .isInstanceOfSatisfying(WrongExpectedVersionException.class,
+            e -> assertThat(e.getActualVersion()).isEqualTo(2));
+    EventPosition position = store.append("1", 2, List.of(event("1", "5")));
+    queued.get(10, TimeUnit.SECONDS);
+
+    assertThat(position).isEqualTo(new EventPosition(4, 2));
+    assertThat(store.getEvents("1"))
+        .extracting(TransactionEvent::getMessageId).containsExactly("1", "3", "5");
+    store.close();
+  }
+}
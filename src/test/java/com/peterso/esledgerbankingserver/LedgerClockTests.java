@@ -0,0 +1,92 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.peterso.esledgerbankingserver.model.event.EventTimes;
+import com.peterso.esledgerbankingserver.time.LedgerClock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class LedgerClockTests {
+
+  @Test
+  void whenCreatingIds_thenShouldBeIncreasingVersion7Uuids() {
+    long start = LedgerClock.millis();
+    UUID previous = LedgerClock.nextId();
+    // the id starts with the millisecond it was created in, or a later one when more than 4096
+    // ids are created within a millisecond
+    assertThat(previous.getMostSignificantBits() >>> 16).isGreaterThanOrEqualTo(start);
+    for (int i = 0; i < 100_000; i++) {
+      UUID id = LedgerClock.nextId();
+
+      assertThat(id).isGreaterThan(previous);
+      assertThat(id.version()).isEqualTo(7);
+      assertThat(id.variant()).isEqualTo(2);
+      previous = id;
+    }
+  }
+
+  @Test
+  void whenCreatingIdsOnSeveralThreads_thenShouldBeUnique() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<List<UUID>>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 4; thread++) {
+        futures.add(executor.submit(() -> {
+          List<UUID> ids = new ArrayList<>();
+          for (int i = 0; i < 20_000; i++) {
+            ids.add(LedgerClock.nextId());
+          }
+          return ids;
+        }));
+      }
+      Set<UUID> ids = new HashSet<>();
+      for (Future<List<UUID>> future : futures) {
+        List<UUID> threadIds = future.get();
+        assertThat(threadIds).isSorted();
+        ids.addAll(threadIds);
+      }
+
+      assertThat(ids).hasSize(80_000);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void whenReadingTheTime_thenShouldBeTheLocalTimeInMilliseconds() {
+    LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    String eventTime = LedgerClock.eventTime();
+    String serverTime = LedgerClock.serverTime();
+    LocalDateTime after = LocalDateTime.now();
+
+    assertThat(LocalDateTime.parse(eventTime)).isBetween(before, after);
+    assertThat(EventTimes.parse(eventTime)).isNotEqualTo(EventTimes.INVALID);
+    assertThat(serverTime).matches("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}Z$");
+    assertThat(LocalDateTime.parse(serverTime.substring(0, 23))).isBetween(before, after);
+  }
+
+  @Test
+  void whenReadingTheTimeRepeatedly_thenShouldNeverGoBack() {
+    long previous = LedgerClock.millis();
+    String previousTime = LedgerClock.eventTime();
+    for (int i = 0; i < 100_000; i++) {
+      long millis = LedgerClock.millis();
+      String time = LedgerClock.eventTime();
+
+      assertThat(millis).isGreaterThanOrEqualTo(previous);
+      assertThat(LocalDateTime.parse(time)).isAfterOrEqualTo(LocalDateTime.parse(previousTime));
+      previous = millis;
+      previousTime = time;
+    }
+  }
+}
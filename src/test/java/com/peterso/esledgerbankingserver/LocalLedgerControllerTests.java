@@ -0,0 +1,54 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import com.peterso.esledgerbankingserver.controller.LocalLedgerController;
+import com.peterso.esledgerbankingserver.model.dto.PipelineStats;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.service.TransactionService;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+public class LocalLedgerControllerTests {
+
+  @Mock
+  private TransactionService transactionService;
+
+  @Mock
+  private EventStore eventStore;
+
+  @InjectMocks
+  private LocalLedgerController localLedgerController;
+
+  @BeforeEach
+  public void setUp() {
+    MockitoAnnotations.openMocks(this);
+  }
+
+  /**
+   * Tests the pipeline endpoint returns the statistics of every pipeline partition.
+   */
+  @Test
+  public void testPipeline() {
+    List<PipelineStats> expectedPartitions = List.of(PipelineStats.builder()
+        .partition(0)
+        .queueDepth(3)
+        .processedItems(42)
+        .throughput(10.5)
+        .hotAccounts(List.of(new PipelineStats.HotAccount("1", 7)))
+        .build());
+    when(transactionService.getPipelineStats()).thenReturn(expectedPartitions);
+
+    ResponseEntity<List<PipelineStats>> responseEntity = localLedgerController.pipeline();
+
+    assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+    assertEquals(expectedPartitions, responseEntity.getBody());
+  }
+}
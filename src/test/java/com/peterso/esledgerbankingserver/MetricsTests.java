@@ -0,0 +1,72 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsTests {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  private static Amount amount(String value, DebitCreditEnum debitOrCredit) {
+    return Amount.builder().amount(value).currency("USD").debitOrCredit(debitOrCredit).build();
+  }
+
+  @Test
+  void whenTransactionsServed_thenShouldPublishLedgerMetrics() throws Exception {
+    String userId = UUID.randomUUID().toString();
+    mockMvc.perform(MockMvcRequestBuilders.put("/load")
+            .content(objectMapper.writeValueAsString(LoadRequest.builder()
+                .userId(userId)
+                .messageId("1")
+                .transactionAmount(amount("10.00", DebitCreditEnum.CREDIT))
+                .build()))
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isCreated());
+    for (String value : new String[] {"4.00", "100.00"}) {
+      mockMvc.perform(MockMvcRequestBuilders.put("/authorization")
+              .content(objectMapper.writeValueAsString(AuthorizationRequest.builder()
+                  .userId(userId)
+                  .messageId(value)
+                  .transactionAmount(amount(value, DebitCreditEnum.DEBIT))
+                  .build()))
+              .contentType(MediaType.APPLICATION_JSON))
+          .andExpect(status().isCreated());
+    }
+
+    String metrics = mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    assertThat(metrics)
+        .contains("http_server_requests_seconds_bucket{")
+        .contains("ledger_validation_seconds_bucket{")
+        .contains("ledger_balance_reads_seconds_bucket{")
+        .contains("ledger_store_appends_seconds_bucket{")
+        .containsPattern("ledger_authorizations_total\\{response=\"APPROVED\"} [1-9]")
+        .containsPattern("ledger_authorizations_total\\{response=\"DECLINED\"} [1-9]")
+        .containsPattern("ledger_store_events [1-9]")
+        .containsPattern("ledger_store_streams [1-9]")
+        .containsPattern("ledger_store_stream_length_max [1-9]");
+  }
+}
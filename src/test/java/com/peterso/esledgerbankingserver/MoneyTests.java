@@ -0,0 +1,52 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.peterso.esledgerbankingserver.model.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MoneyTests {
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 0",
+      "0.00, 0",
+      "-0, 0",
+      "10, 1000",
+      "100.23, 10023",
+      "3.2, 320",
+      ".5, 50",
+      "5., 500",
+      "+7, 700",
+      "1.5000, 150",
+      "0.01, 1",
+      "1.2e1, 1200",
+      "1E-2, 1",
+      "-12.05, -1205",
+      "92233720368547758.07, 9223372036854775807"
+  })
+  void whenValidAmount_thenShouldParseToMinorUnits(String value, long minorUnits) {
+    assertThat(Money.parse(value)).isEqualTo(minorUnits);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", ".", "-", "abc", "1.001", "1e-3", "1.2.3", "1e", " 1", "1,00",
+      "92233720368547758.08"})
+  void whenInvalidAmount_thenShouldBeRejected(String value) {
+    assertThat(Money.parseOrInvalid(value)).isEqualTo(Money.INVALID);
+    assertThatThrownBy(() -> Money.parse(value)).isInstanceOf(NumberFormatException.class);
+  }
+
+  @Test
+  void whenFormatting_thenShouldAlwaysHaveTwoDecimals() {
+    assertThat(Money.format(0)).isEqualTo("0.00");
+    assertThat(Money.format(5)).isEqualTo("0.05");
+    assertThat(Money.format(10023)).isEqualTo("100.23");
+    assertThat(Money.format(-1205)).isEqualTo("-12.05");
+    assertThat(Money.format(-5)).isEqualTo("-0.05");
+  }
+}
@@ -0,0 +1,94 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+public class ReactiveTransactionControllerTests {
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  @Autowired
+  private ReactiveWebServerApplicationContext applicationContext;
+
+  private static Amount amount(String amount, DebitCreditEnum debitOrCredit) {
+    return Amount.builder()
+        .amount(amount)
+        .currency("USD")
+        .debitOrCredit(debitOrCredit)
+        .build();
+  }
+
+  @Test
+  void whenReactiveProfileActive_thenShouldServeOnNetty() {
+    assertThat(applicationContext.getWebServer()).isInstanceOf(NettyWebServer.class);
+    webTestClient.get().uri("/ping")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody().jsonPath("$.serverTime").exists();
+  }
+
+  @Test
+  void whenGivenValidRequests_thenShouldLoadAndAuthorize() {
+    LoadResponse load = webTestClient.put().uri("/load")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(LoadRequest.builder()
+            .userId("reactive-1")
+            .messageId("1")
+            .transactionAmount(amount("20.00", DebitCreditEnum.CREDIT))
+            .build())
+        .exchange()
+        .expectStatus().isCreated()
+        .expectBody(LoadResponse.class)
+        .returnResult().getResponseBody();
+    assertThat(load.getBalance().getAmount()).isEqualTo("20.00");
+
+    AuthorizationResponse authorization = webTestClient.put().uri("/authorization")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(AuthorizationRequest.builder()
+            .userId("reactive-1")
+            .messageId("2")
+            .transactionAmount(amount("30.00", DebitCreditEnum.DEBIT))
+            .build())
+        .exchange()
+        .expectStatus().isCreated()
+        .expectBody(AuthorizationResponse.class)
+        .returnResult().getResponseBody();
+    assertThat(authorization.getResponseCode()).isEqualTo(ResponseCodeEnum.DECLINED);
+    assertThat(authorization.getBalance().getAmount()).isEqualTo("20.00");
+  }
+
+  @Test
+  void whenGivenInvalidRequest_thenShouldReturnSameErrorAsServlet() {
+    webTestClient.put().uri("/load")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(LoadRequest.builder()
+            .userId("reactive-2")
+            .messageId("")
+            .transactionAmount(amount("10", DebitCreditEnum.CREDIT))
+            .build())
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody()
+        .jsonPath("$.message").isEqualTo("messageId must not be blank")
+        .jsonPath("$.code").isEqualTo("400 BAD_REQUEST");
+  }
+}
@@ -0,0 +1,135 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.peterso.esledgerbankingserver.model.dto.AccountBalance;
+import com.peterso.esledgerbankingserver.model.dto.AccountEvents;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.ReplicaStatus;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import java.io.IOException;
+import java.net.ServerSocket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tests of a read replica following a primary on localhost, each a separate application context.
+ */
+class ReplicaControllerTests {
+
+  private final RestTemplate restTemplate = new RestTemplate();
+  private ConfigurableApplicationContext primary;
+  private ConfigurableApplicationContext replica;
+  private String primaryUrl;
+  private String replicaUrl;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    int primaryPort = freePort();
+    int replicaPort = freePort();
+    primaryUrl = "http://localhost:" + primaryPort;
+    replicaUrl = "http://localhost:" + replicaPort;
+    primary = new SpringApplicationBuilder(EsLedgerBankingServerApplication.class)
+        .run("--server.port=" + primaryPort);
+    replica = new SpringApplicationBuilder(EsLedgerBankingServerApplication.class)
+        .run("--server.port=" + replicaPort,
+            "--ledger.replica.enabled=true",
+            "--ledger.replica.primary-url=" + primaryUrl,
+            "--ledger.replica.poll-interval=10ms",
+            "--ledger.replica.batch-size=7");
+  }
+
+  @AfterEach
+  void tearDown() {
+    replica.close();
+    primary.close();
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private void load(String url, String userId, String messageId, String amount) {
+    LoadRequest request = LoadRequest.builder()
+        .userId(userId)
+        .messageId(messageId)
+        .transactionAmount(Amount.builder()
+            .amount(amount)
+            .currency("USD")
+            .debitOrCredit(DebitCreditEnum.CREDIT)
+            .build())
+        .build();
+    restTemplate.exchange(url + "/load", HttpMethod.PUT, new HttpEntity<>(request), String.class);
+  }
+
+  private ReplicaStatus awaitSequence(long sequence) throws InterruptedException {
+    for (int attempt = 0; attempt < 500; attempt++) {
+      ReplicaStatus status = restTemplate.getForObject(replicaUrl + "/replica/status",
+          ReplicaStatus.class);
+      if (status.getAppliedSequence() >= sequence) {
+        return status;
+      }
+      Thread.sleep(10);
+    }
+    throw new AssertionError("The replica did not reach sequence " + sequence);
+  }
+
+  @Test
+  void whenPrimaryLoads_thenReplicaShouldServeBalanceWithAppliedSequence() throws Exception {
+    for (int i = 0; i < 20; i++) {
+      load(primaryUrl, "user-" + (i % 2), "message-" + i, "1.50");
+    }
+
+    ReplicaStatus status = awaitSequence(20);
+    assertThat(status.getLag()).isZero();
+    assertThat(status.getLastFetchTime()).isNotNull();
+
+    AccountBalance balance = restTemplate.getForObject(replicaUrl + "/accounts/user-0/balance",
+        AccountBalance.class);
+    assertThat(balance.getBalance().getAmount()).isEqualTo("15.00");
+    assertThat(balance.getBalance().getCurrency()).isEqualTo("USD");
+    assertThat(balance.getSequence()).isEqualTo(20);
+  }
+
+  @Test
+  void whenHistoryIsPaged_thenReplicaShouldReturnEveryEventOnce() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      load(primaryUrl, "user-a", "message-" + i, i + ".00");
+    }
+    awaitSequence(5);
+
+    AccountEvents first = restTemplate.getForObject(
+        replicaUrl + "/accounts/user-a/events?limit=3", AccountEvents.class);
+    assertThat(first.getEvents()).hasSize(3);
+    assertThat(first.getNextCursor()).isNotNull();
+    AccountEvents second = restTemplate.getForObject(
+        replicaUrl + "/accounts/user-a/events?limit=3&cursor=" + first.getNextCursor(),
+        AccountEvents.class);
+    assertThat(second.getEvents()).hasSize(2);
+    assertThat(second.getEvents().get(1).getVersion()).isEqualTo(4);
+    assertThat(second.getEvents().get(1).getMessageId()).isEqualTo("message-4");
+    assertThat(second.getEvents().get(1).getTransactionType())
+        .isEqualTo(TransactionTypeEnum.LOAD);
+    assertThat(second.getEvents().get(1).getAmount().getAmount()).isEqualTo("4.00");
+    assertThat(second.getNextCursor()).isNull();
+    assertThat(second.getSequence()).isEqualTo(5);
+  }
+
+  @Test
+  void whenWritingToReplica_thenShouldNotBeServed() {
+    assertThrows(HttpClientErrorException.class,
+        () -> load(replicaUrl, "user-a", "message-0", "1.00"));
+  }
+}
@@ -0,0 +1,77 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.replica.EventFeed;
+import com.peterso.esledgerbankingserver.replica.ReplicaTailer;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.InMemoryEventStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ReplicaTailerTests {
+
+  private final EventStore eventStore = new InMemoryEventStore();
+  private final BalanceProjection balanceProjection = new BalanceProjection(eventStore);
+  private final List<TransactionEvent> primaryLog = new ArrayList<>();
+  private final EventFeed eventFeed = (fromSequence, limit) -> {
+    int from = (int) Math.min(fromSequence, primaryLog.size());
+    int to = Math.min(from + limit, primaryLog.size());
+    return new EventFeed.Page(List.copyOf(primaryLog.subList(from, to)), primaryLog.size());
+  };
+  private final ReplicaTailer replicaTailer = new ReplicaTailer(eventStore, balanceProjection,
+      eventFeed, Duration.ofMillis(10), 2);
+
+  private static TransactionEvent load(String userId, String messageId) {
+    return TransactionEvent.builder()
+        .userId(userId)
+        .messageId(messageId)
+        .transactionType(TransactionTypeEnum.LOAD)
+        .amount(100)
+        .currency("USD")
+        .response(ResponseCodeEnum.APPROVED)
+        .build();
+  }
+
+  @Test
+  void whenPrimaryIsAhead_thenShouldApplyItsEvents() {
+    for (int i = 0; i < 5; i++) {
+      primaryLog.add(load("1", String.valueOf(i)));
+    }
+
+    assertThat(replicaTailer.catchUp()).isEqualTo(5);
+
+    assertThat(replicaTailer.getAppliedSequence()).isEqualTo(5);
+    assertThat(replicaTailer.getPrimarySequence()).isEqualTo(5);
+    assertThat(replicaTailer.isDiverged()).isFalse();
+    assertThat(balanceProjection.getBalance("1")).isEqualTo(500);
+  }
+
+  @Test
+  void whenPrimaryFallsBehindReplica_thenShouldReportDivergenceAndStopApplying() {
+    for (int i = 0; i < 4; i++) {
+      primaryLog.add(load("1", String.valueOf(i)));
+    }
+    replicaTailer.catchUp();
+    primaryLog.subList(2, 4).clear();
+
+    assertThat(replicaTailer.catchUp()).isZero();
+    assertThat(replicaTailer.isDiverged()).isTrue();
+    assertThat(replicaTailer.getPrimarySequence()).isEqualTo(2);
+    assertThat(replicaTailer.getAppliedSequence()).isEqualTo(4);
+
+    for (int i = 2; i < 6; i++) {
+      primaryLog.add(load("1", "rewritten-" + i));
+    }
+    assertThat(replicaTailer.catchUp()).isZero();
+    assertThat(replicaTailer.isDiverged()).isTrue();
+    assertThat(replicaTailer.getPrimarySequence()).isEqualTo(6);
+    assertThat(balanceProjection.getBalance("1")).isEqualTo(400);
+  }
+}
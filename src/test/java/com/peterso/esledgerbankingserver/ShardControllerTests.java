@@ -0,0 +1,85 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.model.dto.ShardStats;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tests of the service in the sharded mode on localhost.
+ */
+class ShardControllerTests {
+
+  private final RestTemplate restTemplate = new RestTemplate();
+  private ConfigurableApplicationContext context;
+  private String url;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    url = "http://localhost:" + port;
+    context = new SpringApplicationBuilder(EsLedgerBankingServerApplication.class)
+        .run("--server.port=" + port,
+            "--ledger.shards.enabled=true",
+            "--ledger.shards.count=3");
+  }
+
+  @AfterEach
+  void tearDown() {
+    context.close();
+  }
+
+  private LoadResponse load(String userId, String messageId) {
+    LoadRequest request = LoadRequest.builder()
+        .userId(userId)
+        .messageId(messageId)
+        .transactionAmount(Amount.builder()
+            .amount("1.50")
+            .currency("USD")
+            .debitOrCredit(DebitCreditEnum.CREDIT)
+            .build())
+        .build();
+    return restTemplate.exchange(url + "/load", HttpMethod.PUT, new HttpEntity<>(request),
+        LoadResponse.class).getBody();
+  }
+
+  @Test
+  void whenLoading_thenShouldServeFromTheShardsAndShowTheirStats() {
+    for (int i = 0; i < 12; i++) {
+      load("user-" + (i % 6), "message-" + i);
+    }
+
+    assertThat(load("user-0", "message-12").getBalance().getAmount()).isEqualTo("4.50");
+    List<ShardStats> stats = Arrays.asList(
+        restTemplate.getForObject(url + "/ledger/shards", ShardStats[].class));
+    assertThat(stats).extracting(ShardStats::getShard).containsExactly(0, 1, 2);
+    assertThat(stats.stream().mapToLong(ShardStats::getSequence).sum()).isEqualTo(13);
+    assertThat(stats.stream().mapToInt(ShardStats::getAccounts).sum()).isEqualTo(6);
+  }
+
+  @Test
+  void whenAskedForTheGlobalLog_thenShouldNotBeServed() {
+    assertThrows(HttpClientErrorException.class,
+        () -> restTemplate.getForObject(url + "/ledger/events", byte[].class));
+  }
+}
@@ -0,0 +1,125 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.peterso.esledgerbankingserver.model.Money;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.ShardStats;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.service.AccountLocks;
+import com.peterso.esledgerbankingserver.service.IdempotencyCache;
+import com.peterso.esledgerbankingserver.service.TransactionService;
+import com.peterso.esledgerbankingserver.shard.ShardedLedger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ShardedLedgerTests {
+
+  private static final int SHARDS = 4;
+  private static final int USERS = 16;
+
+  private final ShardedLedger shardedLedger = new ShardedLedger(SHARDS, eventStore -> {
+    BalanceProjection balanceProjection = new BalanceProjection(eventStore);
+    return new TransactionService(eventStore, balanceProjection, new AccountLocks(),
+        new IdempotencyCache(eventStore, balanceProjection, 1_000_000, Duration.ofHours(1)),
+        1, 8);
+  });
+
+  @AfterEach
+  void tearDown() {
+    shardedLedger.close();
+  }
+
+  private static LoadRequest load(String userId, String messageId, String amount) {
+    return LoadRequest.builder()
+        .userId(userId)
+        .messageId(messageId)
+        .transactionAmount(Amount.builder()
+            .amount(amount)
+            .currency("USD")
+            .debitOrCredit(DebitCreditEnum.CREDIT)
+            .build())
+        .build();
+  }
+
+  @Test
+  void whenLoading_thenShouldKeepEveryEventInTheLogOfItsUsersShard() throws Exception {
+    ExecutorService clients = Executors.newFixedThreadPool(SHARDS);
+    try {
+      List<Future<LoadResponse>> responses = new ArrayList<>();
+      for (int i = 0; i < USERS * 10; i++) {
+        String userId = "user-" + i % USERS;
+        String messageId = String.valueOf(i);
+        responses.add(clients.submit(
+            () -> shardedLedger.handleLoadRequest(load(userId, messageId, "1.00"))));
+      }
+      for (Future<LoadResponse> response : responses) {
+        response.get();
+      }
+    } finally {
+      clients.shutdown();
+    }
+
+    long events = 0;
+    for (int shard = 0; shard < SHARDS; shard++) {
+      for (TransactionEvent event : shardedLedger.getEventStore(shard).getEventStore()) {
+        assertThat(shardedLedger.shard(event.getUserId())).isEqualTo(shard);
+        events++;
+      }
+    }
+    assertThat(events).isEqualTo(USERS * 10);
+    for (int user = 0; user < USERS; user++) {
+      assertThat(shardedLedger.getBalance("user-" + user)).isEqualTo(Money.parse("10.00"));
+    }
+  }
+
+  @Test
+  void whenAuthorizing_thenShouldDecideOnTheBalanceOfTheUsersShard() {
+    shardedLedger.handleLoadRequest(load("1", "1", "5.00"));
+    shardedLedger.handleLoadRequest(load("1", "1", "5.00"));
+
+    AuthorizationResponse response = shardedLedger.handleAuthorizationRequest(
+        AuthorizationRequest.builder()
+            .userId("1")
+            .messageId("2")
+            .transactionAmount(Amount.builder()
+                .amount("6.00")
+                .currency("USD")
+                .debitOrCredit(DebitCreditEnum.DEBIT)
+                .build())
+            .build());
+
+    assertThat(response.getResponseCode()).isEqualTo(ResponseCodeEnum.DECLINED);
+    assertThat(response.getBalance().getAmount()).isEqualTo("5.00");
+  }
+
+  @Test
+  void whenAskedForStats_thenShouldReportEveryShardsOwnLog() {
+    for (int user = 0; user < USERS; user++) {
+      shardedLedger.handleLoadRequest(load("user-" + user, "1", "1.00"));
+    }
+
+    List<ShardStats> stats = shardedLedger.getShardStats();
+
+    assertThat(stats).extracting(ShardStats::getShard).containsExactly(0, 1, 2, 3);
+    assertThat(stats.stream().mapToLong(ShardStats::getSequence).sum()).isEqualTo(USERS);
+    assertThat(stats.stream().mapToLong(ShardStats::getProcessedItems).sum()).isEqualTo(USERS);
+    for (ShardStats shard : stats) {
+      assertThat(shard.getSequence()).isEqualTo(shard.getAccounts());
+      assertThat(shard.getQueueDepth()).isZero();
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import com.peterso.esledgerbankingserver.model.Money;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.InMemoryEventStore;
+import com.peterso.esledgerbankingserver.snapshot.SnapshotStore;
+import com.peterso.esledgerbankingserver.snapshot.Snapshotter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnapshotterTests {
+
+  @TempDir
+  Path directory;
+
+  private EventStore inMemoryEventStore;
+
+  @BeforeEach
+  void setUp() {
+    inMemoryEventStore = new InMemoryEventStore();
+  }
+
+  private static TransactionEvent event(String userId, TransactionTypeEnum type, String amount) {
+    return TransactionEvent.builder()
+        .userId(userId)
+        .messageId("1")
+        .transactionType(type)
+        .amount(Money.parse(amount))
+        .currency("USD")
+        .response(ResponseCodeEnum.APPROVED)
+        .build();
+  }
+
+  @Test
+  void whenFewerThanMinEvents_thenShouldNotSnapshot() throws IOException {
+    SnapshotStore snapshotStore = new SnapshotStore(directory, 2);
+    Snapshotter snapshotter = new Snapshotter(inMemoryEventStore, snapshotStore,
+        Duration.ofMinutes(1), 2);
+    inMemoryEventStore.saveEvent(event("1", TransactionTypeEnum.LOAD, "10"));
+
+    assertThat(snapshotter.takeSnapshot()).isFalse();
+    assertThat(snapshotStore.latest()).isEmpty();
+  }
+
+  @Test
+  void whenRecovering_thenShouldLoadSnapshotAndReplayOnlyTheTail() throws IOException {
+    Snapshotter snapshotter = new Snapshotter(inMemoryEventStore,
+        new SnapshotStore(directory, 2), Duration.ofMinutes(1), 1);
+    inMemoryEventStore.saveEvent(event("1", TransactionTypeEnum.LOAD, "100"));
+    inMemoryEventStore.saveEvent(event("2", TransactionTypeEnum.LOAD, "5"));
+    inMemoryEventStore.saveEvent(event("1", TransactionTypeEnum.AUTHORIZATION, "40.50"));
+    assertThat(snapshotter.takeSnapshot()).isTrue();
+    inMemoryEventStore.saveEvent(event("1", TransactionTypeEnum.LOAD, "0.25"));
+    inMemoryEventStore.saveEvent(event("3", TransactionTypeEnum.LOAD, "7"));
+
+    // a fresh store reads the snapshot back from disk
+    SnapshotStore reloaded = new SnapshotStore(directory, 2);
+    assertThat(reloaded.latest()).hasValueSatisfying(
+        snapshot -> assertThat(snapshot.getSequence()).isEqualTo(3));
+
+    EventStore store = spy(inMemoryEventStore);
+    BalanceProjection projection = new BalanceProjection(store, reloaded);
+
+    verify(store).scan(eq(3L), eq(5L), any());
+    verify(store, never()).getEventStore();
+    assertThat(Money.format(projection.getBalance("1"))).isEqualTo("59.75");
+    assertThat(Money.format(projection.getBalance("2"))).isEqualTo("5.00");
+    assertThat(Money.format(projection.getBalance("3"))).isEqualTo("7.00");
+    assertThat(Money.format(projection.rehydrate("1"))).isEqualTo("59.75");
+  }
+
+  @Test
+  void whenSnapshotIsAheadOfTheEventStore_thenShouldIgnoreIt() throws IOException {
+    Snapshotter snapshotter = new Snapshotter(inMemoryEventStore,
+        new SnapshotStore(directory, 2), Duration.ofMinutes(1), 1);
+    inMemoryEventStore.saveEvent(event("1", TransactionTypeEnum.LOAD, "100"));
+    snapshotter.takeSnapshot();
+
+    EventStore emptyStore = spy(new InMemoryEventStore());
+    BalanceProjection projection = new BalanceProjection(emptyStore,
+        new SnapshotStore(directory, 2));
+
+    verify(emptyStore).scan(eq(0L), eq(0L), any());
+    assertThat(Money.format(projection.getBalance("1"))).isEqualTo("0.00");
+  }
+}
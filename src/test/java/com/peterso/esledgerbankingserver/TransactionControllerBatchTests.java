@@ -0,0 +1,112 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.BatchItem;
+import com.peterso.esledgerbankingserver.model.dto.BatchItemResult;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TransactionControllerBatchTests {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  private static BatchItem load(String userId, String messageId, String amount) {
+    return BatchItem.builder()
+        .load(LoadRequest.builder()
+            .userId(userId)
+            .messageId(messageId)
+            .transactionAmount(Amount.builder()
+                .amount(amount)
+                .currency("USD")
+                .debitOrCredit(DebitCreditEnum.CREDIT)
+                .build())
+            .build())
+        .build();
+  }
+
+  private static BatchItem authorization(String userId, String messageId, String amount) {
+    return BatchItem.builder()
+        .authorization(AuthorizationRequest.builder()
+            .userId(userId)
+            .messageId(messageId)
+            .transactionAmount(Amount.builder()
+                .amount(amount)
+                .currency("USD")
+                .debitOrCredit(DebitCreditEnum.DEBIT)
+                .build())
+            .build())
+        .build();
+  }
+
+  private List<BatchItemResult> performBatch(List<BatchItem> items) throws Exception {
+    String content = mockMvc.perform(MockMvcRequestBuilders
+            .put("/transactions:batch")
+            .content(objectMapper.writeValueAsString(items))
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    return objectMapper.readValue(content, new TypeReference<>() {
+    });
+  }
+
+  @Test
+  void whenGivenMixedBatch_thenShouldApplyItemsInOrder() throws Exception {
+    List<BatchItemResult> results = performBatch(List.of(
+        load("batch-1", "1", "100"),
+        authorization("batch-1", "2", "60"),
+        authorization("batch-1", "3", "60"),
+        load("batch-2", "4", "5.50"),
+        authorization("batch-1", "5", "40")));
+
+    assertThat(results).hasSize(5);
+    assertThat(results.get(0).getLoad().getBalance().getAmount()).isEqualTo("100.00");
+    assertThat(results.get(1).getAuthorization().getResponseCode())
+        .isEqualTo(ResponseCodeEnum.APPROVED);
+    assertThat(results.get(1).getAuthorization().getBalance().getAmount()).isEqualTo("40.00");
+    assertThat(results.get(2).getAuthorization().getResponseCode())
+        .isEqualTo(ResponseCodeEnum.DECLINED);
+    assertThat(results.get(2).getAuthorization().getBalance().getAmount()).isEqualTo("40.00");
+    assertThat(results.get(3).getLoad().getBalance().getAmount()).isEqualTo("5.50");
+    assertThat(results.get(4).getAuthorization().getBalance().getAmount()).isEqualTo("0.00");
+  }
+
+  @Test
+  void whenGivenInvalidItems_thenShouldRejectOnlyThoseItems() throws Exception {
+    List<BatchItemResult> results = performBatch(List.of(
+        load("batch-3", "1", "10"),
+        load("batch-3", "", "10"),
+        authorization("batch-3", "3", "-1"),
+        BatchItem.builder().build(),
+        authorization("batch-3", "5", "2.5")));
+
+    assertThat(results).hasSize(5);
+    assertThat(results.get(0).getLoad().getBalance().getAmount()).isEqualTo("10.00");
+    assertThat(results.get(1).getError().getMessage()).isEqualTo("messageId must not be blank");
+    assertThat(results.get(2).getError().getMessage())
+        .isEqualTo("String must be zero or a positive numerical monetary representation");
+    assertThat(results.get(3).getError().getMessage())
+        .isEqualTo("Batch item must contain exactly one of load or authorization");
+    assertThat(results.get(4).getAuthorization().getBalance().getAmount()).isEqualTo("7.50");
+  }
+}
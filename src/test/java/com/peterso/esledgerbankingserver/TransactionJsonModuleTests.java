@@ -0,0 +1,108 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.peterso.esledgerbankingserver.json.TransactionJsonModule;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.BatchItem;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class TransactionJsonModuleTests {
+
+  // ObjectMappers configured like Spring Boot's, without and with the module
+  private final ObjectMapper databind = Jackson2ObjectMapperBuilder.json().build();
+  private final ObjectMapper streaming = Jackson2ObjectMapperBuilder.json()
+      .modulesToInstall(new TransactionJsonModule())
+      .build();
+
+  private static Amount amount(String value, DebitCreditEnum debitOrCredit) {
+    return new Amount(value, "USD", debitOrCredit);
+  }
+
+  @Test
+  void whenWritingDtos_thenShouldWriteTheSameJsonAsDatabind() throws Exception {
+    Object[] values = {
+        new LoadRequest("user \"1\"", "m-1", amount("10.00", DebitCreditEnum.CREDIT)),
+        new AuthorizationRequest("é", null, amount(null, null)),
+        new LoadRequest(null, null, null),
+        LoadResponse.builder().userId("1").messageId("2")
+            .balance(amount("12.05", DebitCreditEnum.CREDIT)).build(),
+        AuthorizationResponse.builder().userId("1").messageId("2")
+            .responseCode(ResponseCodeEnum.DECLINED)
+            .balance(amount("0.00", DebitCreditEnum.DEBIT)).build(),
+        AuthorizationResponse.builder().build()
+    };
+
+    for (Object value : values) {
+      assertThat(streaming.writeValueAsString(value))
+          .isEqualTo(databind.writeValueAsString(value));
+    }
+  }
+
+  @Test
+  void whenReadingRequests_thenShouldReadWhatDatabindReads() throws Exception {
+    String[] bodies = {
+        "{\"userId\":\"1\",\"messageId\":\"2\",\"transactionAmount\":"
+            + "{\"amount\":\"1.00\",\"currency\":\"USD\",\"debitOrCredit\":\"credit\"}}",
+        "{\"transactionAmount\":{\"debitOrCredit\":\"Debit\",\"amount\":12.5,\"extra\":[1,{}]},"
+            + "\"unknown\":{\"a\":1},\"userId\":7,\"messageId\":true}",
+        "{\"userId\":null,\"transactionAmount\":null}",
+        "{}"
+    };
+
+    for (String body : bodies) {
+      assertThat(streaming.readValue(body, LoadRequest.class))
+          .usingRecursiveComparison().isEqualTo(databind.readValue(body, LoadRequest.class));
+      assertThat(streaming.readValue(body, AuthorizationRequest.class))
+          .usingRecursiveComparison()
+          .isEqualTo(databind.readValue(body, AuthorizationRequest.class));
+    }
+  }
+
+  @Test
+  void whenRoundTrippingResponses_thenShouldReadBackEqualResponses() throws Exception {
+    AuthorizationResponse authorization = AuthorizationResponse.builder().userId("1")
+        .messageId("2").responseCode(ResponseCodeEnum.APPROVED)
+        .balance(amount("3.00", DebitCreditEnum.DEBIT)).build();
+    LoadResponse load = LoadResponse.builder().userId("1").messageId("2")
+        .balance(amount("3.00", DebitCreditEnum.CREDIT)).build();
+
+    assertThat(streaming.readValue(streaming.writeValueAsBytes(authorization),
+        AuthorizationResponse.class)).isEqualTo(authorization);
+    assertThat(streaming.readValue(streaming.writeValueAsBytes(load), LoadResponse.class))
+        .isEqualTo(load);
+  }
+
+  @Test
+  void whenReadingABatchItem_thenShouldReadTheNestedRequest() throws Exception {
+    BatchItem item = streaming.readValue("{\"authorization\":{\"userId\":\"1\",\"messageId\":"
+        + "\"2\",\"transactionAmount\":{\"amount\":\"1\",\"currency\":\"USD\","
+        + "\"debitOrCredit\":\"DEBIT\"}}}", BatchItem.class);
+
+    assertThat(item.getLoad()).isNull();
+    assertThat(item.getAuthorization().getTransactionAmount().getDebitOrCredit())
+        .isEqualTo(DebitCreditEnum.DEBIT);
+  }
+
+  @Test
+  void whenReadingInvalidValues_thenShouldFailLikeDatabind() {
+    assertThatThrownBy(() -> streaming.readValue(
+        "{\"transactionAmount\":{\"debitOrCredit\":\"DEBITS\"}}", LoadRequest.class))
+        .isInstanceOf(InvalidFormatException.class);
+    assertThatThrownBy(() -> streaming.readValue("{\"userId\":{}}", LoadRequest.class))
+        .isInstanceOf(MismatchedInputException.class);
+    assertThatThrownBy(() -> streaming.readValue("[]", AuthorizationRequest.class))
+        .isInstanceOf(MismatchedInputException.class);
+  }
+}
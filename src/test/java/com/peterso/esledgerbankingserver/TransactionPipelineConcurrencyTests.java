@@ -0,0 +1,137 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.BatchItem;
+import com.peterso.esledgerbankingserver.model.dto.BatchItemResult;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
+import com.peterso.esledgerbankingserver.model.dto.PipelineStats;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.projection.BalanceProjection;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.service.AccountLocks;
+import com.peterso.esledgerbankingserver.service.IdempotencyCache;
+import com.peterso.esledgerbankingserver.service.TransactionService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the concurrency stress tests with transactions served by the single-writer pipeline, with
+ * a ring small enough that publishers regularly wait for a free slot.
+ */
+class TransactionPipelineConcurrencyTests extends TransactionServiceConcurrencyTests {
+
+  @Override
+  protected TransactionService transactionService(EventStore eventStore) {
+    BalanceProjection balanceProjection = new BalanceProjection(eventStore);
+    return new TransactionService(eventStore, balanceProjection, new AccountLocks(),
+        new IdempotencyCache(eventStore, balanceProjection, 1_000_000, Duration.ofHours(1)),
+        4, 8);
+  }
+
+  @Test
+  void whenBatchSpansPartitions_thenShouldKeepItemOrder() {
+    List<BatchItem> items = new ArrayList<>();
+    for (int user = 0; user < 32; user++) {
+      items.add(BatchItem.builder()
+          .load(LoadRequest.builder()
+              .userId("batch-" + user)
+              .messageId("load-" + user)
+              .transactionAmount(amount(user + ".00", DebitCreditEnum.CREDIT))
+              .build())
+          .build());
+      items.add(BatchItem.builder()
+          .authorization(AuthorizationRequest.builder()
+              .userId("batch-" + user)
+              .messageId("authorization-" + user)
+              .transactionAmount(amount("1.00", DebitCreditEnum.DEBIT))
+              .build())
+          .build());
+    }
+
+    List<BatchItemResult> results = transactionService.handleBatch(items);
+
+    assertThat(results).hasSize(64);
+    for (int user = 0; user < 32; user++) {
+      assertThat(results.get(2 * user).getLoad().getUserId()).isEqualTo("batch-" + user);
+      assertThat(results.get(2 * user + 1).getAuthorization().getResponseCode())
+          .isEqualTo(user == 0 ? ResponseCodeEnum.DECLINED : ResponseCodeEnum.APPROVED);
+    }
+    assertThat(inMemoryEventStore.getEventStore()).hasSize(64);
+  }
+
+  @Test
+  void whenSubmittedAsync_thenShouldDecideInSubmissionOrder() throws Exception {
+    List<CompletableFuture<LoadResponse>> futures = new ArrayList<>();
+    for (int i = 1; i <= 100; i++) {
+      futures.add(transactionService.handleLoadRequestAsync(LoadRequest.builder()
+          .userId("async")
+          .messageId(String.valueOf(i))
+          .transactionAmount(amount("1.00", DebitCreditEnum.CREDIT))
+          .build()));
+    }
+
+    for (int i = 0; i < futures.size(); i++) {
+      assertThat(futures.get(i).get(10, TimeUnit.SECONDS).getBalance().getAmount())
+          .isEqualTo((i + 1) + ".00");
+    }
+  }
+
+  @Test
+  void whenLoadsProcessed_thenShouldReportEveryPartition() {
+    for (int i = 0; i < 100; i++) {
+      transactionService.handleLoadRequest(LoadRequest.builder()
+          .userId(String.valueOf(i % 10))
+          .messageId(String.valueOf(i))
+          .transactionAmount(amount("1.00", DebitCreditEnum.CREDIT))
+          .build());
+    }
+
+    List<PipelineStats> stats = transactionService.getPipelineStats();
+
+    assertThat(stats).extracting(PipelineStats::getPartition).containsExactly(0, 1, 2, 3);
+    assertThat(stats).extracting(PipelineStats::getQueueDepth).containsOnly(0L);
+    assertThat(stats.stream().mapToLong(PipelineStats::getProcessedItems).sum()).isEqualTo(100);
+  }
+
+  @Test
+  void whenClosedWhilePublishing_thenShouldAnswerEveryPublisher() throws Exception {
+    CountDownLatch started = new CountDownLatch(8);
+    List<Future<Integer>> publishers = new ArrayList<>();
+    for (int publisher = 0; publisher < 8; publisher++) {
+      String userId = "closing-" + publisher;
+      publishers.add(executor.submit(() -> {
+        started.countDown();
+        for (int i = 0; ; i++) {
+          try {
+            transactionService.handleLoadRequest(LoadRequest.builder()
+                .userId(userId)
+                .messageId(String.valueOf(i))
+                .transactionAmount(amount("1.00", DebitCreditEnum.CREDIT))
+                .build());
+          } catch (IllegalStateException e) {
+            return i;
+          }
+        }
+      }));
+    }
+    started.await(10, TimeUnit.SECONDS);
+
+    transactionService.close();
+
+    int processed = 0;
+    for (Future<Integer> publisher : publishers) {
+      processed += publisher.get(10, TimeUnit.SECONDS);
+    }
+    assertThat(inMemoryEventStore.getEventStore()).hasSize(processed);
+  }
+}
@@ -0,0 +1,97 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.validation.TransactionRequestValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class TransactionRequestValidatorTests {
+
+  private static final String[] IDS = {"1", null, "", " \t", " a "};
+  private static final String[] AMOUNTS = {"0", "10.00", "1.500", "1.505", "-1", "-0", "1e2",
+      "1.5E-1", "1.5e-3", "abc", "", null, ".5", "5.", ".", "+3", "99999999999999999999"};
+  private static final String[] CURRENCIES = {"USD", "", " ", null};
+
+  private static ValidatorFactory validatorFactory;
+  private static Validator beanValidator;
+
+  @BeforeAll
+  static void setUp() {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    beanValidator = validatorFactory.getValidator();
+  }
+
+  @AfterAll
+  static void tearDown() {
+    validatorFactory.close();
+  }
+
+  private static Set<String> beanValidationMessages(Object request) {
+    return beanValidator.validate(request).stream()
+        .map(ConstraintViolation::getMessage)
+        .collect(Collectors.toCollection(TreeSet::new));
+  }
+
+  private static Set<String> messages(int violations) {
+    return violations == 0 ? Set.of() : new TreeSet<>(
+        Arrays.asList(TransactionRequestValidator.message(violations).split(",")));
+  }
+
+  @Test
+  void whenValidatingRequests_thenShouldReportTheSameViolationsAsBeanValidation() {
+    for (String id : IDS) {
+      for (String value : AMOUNTS) {
+        for (String currency : CURRENCIES) {
+          for (DebitCreditEnum debitOrCredit : DebitCreditEnum.values()) {
+            Amount amount = new Amount(value, currency, debitOrCredit);
+            LoadRequest load = new LoadRequest(id, "m", amount);
+            AuthorizationRequest authorization = new AuthorizationRequest("u", id, amount);
+
+            assertThat(messages(TransactionRequestValidator.violations(load)))
+                .as("load %s %s %s %s", id, value, currency, debitOrCredit)
+                .isEqualTo(beanValidationMessages(load));
+            assertThat(messages(TransactionRequestValidator.violations(authorization)))
+                .as("authorization %s %s %s %s", id, value, currency, debitOrCredit)
+                .isEqualTo(beanValidationMessages(authorization));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void whenAmountIsMissing_thenShouldReportAnAmountTypeMismatch() {
+    LoadRequest load = new LoadRequest("u", "m", null);
+
+    assertThat(TransactionRequestValidator.message(TransactionRequestValidator.violations(load)))
+        .isEqualTo(TransactionRequestValidator.AMOUNT_TYPE_MESSAGE);
+    assertThat(beanValidationMessages(load))
+        .containsExactly(TransactionRequestValidator.AMOUNT_TYPE_MESSAGE);
+  }
+
+  @Test
+  void whenSeveralConstraintsFail_thenShouldJoinMessagesInFieldOrder() {
+    AuthorizationRequest authorization = new AuthorizationRequest("", null,
+        new Amount("1.001", "USD", DebitCreditEnum.DEBIT));
+
+    assertThat(TransactionRequestValidator.message(
+        TransactionRequestValidator.violations(authorization)))
+        .isEqualTo(String.join(",", TransactionRequestValidator.USER_ID_MESSAGE,
+            TransactionRequestValidator.MESSAGE_ID_MESSAGE,
+            TransactionRequestValidator.AMOUNT_MESSAGE));
+  }
+}
@@ -0,0 +1,141 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.peterso.esledgerbankingserver.model.Money;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
+import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
+import com.peterso.esledgerbankingserver.repository.EventStore;
+import com.peterso.esledgerbankingserver.repository.InMemoryEventStore;
+import com.peterso.esledgerbankingserver.service.TransactionService;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Stress tests that run transactions for several users from many threads at once.
+ */
+class TransactionServiceConcurrencyTests {
+
+  private static final int THREADS = 16;
+  private static final int USERS = 8;
+  private static final int AUTHORIZATIONS_PER_USER = 500;
+
+  protected EventStore inMemoryEventStore;
+  protected TransactionService transactionService;
+  protected ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    inMemoryEventStore = new InMemoryEventStore();
+    transactionService = transactionService(inMemoryEventStore);
+    executor = Executors.newFixedThreadPool(THREADS);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    executor.shutdownNow();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    transactionService.close();
+  }
+
+  protected TransactionService transactionService(EventStore eventStore) {
+    return new TransactionService(eventStore);
+  }
+
+  protected static Amount amount(String value, DebitCreditEnum debitOrCredit) {
+    return Amount.builder().amount(value).currency("USD").debitOrCredit(debitOrCredit).build();
+  }
+
+  @Test
+  void whenConcurrentLoads_thenShouldNotLoseEvents() throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    AtomicInteger messageIds = new AtomicInteger();
+    for (int i = 0; i < USERS * AUTHORIZATIONS_PER_USER; i++) {
+      String userId = String.valueOf(i % USERS);
+      futures.add(executor.submit(() -> {
+        start.await();
+        return transactionService.handleLoadRequest(LoadRequest.builder()
+            .userId(userId)
+            .messageId(String.valueOf(messageIds.incrementAndGet()))
+            .transactionAmount(amount("0.01", DebitCreditEnum.CREDIT))
+            .build());
+      }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get(30, TimeUnit.SECONDS);
+    }
+
+    assertThat(inMemoryEventStore.getEventStore()).hasSize(USERS * AUTHORIZATIONS_PER_USER);
+    for (int user = 0; user < USERS; user++) {
+      String userId = String.valueOf(user);
+      assertThat(inMemoryEventStore.getStreamVersion(userId)).isEqualTo(AUTHORIZATIONS_PER_USER);
+      assertThat(Money.format(transactionService.getBalance(userId))).isEqualTo("5.00");
+    }
+  }
+
+  @Test
+  void whenConcurrentAuthorizations_thenShouldNeverOverdraw() throws Exception {
+    // every user can afford exactly a tenth of the authorizations sent for it
+    BigDecimal authorizationAmount = new BigDecimal("1.00");
+    int affordable = AUTHORIZATIONS_PER_USER / 10;
+    for (int user = 0; user < USERS; user++) {
+      transactionService.handleLoadRequest(LoadRequest.builder()
+          .userId(String.valueOf(user))
+          .messageId("load-" + user)
+          .transactionAmount(amount(String.valueOf(affordable), DebitCreditEnum.CREDIT))
+          .build());
+    }
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<AuthorizationResponse>> futures = new ArrayList<>();
+    for (int i = 0; i < USERS * AUTHORIZATIONS_PER_USER; i++) {
+      String userId = String.valueOf(i % USERS);
+      String messageId = "auth-" + i;
+      futures.add(executor.submit(() -> {
+        start.await();
+        return transactionService.handleAuthorizationRequest(AuthorizationRequest.builder()
+            .userId(userId)
+            .messageId(messageId)
+            .transactionAmount(amount(authorizationAmount.toPlainString(), DebitCreditEnum.DEBIT))
+            .build());
+      }));
+    }
+    start.countDown();
+
+    int[] approvedPerUser = new int[USERS];
+    for (Future<AuthorizationResponse> future : futures) {
+      AuthorizationResponse response = future.get(30, TimeUnit.SECONDS);
+      assertThat(new BigDecimal(response.getBalance().getAmount())).isNotNegative();
+      if (response.getResponseCode() == ResponseCodeEnum.APPROVED) {
+        approvedPerUser[Integer.parseInt(response.getUserId())]++;
+      }
+    }
+
+    List<TransactionEvent> events = inMemoryEventStore.getEventStore();
+    assertThat(events).hasSize(USERS + USERS * AUTHORIZATIONS_PER_USER);
+    for (int user = 0; user < USERS; user++) {
+      String userId = String.valueOf(user);
+      assertThat(approvedPerUser[user]).isEqualTo(affordable);
+      assertThat(Money.format(transactionService.getBalance(userId))).isEqualTo("0.00");
+      assertThat(inMemoryEventStore.getStreamVersion(userId))
+          .isEqualTo(1 + AUTHORIZATIONS_PER_USER);
+    }
+  }
+}
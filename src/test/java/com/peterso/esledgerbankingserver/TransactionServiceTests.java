@@ -1,9 +1,14 @@
 package com.peterso.esledgerbankingserver;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -11,13 +16,22 @@ import static org.mockito.Mockito.verify;
 import com.peterso.esledgerbankingserver.model.dto.Amount;
 import com.peterso.esledgerbankingserver.model.dto.AuthorizationRequest;
 import com.peterso.esledgerbankingserver.model.dto.AuthorizationResponse;
+import com.peterso.esledgerbankingserver.model.dto.BatchItem;
+import com.peterso.esledgerbankingserver.model.dto.BatchItemResult;
 import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
 import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
 import com.peterso.esledgerbankingserver.model.dto.LoadResponse;
 import com.peterso.esledgerbankingserver.model.dto.ResponseCodeEnum;
+import com.peterso.esledgerbankingserver.model.dto.TransactionTypeEnum;
+import com.peterso.esledgerbankingserver.model.event.TransactionEvent;
 import com.peterso.esledgerbankingserver.repository.EventStore;
 import com.peterso.esledgerbankingserver.repository.InMemoryEventStore;
+import com.peterso.esledgerbankingserver.repository.WrongExpectedVersionException;
 import com.peterso.esledgerbankingserver.service.TransactionService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -60,7 +74,7 @@ class TransactionServiceTests {
 
       assertNotNull(actualResponse);
       assertThat(actualResponse).usingRecursiveComparison().isEqualTo(expectedResponse);
-      verify(inMemoryEventStore, times(1)).saveEvent(any());
+      verify(inMemoryEventStore, times(1)).append(any(), anyInt(), any());
     }
 
     @Test
@@ -92,7 +106,7 @@ class TransactionServiceTests {
       assertNotNull(firstResponse);
       assertNotNull(secondResponse);
       assertThat(secondResponse).usingRecursiveComparison().isEqualTo(expectedResponse);
-      verify(inMemoryEventStore, times(2)).saveEvent(any());
+      verify(inMemoryEventStore, times(2)).append(any(), anyInt(), any());
     }
 
     @Test
@@ -142,7 +156,7 @@ class TransactionServiceTests {
       AuthorizationResponse response = transactionService.handleAuthorizationRequest(request);
       assertNotNull(response);
       assertThat(response).usingRecursiveComparison().isEqualTo(expectedResponse);
-      verify(inMemoryEventStore, times(1)).saveEvent(any());
+      verify(inMemoryEventStore, times(1)).append(any(), anyInt(), any());
     }
   }
 
@@ -197,7 +211,7 @@ class TransactionServiceTests {
 
       assertNotNull(response);
       assertThat(response).usingRecursiveComparison().isEqualTo(expectedResponse);
-      verify(inMemoryEventStore, times(2)).saveEvent(any());
+      verify(inMemoryEventStore, times(2)).append(any(), anyInt(), any());
     }
 
     @Test
@@ -228,7 +242,7 @@ class TransactionServiceTests {
 
       assertNotNull(response);
       assertThat(response).usingRecursiveComparison().isEqualTo(expectedResponse);
-      verify(inMemoryEventStore, times(2)).saveEvent(any());
+      verify(inMemoryEventStore, times(2)).append(any(), anyInt(), any());
     }
 
     @Test
@@ -259,7 +273,7 @@ class TransactionServiceTests {
 
       assertNotNull(response);
       assertThat(response).usingRecursiveComparison().isEqualTo(expectedResponse);
-      verify(inMemoryEventStore, times(2)).saveEvent(any());
+      verify(inMemoryEventStore, times(2)).append(any(), anyInt(), any());
     }
 
     @Test
@@ -325,7 +339,194 @@ class TransactionServiceTests {
       assertThat(response7.getBalance().getAmount()).isEqualTo("0.00");
       assertSame(response7.getResponseCode(), ResponseCodeEnum.APPROVED);
 
-      verify(inMemoryEventStore, times(7)).saveEvent(any());
+      verify(inMemoryEventStore, times(7)).append(any(), anyInt(), any());
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  class BatchTests {
+
+    @Test
+    void whenBatchProcessed_thenShouldSaveEveryEventInOneAppend() {
+      BatchItem load = BatchItem.builder()
+          .load(LoadRequest.builder()
+              .userId("1")
+              .messageId("1")
+              .transactionAmount(AMOUNT_100_23.withDebitOrCredit(DebitCreditEnum.CREDIT))
+              .build())
+          .build();
+      BatchItem authorization = BatchItem.builder()
+          .authorization(AuthorizationRequest.builder()
+              .userId("1")
+              .messageId("2")
+              .transactionAmount(AMOUNT_100_23.withDebitOrCredit(DebitCreditEnum.DEBIT))
+              .build())
+          .build();
+
+      BatchItem secondAuthorization = BatchItem.builder()
+          .authorization(AuthorizationRequest.builder()
+              .userId("1")
+              .messageId("3")
+              .transactionAmount(AMOUNT_100_23.withDebitOrCredit(DebitCreditEnum.DEBIT))
+              .build())
+          .build();
+
+      List<BatchItemResult> results = transactionService.handleBatch(
+          List.of(load, authorization, secondAuthorization));
+
+      assertThat(results).hasSize(3);
+      assertThat(results.get(0).getLoad().getBalance().getAmount()).isEqualTo("100.23");
+      assertSame(results.get(1).getAuthorization().getResponseCode(), ResponseCodeEnum.APPROVED);
+      assertSame(results.get(2).getAuthorization().getResponseCode(), ResponseCodeEnum.DECLINED);
+      assertThat(transactionService.getBalance("1")).isZero();
+      verify(inMemoryEventStore, times(1)).saveEvents(any());
+      assertThat(inMemoryEventStore.getEventStore()).hasSize(3);
+    }
+  }
+
+  @Nested
+  class DeduplicationTests {
+
+    private final LoadRequest load = LoadRequest.builder()
+        .userId("1")
+        .messageId("1")
+        .transactionAmount(AMOUNT_100_23.withDebitOrCredit(DebitCreditEnum.CREDIT))
+        .build();
+    private final AuthorizationRequest authorization = AuthorizationRequest.builder()
+        .userId("1")
+        .messageId("2")
+        .transactionAmount(AMOUNT_100_23.withDebitOrCredit(DebitCreditEnum.DEBIT))
+        .build();
+    private final AuthorizationRequest authorizationOfLoadMessage = AuthorizationRequest.builder()
+        .userId("1")
+        .messageId("1")
+        .transactionAmount(AMOUNT_100_23.withDebitOrCredit(DebitCreditEnum.DEBIT))
+        .build();
+    private final LoadRequest secondLoad = LoadRequest.builder()
+        .userId("1")
+        .messageId("3")
+        .transactionAmount(AMOUNT_100_23.withDebitOrCredit(DebitCreditEnum.CREDIT))
+        .build();
+
+    @Test
+    void whenLoadRetried_thenShouldReturnOriginalResponseWithoutNewEvent() {
+      LoadResponse first = transactionService.handleLoadRequest(load);
+      LoadResponse retry = transactionService.handleLoadRequest(load);
+
+      assertThat(retry).usingRecursiveComparison().isEqualTo(first);
+      assertThat(transactionService.getBalance("1")).isEqualTo(10023);
+      verify(inMemoryEventStore, times(1)).append(any(), anyInt(), any());
+    }
+
+    @Test
+    void whenAuthorizationRetried_thenShouldNotDebitTwice() {
+      transactionService.handleLoadRequest(load);
+      transactionService.handleLoadRequest(secondLoad);
+      AuthorizationResponse first = transactionService.handleAuthorizationRequest(authorization);
+      AuthorizationResponse retry = transactionService.handleAuthorizationRequest(authorization);
+
+      assertThat(retry).usingRecursiveComparison().isEqualTo(first);
+      assertThat(transactionService.getBalance("1")).isEqualTo(10023);
+      assertThat(inMemoryEventStore.getEventStore()).hasSize(3);
+    }
+
+    @Test
+    void whenBatchRepeatsMessage_thenShouldSaveItOnce() {
+      transactionService.handleLoadRequest(load);
+      BatchItem authorizationItem = BatchItem.builder().authorization(authorization).build();
+
+      List<BatchItemResult> results = transactionService.handleBatch(List.of(
+          BatchItem.builder().load(load).build(), authorizationItem, authorizationItem));
+
+      assertThat(results.get(0).getLoad().getBalance().getAmount()).isEqualTo("100.23");
+      assertThat(results.get(2)).usingRecursiveComparison().isEqualTo(results.get(1));
+      assertSame(results.get(2).getAuthorization().getResponseCode(), ResponseCodeEnum.APPROVED);
+      assertThat(transactionService.getBalance("1")).isZero();
+      assertThat(inMemoryEventStore.getEventStore()).hasSize(2);
+    }
+
+    @Test
+    void whenMessageIdReusedUnderTheOtherType_thenShouldNotLoadTwice() {
+      LoadResponse first = transactionService.handleLoadRequest(load);
+      transactionService.handleAuthorizationRequest(authorizationOfLoadMessage);
+      LoadResponse retry = transactionService.handleLoadRequest(load);
+
+      assertThat(retry).usingRecursiveComparison().isEqualTo(first);
+      assertThat(transactionService.getBalance("1")).isZero();
+      assertThat(inMemoryEventStore.getEventStore()).hasSize(2);
+    }
+
+    @Test
+    void whenBatchReusesMessageIdUnderTheOtherType_thenShouldNotLoadTwice() {
+      BatchItem loadItem = BatchItem.builder().load(load).build();
+
+      List<BatchItemResult> results = transactionService.handleBatch(List.of(loadItem,
+          BatchItem.builder()
+              .authorization(authorizationOfLoadMessage)
+              .build(),
+          loadItem));
+
+      assertThat(results.get(2)).usingRecursiveComparison().isEqualTo(results.get(0));
+      assertThat(transactionService.getBalance("1")).isZero();
+      assertThat(inMemoryEventStore.getEventStore()).hasSize(2);
+    }
+
+    @Test
+    void whenAsyncAppendFails_thenShouldForgetTheEvent() {
+      CompletableFuture<Void> append = new CompletableFuture<>();
+      doReturn(append).when(inMemoryEventStore).saveEventsAsync(any());
+
+      CompletableFuture<LoadResponse> response = transactionService.handleLoadRequestAsync(load);
+      assertThat(transactionService.getBalance("1")).isEqualTo(10023);
+      append.completeExceptionally(new UncheckedIOException(new IOException("disk full")));
+
+      assertThatThrownBy(response::join).hasRootCauseMessage("disk full");
+      assertThat(transactionService.getBalance("1")).isZero();
+
+      doCallRealMethod().when(inMemoryEventStore).saveEventsAsync(any());
+      LoadResponse retry = transactionService.handleLoadRequestAsync(load).join();
+
+      assertThat(retry.getBalance().getAmount()).isEqualTo("100.23");
+      assertThat(transactionService.getBalance("1")).isEqualTo(10023);
+      assertThat(inMemoryEventStore.getEventStore()).hasSize(1);
+    }
+
+    @Test
+    void whenRecoveredFromEventStore_thenShouldReturnOriginalResponse() {
+      transactionService.handleLoadRequest(load);
+      AuthorizationResponse first = transactionService.handleAuthorizationRequest(authorization);
+      transactionService.handleLoadRequest(secondLoad);
+
+      TransactionService recovered = new TransactionService(inMemoryEventStore);
+
+      assertThat(recovered.handleAuthorizationRequest(authorization))
+          .usingRecursiveComparison().isEqualTo(first);
+      assertThat(recovered.getBalance("1")).isEqualTo(10023);
+      assertThat(inMemoryEventStore.getEventStore()).hasSize(3);
+    }
+
+    @Test
+    void whenAnotherWriterAppendsWhileDeciding_thenShouldSaveNothing() {
+      transactionService.handleLoadRequest(load);
+      // a writer outside the service spends the balance right after the stream version is read
+      doAnswer(invocation -> {
+        Object version = invocation.callRealMethod();
+        inMemoryEventStore.saveEvent(TransactionEvent.builder()
+            .userId("1")
+            .messageId("other")
+            .transactionType(TransactionTypeEnum.AUTHORIZATION)
+            .amount(10023)
+            .currency("USD")
+            .response(ResponseCodeEnum.APPROVED)
+            .build());
+        return version;
+      }).when(inMemoryEventStore).getStreamVersion("1");
+
+      assertThatThrownBy(() -> transactionService.handleAuthorizationRequest(authorization))
+          .isInstanceOf(WrongExpectedVersionException.class);
+      assertThat(inMemoryEventStore.getEvents("1"))
+          .extracting(TransactionEvent::getMessageId).containsExactly("1", "other");
+      assertThat(transactionService.getBalance("1")).isEqualTo(10023);
+    }
+  }
+}
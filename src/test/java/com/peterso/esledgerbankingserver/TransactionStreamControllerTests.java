@@ -0,0 +1,79 @@
+package com.peterso.esledgerbankingserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peterso.esledgerbankingserver.model.dto.Amount;
+import com.peterso.esledgerbankingserver.model.dto.BatchItem;
+import com.peterso.esledgerbankingserver.model.dto.BatchItemResult;
+import com.peterso.esledgerbankingserver.model.dto.DebitCreditEnum;
+import com.peterso.esledgerbankingserver.model.dto.LoadRequest;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+@SpringBootTest(properties = "ledger.stream.chunk-size=4")
+@AutoConfigureMockMvc
+public class TransactionStreamControllerTests {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  private String loadLine(String userId, String messageId, String amount) throws Exception {
+    return objectMapper.writeValueAsString(BatchItem.builder()
+        .load(LoadRequest.builder()
+            .userId(userId)
+            .messageId(messageId)
+            .transactionAmount(Amount.builder()
+                .amount(amount)
+                .currency("USD")
+                .debitOrCredit(DebitCreditEnum.CREDIT)
+                .build())
+            .build())
+        .build());
+  }
+
+  @Test
+  void whenGivenNdjson_thenShouldStreamOneResultPerLine() throws Exception {
+    StringBuilder body = new StringBuilder();
+    for (int i = 1; i <= 10; i++) {
+      body.append(loadLine("stream-1", String.valueOf(i), "1.10")).append('\n');
+    }
+    body.append("{not json\n");
+    body.append('\n');
+    body.append(loadLine("stream-1", "", "1")).append('\n');
+    body.append("{\"authorization\":{\"userId\":\"stream-1\",\"messageId\":\"12\","
+        + "\"transactionAmount\":{\"amount\":\"11\",\"currency\":\"USD\","
+        + "\"debitOrCredit\":\"DEBIT\"}}}");
+
+    String content = mockMvc.perform(MockMvcRequestBuilders
+            .put("/transactions:stream")
+            .content(body.toString())
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .accept(MediaType.APPLICATION_NDJSON))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn().getResponse().getContentAsString();
+
+    List<BatchItemResult> results = new ArrayList<>();
+    for (String line : content.split("\n")) {
+      results.add(objectMapper.readValue(line, BatchItemResult.class));
+    }
+
+    assertThat(results).hasSize(13);
+    assertThat(results.get(9).getLoad().getBalance().getAmount()).isEqualTo("11.00");
+    assertThat(results.get(10).getError().getMessage()).startsWith("Malformed transaction");
+    assertThat(results.get(11).getError().getMessage()).isEqualTo("messageId must not be blank");
+    assertThat(results.get(12).getAuthorization().getBalance().getAmount()).isEqualTo("0.00");
+  }
+}